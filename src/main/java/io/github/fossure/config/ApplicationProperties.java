@@ -17,6 +17,13 @@ public class ApplicationProperties {
     private final ApplicationProperties.Fossology fossology = new ApplicationProperties.Fossology();
 
     private final ApplicationProperties.Upload upload = new ApplicationProperties.Upload();
+    private final ApplicationProperties.Http http = new ApplicationProperties.Http();
+    private final ApplicationProperties.LicenseTextCache licenseTextCache = new ApplicationProperties.LicenseTextCache();
+    private final ApplicationProperties.RegistryMetadataCache registryMetadataCache = new ApplicationProperties.RegistryMetadataCache();
+    private final ApplicationProperties.Github github = new ApplicationProperties.Github();
+    private final ApplicationProperties.Maven maven = new ApplicationProperties.Maven();
+    private final ApplicationProperties.NegativeResultCache negativeResultCache = new ApplicationProperties.NegativeResultCache();
+    private final ApplicationProperties.RiskRecomputation riskRecomputation = new ApplicationProperties.RiskRecomputation();
 
     public ApplicationProperties() {}
 
@@ -44,6 +51,34 @@ public class ApplicationProperties {
         return upload;
     }
 
+    public Http getHttp() {
+        return http;
+    }
+
+    public LicenseTextCache getLicenseTextCache() {
+        return licenseTextCache;
+    }
+
+    public RegistryMetadataCache getRegistryMetadataCache() {
+        return registryMetadataCache;
+    }
+
+    public Github getGithub() {
+        return github;
+    }
+
+    public Maven getMaven() {
+        return maven;
+    }
+
+    public NegativeResultCache getNegativeResultCache() {
+        return negativeResultCache;
+    }
+
+    public RiskRecomputation getRiskRecomputation() {
+        return riskRecomputation;
+    }
+
     public static class Fossure {
 
         private String domain;
@@ -221,6 +256,22 @@ public class ApplicationProperties {
 
         private int limit;
 
+        private int requestLimit;
+
+        private int batchSize = 500;
+
+        private int enrichmentBatchSize = 20;
+
+        private int enrichmentConcurrency = 4;
+
+        private int stepConcurrency = 8;
+
+        private int stepTimeout = 120;
+
+        private String spoolDirectory = "";
+
+        private boolean enrichImportedLibraries = false;
+
         public int getLimit() {
             return limit;
         }
@@ -228,5 +279,270 @@ public class ApplicationProperties {
         public void setLimit(int limit) {
             this.limit = limit;
         }
+
+        public int getRequestLimit() {
+            return requestLimit;
+        }
+
+        public void setRequestLimit(int requestLimit) {
+            this.requestLimit = requestLimit;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getEnrichmentBatchSize() {
+            return enrichmentBatchSize;
+        }
+
+        public void setEnrichmentBatchSize(int enrichmentBatchSize) {
+            this.enrichmentBatchSize = enrichmentBatchSize;
+        }
+
+        public int getEnrichmentConcurrency() {
+            return enrichmentConcurrency;
+        }
+
+        public void setEnrichmentConcurrency(int enrichmentConcurrency) {
+            this.enrichmentConcurrency = enrichmentConcurrency;
+        }
+
+        public int getStepConcurrency() {
+            return stepConcurrency;
+        }
+
+        public void setStepConcurrency(int stepConcurrency) {
+            this.stepConcurrency = stepConcurrency;
+        }
+
+        public int getStepTimeout() {
+            return stepTimeout;
+        }
+
+        public void setStepTimeout(int stepTimeout) {
+            this.stepTimeout = stepTimeout;
+        }
+
+        public String getSpoolDirectory() {
+            return spoolDirectory;
+        }
+
+        public void setSpoolDirectory(String spoolDirectory) {
+            this.spoolDirectory = spoolDirectory;
+        }
+
+        public boolean isEnrichImportedLibraries() {
+            return enrichImportedLibraries;
+        }
+
+        public void setEnrichImportedLibraries(boolean enrichImportedLibraries) {
+            this.enrichImportedLibraries = enrichImportedLibraries;
+        }
+    }
+
+    public static class Http {
+
+        private int connectTimeout = 60;
+
+        private int requestTimeout = 30;
+
+        private int maxConcurrentRequestsPerHost = 8;
+
+        private int maxRetries = 2;
+
+        private long retryBackoff = 500;
+
+        public int getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public int getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(int requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+
+        public int getMaxConcurrentRequestsPerHost() {
+            return maxConcurrentRequestsPerHost;
+        }
+
+        public void setMaxConcurrentRequestsPerHost(int maxConcurrentRequestsPerHost) {
+            this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public long getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(long retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+    }
+
+    public static class LicenseTextCache {
+
+        private String directory = "";
+
+        private long timeToLive = 168;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public long getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(long timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class RegistryMetadataCache {
+
+        private long timeToLive = 24;
+
+        private int maxEntries = 50000;
+
+        public long getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(long timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class Github {
+
+        private String token = "";
+
+        private long maxWait = 10000;
+
+        private int retryBatchSize = 100;
+
+        public String getToken() {
+            return token;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+
+        public long getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(long maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public int getRetryBatchSize() {
+            return retryBatchSize;
+        }
+
+        public void setRetryBatchSize(int retryBatchSize) {
+            this.retryBatchSize = retryBatchSize;
+        }
+    }
+
+    public static class Maven {
+
+        private String repositoryUrl = "https://repo1.maven.org/maven2/";
+
+        private int pomCacheSize = 10000;
+
+        public String getRepositoryUrl() {
+            return repositoryUrl;
+        }
+
+        public void setRepositoryUrl(String repositoryUrl) {
+            this.repositoryUrl = repositoryUrl;
+        }
+
+        public int getPomCacheSize() {
+            return pomCacheSize;
+        }
+
+        public void setPomCacheSize(int pomCacheSize) {
+            this.pomCacheSize = pomCacheSize;
+        }
+    }
+
+    public static class NegativeResultCache {
+
+        private long initialBackoff = 15;
+
+        private long maxBackoff = 10080;
+
+        private int maxEntries = 50000;
+
+        public long getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(long initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public long getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(long maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class RiskRecomputation {
+
+        private int batchSize = 200;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
     }
 }
@@ -21,8 +21,11 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, ApplicationProperties applicationProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -61,6 +64,42 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean(name = "enrichmentTaskExecutor")
+    public Executor getEnrichmentExecutor() {
+        log.debug("Creating Enrichment Task Executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        // Fixed number of threads, the queue is unbounded to not reject batches of large uploads
+        executor.setCorePoolSize(applicationProperties.getUpload().getEnrichmentConcurrency());
+        executor.setMaxPoolSize(applicationProperties.getUpload().getEnrichmentConcurrency());
+        executor.setThreadNamePrefix("enrichmentTask-");
+        executor.initialize();
+        return new ExceptionHandlingAsyncTaskExecutor(executor);
+    }
+
+    @Bean(name = "pipelineTaskExecutor")
+    public Executor getPipelineExecutor() {
+        log.debug("Creating Pipeline Task Executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        // Fixed number of threads shared by the steps of all enrichment batches, the queue is unbounded
+        executor.setCorePoolSize(applicationProperties.getUpload().getStepConcurrency());
+        executor.setMaxPoolSize(applicationProperties.getUpload().getStepConcurrency());
+        executor.setThreadNamePrefix("pipelineTask-");
+        executor.initialize();
+        return new ExceptionHandlingAsyncTaskExecutor(executor);
+    }
+
+    @Bean(name = "riskRecomputationTaskExecutor")
+    public Executor getRiskRecomputationExecutor() {
+        log.debug("Creating Risk Recomputation Task Executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        // A single thread, so recomputations run one after another, the queue is unbounded
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("riskRecomputationTask-");
+        executor.initialize();
+        return new ExceptionHandlingAsyncTaskExecutor(executor);
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
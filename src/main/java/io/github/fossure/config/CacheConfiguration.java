@@ -78,6 +78,8 @@ public class CacheConfiguration {
             createCache(cm, Fossology.class.getName());
             createCache(cm, License.class.getName() + ".licenseConflicts");
             createCache(cm, LicenseConflict.class.getName());
+            createCache(cm, UploadJob.class.getName());
+            createCache(cm, LicenseText.class.getName());
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -11,13 +11,6 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
-    // Regex to split by link types and return license names and link type.
-    // "Apache-2.0 OR MIT AND GPL-2.0" -> ["Apache-2.0", "OR", "MIT", "AND", "GPL-2.0"]
-    public static final String LICENSE_SPLIT_REGEX =
-        "(?=/)|(?<=/)|(?=\\s\\+\\s)|(?<=\\s\\+\\s)|" +
-        "(?=\\s[oO][rR]\\s)|(?<=\\s[oO][rR]\\s)|" +
-        "(?=\\s[aA][nN][dD]\\s)|(?<=\\s[aA][nN][dD]\\s)";
-
     public static final String DATE_FORMAT = "yyyy-MM-dd";
 
     public static final String NO_URL = "No URL found";
@@ -42,6 +35,10 @@ public final class Constants {
 
     public static final String FILE_SEPARATOR = "/";
 
+    /* Database */
+    // Maximum number of parameters in a single IN clause
+    public static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
     /* Statistics */
     public static final int MAX_SERIES_LIMIT = 20;
 
@@ -1,6 +1,11 @@
 package io.github.fossure.config;
 
+import io.github.fossure.repository.LicenseTextEventListener;
 import java.sql.SQLException;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
@@ -41,6 +46,25 @@ public class DatabaseConfiguration {
         return H2ConfigurationHelper.createServer(port);
     }
 
+    /**
+     * Register the listener which stores the license texts of libraries in the shared license_text table.
+     *
+     * @param entityManagerFactory the JPA entity manager factory.
+     * @return the registered listener.
+     */
+    @Bean
+    public LicenseTextEventListener licenseTextEventListener(EntityManagerFactory entityManagerFactory) {
+        LicenseTextEventListener listener = new LicenseTextEventListener();
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.PRE_INSERT, listener);
+        registry.appendListeners(EventType.PRE_UPDATE, listener);
+        registry.appendListeners(EventType.MERGE, listener);
+        return listener;
+    }
+
     private String getValidPortForH2() {
         int port = Integer.parseInt(env.getProperty("server.port"));
         if (port < 10000) {
@@ -0,0 +1,48 @@
+package io.github.fossure.config;
+
+import io.github.fossure.service.helper.net.GithubRateLimiter;
+import io.github.fossure.service.helper.net.NegativeResultCache;
+import io.github.fossure.service.helper.net.OutboundHttpClient;
+import io.github.fossure.service.helper.urlparsing.RegistryMetadataCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HttpClientConfiguration {
+
+    /**
+     * Shared client for all outbound HTTP requests.
+     * @return the configured outbound HTTP client.
+     */
+    @Bean
+    public OutboundHttpClient outboundHttpClient(ApplicationProperties applicationProperties) {
+        return new OutboundHttpClient(applicationProperties.getHttp());
+    }
+
+    /**
+     * Cache for the package metadata resolved by the URL parsers.
+     * @return the configured registry metadata cache.
+     */
+    @Bean
+    public RegistryMetadataCache registryMetadataCache(ApplicationProperties applicationProperties) {
+        return new RegistryMetadataCache(applicationProperties.getRegistryMetadataCache());
+    }
+
+    /**
+     * Rate limiter for the requests to the GitHub API.
+     * @return the configured GitHub rate limiter.
+     */
+    @Bean
+    public GithubRateLimiter githubRateLimiter(ApplicationProperties applicationProperties, OutboundHttpClient outboundHttpClient) {
+        return new GithubRateLimiter(applicationProperties.getGithub(), outboundHttpClient);
+    }
+
+    /**
+     * Store of the failed metadata lookups which are skipped until their backoff expired.
+     * @return the configured negative result cache.
+     */
+    @Bean
+    public NegativeResultCache negativeResultCache(ApplicationProperties applicationProperties) {
+        return new NegativeResultCache(applicationProperties.getNegativeResultCache());
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.fossure.config.liquibase;
+
+import io.github.fossure.domain.LicenseText;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Moves the license texts of the library table into the license_text table. Every distinct text is inserted once and
+ * the libraries are linked to it by the hash of the text. The hash is calculated like at runtime with
+ * {@link LicenseText#hash(String)}, which can't be expressed the same way in SQL for all supported databases.
+ */
+public class MoveLicenseTextsChange implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 500;
+
+    private int movedTexts;
+    private int linkedLibraries;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        Set<String> insertedHashes = new HashSet<>();
+
+        try (
+            Statement select = connection.createStatement();
+            PreparedStatement insertText = connection.prepareStatement("insert into license_text (hash, text) values (?, ?)");
+            PreparedStatement updateLibrary = connection.prepareStatement("update library set license_text_hash = ? where id = ?")
+        ) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet resultSet = select.executeQuery("select id, license_text from library where license_text is not null")) {
+                int pending = 0;
+                while (resultSet.next()) {
+                    String text = resultSet.getString("license_text");
+                    String hash = LicenseText.hash(text);
+
+                    if (insertedHashes.add(hash)) {
+                        insertText.setString(1, hash);
+                        insertText.setString(2, text);
+                        insertText.addBatch();
+                        movedTexts++;
+                    }
+                    updateLibrary.setString(1, hash);
+                    updateLibrary.setLong(2, resultSet.getLong("id"));
+                    updateLibrary.addBatch();
+                    linkedLibraries++;
+
+                    if (++pending == BATCH_SIZE) {
+                        insertText.executeBatch();
+                        updateLibrary.executeBatch();
+                        pending = 0;
+                    }
+                }
+                insertText.executeBatch();
+                updateLibrary.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Could not move the license texts of the libraries", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return String.format("Moved %d distinct license texts of %d libraries into license_text", movedTexts, linkedLibraries);
+    }
+
+    @Override
+    public void setUp() {}
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {}
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
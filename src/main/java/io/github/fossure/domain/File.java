@@ -1,6 +1,7 @@
 package io.github.fossure.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Serializable;
 
@@ -64,6 +65,16 @@ public class File implements Serializable {
         this.filestream = filestream;
     }
 
+    /**
+     * Content of the file as a stream. If no stream is set, the content is read from the byte array.
+     *
+     * @return the stream of the file content.
+     */
+    @JsonIgnore
+    public InputStream getInputStream() {
+        return filestream != null ? filestream : new ByteArrayInputStream(file);
+    }
+
     // prettier-ignore
     @Override
     public String toString() {
@@ -1,6 +1,8 @@
 package io.github.fossure.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.*;
@@ -13,9 +15,9 @@ import io.github.fossure.domain.enumeration.LogSeverity;
 import io.github.fossure.domain.enumeration.LogStatus;
 import io.github.fossure.config.Constants;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
-import org.hibernate.annotations.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,10 +62,28 @@ public class Library implements Serializable {
     @Column(name = "license_url", length = 2048)
     private String licenseUrl;
 
-    @Lob
-    @Type(type = "org.hibernate.type.TextType")
-    @Column(name = "license_text")
-    private String licenseText;
+    @JsonIgnore
+    @Size(max = 64)
+    @Column(name = "license_text_hash", length = 64)
+    private String licenseTextHash;
+
+    /**
+     * The stored license text, shared with all libraries with the same text. It is only read here, the reference is
+     * written via {@link #licenseTextHash}. It is loaded on demand, queries which return the license text to the client
+     * fetch it together with the library.
+     */
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "license_text_hash", insertable = false, updatable = false)
+    private LicenseText storedLicenseText;
+
+    /**
+     * A license text which was set since the library was loaded. It is written to the license_text table when the
+     * library is flushed.
+     */
+    private transient String licenseText;
+
+    private transient boolean licenseTextChanged;
 
     @Size(max = 2048)
     @Column(name = "source_code_url", length = 2048)
@@ -399,17 +419,52 @@ public class Library implements Serializable {
         this.licenseUrl = licenseUrl;
     }
 
+    @JsonIgnore
     public String getLicenseText() {
-        return this.licenseText;
+        if (this.licenseTextChanged) {
+            return this.licenseText;
+        }
+        return this.storedLicenseText != null ? this.storedLicenseText.getText() : null;
+    }
+
+    /**
+     * Get the license text for the JSON representation. A stored license text which wasn't fetched with the library is
+     * left out, like the other lazy relationships, instead of being loaded without a session.
+     *
+     * @return the license text, or null if it wasn't fetched
+     */
+    @JsonProperty("licenseText")
+    public String getFetchedLicenseText() {
+        if (!this.licenseTextChanged && !Hibernate.isInitialized(this.storedLicenseText)) {
+            return null;
+        }
+        return getLicenseText();
     }
 
     public Library licenseText(String licenseText) {
-        this.licenseText = licenseText;
+        this.setLicenseText(licenseText);
         return this;
     }
 
+    @JsonProperty("licenseText")
     public void setLicenseText(String licenseText) {
         this.licenseText = licenseText;
+        this.licenseTextChanged = true;
+        this.licenseTextHash = LicenseText.hash(licenseText);
+        this.storedLicenseText = null;
+    }
+
+    public String getLicenseTextHash() {
+        return this.licenseTextHash;
+    }
+
+    /**
+     * Check if the license text was set since the library was loaded and may not be stored yet.
+     *
+     * @return true if the license text was changed, otherwise false
+     */
+    public boolean hasChangedLicenseText() {
+        return this.licenseTextChanged;
     }
 
     public String getSourceCodeUrl() {
@@ -823,7 +878,7 @@ public class Library implements Serializable {
             ", type='" + getType() + "'" +
             ", originalLicense='" + getOriginalLicense() + "'" +
             ", licenseUrl='" + getLicenseUrl() + "'" +
-            ", licenseText='" + StringUtils.abbreviate(getLicenseText(), 14) + "'" +
+            ", licenseTextHash='" + getLicenseTextHash() + "'" +
             ", sourceCodeUrl='" + getSourceCodeUrl() + "'" +
             ", pUrl='" + getpUrl() + "'" +
             ", copyright='" + StringUtils.abbreviate(getCopyright(), 14) + "'" +
@@ -0,0 +1,84 @@
+package io.github.fossure.domain;
+
+import java.io.Serializable;
+import javax.persistence.*;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Type;
+
+/**
+ * A LicenseText. License texts are stored once per content and referenced by the SHA-256 hash of the text,
+ * so all libraries with the same license text share one row.
+ */
+@Entity
+@Table(name = "license_text")
+@Immutable
+@BatchSize(size = 50)
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+public class LicenseText implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Lob
+    @Type(type = "org.hibernate.type.TextType")
+    @Column(name = "text", nullable = false)
+    private String text;
+
+    public LicenseText() {}
+
+    public LicenseText(String text) {
+        this.hash = hash(text);
+        this.text = text;
+    }
+
+    /**
+     * Calculate the hash under which a license text is stored.
+     *
+     * @param text the license text
+     * @return the hex encoded SHA-256 hash of the UTF-8 encoded text, or null if the text is null
+     */
+    public static String hash(String text) {
+        return text != null ? DigestUtils.sha256Hex(text) : null;
+    }
+
+    public String getHash() {
+        return this.hash;
+    }
+
+    public String getText() {
+        return this.text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LicenseText)) {
+            return false;
+        }
+        return hash != null && hash.equals(((LicenseText) o).hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LicenseText{" +
+            "hash='" + getHash() + "'" +
+            ", text='" + StringUtils.abbreviate(getText(), 14) + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,333 @@
+package io.github.fossure.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.fossure.domain.enumeration.UploadJobPhase;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * A UploadJob. Progress of the processing of an upload for a project. The counters are updated with every committed
+ * batch, so an interrupted upload can be resumed.
+ */
+@Entity
+@Table(name = "upload_job")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class UploadJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", nullable = false)
+    private UploadJobPhase phase = UploadJobPhase.PENDING;
+
+    /**
+     * Number of components read from the upload up to the last committed batch. A resumed job continues after them.
+     */
+    @Column(name = "total_components")
+    private Integer totalComponents = 0;
+
+    @Column(name = "processed_components")
+    private Integer processedComponents = 0;
+
+    @Column(name = "failed_components")
+    private Integer failedComponents = 0;
+
+    @Column(name = "committed_batches")
+    private Integer committedBatches = 0;
+
+    @Column(name = "delete_existing")
+    private Boolean deleteExisting = true;
+
+    @Size(max = 255)
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Size(max = 255)
+    @Column(name = "file_content_type")
+    private String fileContentType;
+
+    @JsonIgnore
+    @Size(max = 1024)
+    @Column(name = "source_file", length = 1024)
+    private String sourceFile;
+
+    @JsonIgnore
+    @Size(max = 1024)
+    @Column(name = "additional_libraries_file", length = 1024)
+    private String additionalLibrariesFile;
+
+    @Size(max = 2048)
+    @Column(name = "source_url", length = 2048)
+    private String sourceUrl;
+
+    @Size(max = 2048)
+    @Column(name = "error_message", length = 2048)
+    private String errorMessage;
+
+    @Column(name = "created_date")
+    private Instant createdDate = Instant.now();
+
+    @Column(name = "last_updated_date")
+    private Instant lastUpdatedDate;
+
+    @ManyToOne
+    @JsonIgnore
+    private Project project;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public UploadJob id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public UploadJobPhase getPhase() {
+        return this.phase;
+    }
+
+    public UploadJob phase(UploadJobPhase phase) {
+        this.phase = phase;
+        return this;
+    }
+
+    public void setPhase(UploadJobPhase phase) {
+        this.phase = phase;
+    }
+
+    public Integer getTotalComponents() {
+        return this.totalComponents;
+    }
+
+    public UploadJob totalComponents(Integer totalComponents) {
+        this.totalComponents = totalComponents;
+        return this;
+    }
+
+    public void setTotalComponents(Integer totalComponents) {
+        this.totalComponents = totalComponents;
+    }
+
+    public Integer getProcessedComponents() {
+        return this.processedComponents;
+    }
+
+    public UploadJob processedComponents(Integer processedComponents) {
+        this.processedComponents = processedComponents;
+        return this;
+    }
+
+    public void setProcessedComponents(Integer processedComponents) {
+        this.processedComponents = processedComponents;
+    }
+
+    public Integer getFailedComponents() {
+        return this.failedComponents;
+    }
+
+    public UploadJob failedComponents(Integer failedComponents) {
+        this.failedComponents = failedComponents;
+        return this;
+    }
+
+    public void setFailedComponents(Integer failedComponents) {
+        this.failedComponents = failedComponents;
+    }
+
+    public Integer getCommittedBatches() {
+        return this.committedBatches;
+    }
+
+    public UploadJob committedBatches(Integer committedBatches) {
+        this.committedBatches = committedBatches;
+        return this;
+    }
+
+    public void setCommittedBatches(Integer committedBatches) {
+        this.committedBatches = committedBatches;
+    }
+
+    public Boolean getDeleteExisting() {
+        return this.deleteExisting;
+    }
+
+    public UploadJob deleteExisting(Boolean deleteExisting) {
+        this.deleteExisting = deleteExisting;
+        return this;
+    }
+
+    public void setDeleteExisting(Boolean deleteExisting) {
+        this.deleteExisting = deleteExisting;
+    }
+
+    public String getFileName() {
+        return this.fileName;
+    }
+
+    public UploadJob fileName(String fileName) {
+        this.fileName = fileName;
+        return this;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileContentType() {
+        return this.fileContentType;
+    }
+
+    public UploadJob fileContentType(String fileContentType) {
+        this.fileContentType = fileContentType;
+        return this;
+    }
+
+    public void setFileContentType(String fileContentType) {
+        this.fileContentType = fileContentType;
+    }
+
+    public String getSourceFile() {
+        return this.sourceFile;
+    }
+
+    public UploadJob sourceFile(String sourceFile) {
+        this.sourceFile = sourceFile;
+        return this;
+    }
+
+    public void setSourceFile(String sourceFile) {
+        this.sourceFile = sourceFile;
+    }
+
+    public String getAdditionalLibrariesFile() {
+        return this.additionalLibrariesFile;
+    }
+
+    public UploadJob additionalLibrariesFile(String additionalLibrariesFile) {
+        this.additionalLibrariesFile = additionalLibrariesFile;
+        return this;
+    }
+
+    public void setAdditionalLibrariesFile(String additionalLibrariesFile) {
+        this.additionalLibrariesFile = additionalLibrariesFile;
+    }
+
+    public String getSourceUrl() {
+        return this.sourceUrl;
+    }
+
+    public UploadJob sourceUrl(String sourceUrl) {
+        this.sourceUrl = sourceUrl;
+        return this;
+    }
+
+    public void setSourceUrl(String sourceUrl) {
+        this.sourceUrl = sourceUrl;
+    }
+
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+
+    public UploadJob errorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+        return this;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public UploadJob createdDate(Instant createdDate) {
+        this.createdDate = createdDate;
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getLastUpdatedDate() {
+        return this.lastUpdatedDate;
+    }
+
+    public UploadJob lastUpdatedDate(Instant lastUpdatedDate) {
+        this.lastUpdatedDate = lastUpdatedDate;
+        return this;
+    }
+
+    public void setLastUpdatedDate(Instant lastUpdatedDate) {
+        this.lastUpdatedDate = lastUpdatedDate;
+    }
+
+    public Project getProject() {
+        return this.project;
+    }
+
+    public UploadJob project(Project project) {
+        this.project = project;
+        return this;
+    }
+
+    public void setProject(Project project) {
+        this.project = project;
+    }
+
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UploadJob)) {
+            return false;
+        }
+        return id != null && id.equals(((UploadJob) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UploadJob{" +
+            "id=" + getId() +
+            ", phase='" + getPhase() + "'" +
+            ", totalComponents=" + getTotalComponents() +
+            ", processedComponents=" + getProcessedComponents() +
+            ", failedComponents=" + getFailedComponents() +
+            ", committedBatches=" + getCommittedBatches() +
+            ", deleteExisting='" + getDeleteExisting() + "'" +
+            ", fileName='" + getFileName() + "'" +
+            ", fileContentType='" + getFileContentType() + "'" +
+            ", sourceUrl='" + getSourceUrl() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", lastUpdatedDate='" + getLastUpdatedDate() + "'" +
+            "}";
+    }
+}
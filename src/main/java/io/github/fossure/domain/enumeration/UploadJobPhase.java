@@ -0,0 +1,29 @@
+package io.github.fossure.domain.enumeration;
+
+/**
+ * The UploadJobPhase enumeration.
+ */
+public enum UploadJobPhase {
+    PENDING("Pending"),
+    LOADING("Loading"),
+    FINALIZING("Finalizing"),
+    COMPLETED("Completed"),
+    FAILED("Failed");
+
+    private final String value;
+
+    UploadJobPhase(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return true if the job isn't completed or failed.
+     */
+    public boolean isUnfinished() {
+        return this != COMPLETED && this != FAILED;
+    }
+}
@@ -13,8 +13,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Spring Data SQL repository for the Dependency entity.
@@ -38,6 +40,19 @@ public interface DependencyRepository extends JpaRepository<Dependency, Long>, J
     @Query("select dependency from Dependency dependency where dependency.project.id = :projectId and dependency.library.id = :libraryId")
     Optional<Dependency> findByProjectIdAndLibraryId(@Param("projectId") Long projectId, @Param("libraryId") Long libraryId);
 
+    @Query(
+        "select dependency.library.id from Dependency dependency where dependency.project.id = :projectId and dependency.library.id in :libraryIds"
+    )
+    Set<Long> findLibraryIdsByProjectIdAndLibraryIdIn(@Param("projectId") Long projectId, @Param("libraryIds") Collection<Long> libraryIds);
+
+    @Query("select dependency.library.id from Dependency dependency where dependency.project.id = :projectId")
+    Set<Long> findLibraryIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(
+        "select dependency.library.id from Dependency dependency where dependency.project.id = :projectId and dependency.addedManually = false"
+    )
+    Set<Long> findLibraryIdsByProjectIdAndNotAddedManually(@Param("projectId") Long projectId);
+
     @Query(
         "select new io.github.fossure.domain.statistics.CountOccurrences(licenses.license.shortIdentifier, count(*)) " +
         "from Dependency dependency left join dependency.library.licenses licenses where dependency.project.id = :projectId " +
@@ -94,4 +109,14 @@ GROUP BY license.short_identifier
     @Modifying
     @Query("delete from Dependency dependency where dependency.project.id = :projectId and dependency.addedManually = false")
     void deleteByProjectIdAndNotAddedManually(@Param("projectId") Long projectId);
+
+    @Transactional
+    @Modifying
+    @Query(
+        "delete from Dependency dependency where dependency.project.id = :projectId and dependency.library.id in :libraryIds and dependency.addedManually = false"
+    )
+    void deleteByProjectIdAndLibraryIdInAndNotAddedManually(
+        @Param("projectId") Long projectId,
+        @Param("libraryIds") Collection<Long> libraryIds
+    );
 }
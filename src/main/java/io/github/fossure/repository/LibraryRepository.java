@@ -4,17 +4,22 @@ import io.github.fossure.domain.Library;
 import io.github.fossure.domain.License;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Spring Data SQL repository for the Library entity.
+ * <p>
+ * The stored license text is loaded lazily, the queries which return whole libraries fetch it together with them.
  */
 @Repository
 public interface LibraryRepository extends
@@ -23,6 +28,26 @@ public interface LibraryRepository extends
     @Query("select library from Library library where library.lastReviewedBy.login = ?#{principal.username}")
     List<Library> findByLastReviewedByIsCurrentUser();
 
+    @Override
+    @EntityGraph(attributePaths = "storedLicenseText")
+    List<Library> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "storedLicenseText")
+    Page<Library> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "storedLicenseText")
+    List<Library> findAll(Specification<Library> spec);
+
+    @Override
+    @EntityGraph(attributePaths = "storedLicenseText")
+    Page<Library> findAll(Specification<Library> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "storedLicenseText")
+    List<Library> findAllById(Iterable<Long> ids);
+
     default Optional<Library> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findOneWithToOneRelationships(id));
     }
@@ -36,17 +61,25 @@ public interface LibraryRepository extends
     }
 
     @Query(
-        value = "select distinct library from Library library left join fetch library.lastReviewedBy",
+        value = "select distinct library from Library library left join fetch library.lastReviewedBy " +
+        "left join fetch library.storedLicenseText",
         countQuery = "select count(distinct library) from Library library"
     )
     Page<Library> findAllWithToOneRelationships(Pageable pageable);
 
-    @Query("select distinct library from Library library left join fetch library.lastReviewedBy")
+    @Query(
+        "select distinct library from Library library left join fetch library.lastReviewedBy " +
+        "left join fetch library.storedLicenseText"
+    )
     List<Library> findAllWithToOneRelationships();
 
-    @Query("select library from Library library left join fetch library.lastReviewedBy where library.id =:id")
+    @Query(
+        "select library from Library library left join fetch library.lastReviewedBy " +
+        "left join fetch library.storedLicenseText where library.id =:id"
+    )
     Optional<Library> findOneWithToOneRelationships(@Param("id") Long id);
 
+    @EntityGraph(attributePaths = "storedLicenseText")
     @Query(
         "select library from Library library where lower(library.namespace) = lower(:namespace) and lower(library.name) = lower(:name) and lower(library.version) = lower(:version)"
     )
@@ -56,14 +89,23 @@ public interface LibraryRepository extends
         @Param("version") String version
     );
 
+    @EntityGraph(attributePaths = "storedLicenseText")
+    @Query("select library from Library library where lower(library.name) in :names and lower(library.version) in :versions")
+    List<Library> findAllByNameInAndVersionIn(@Param("names") Collection<String> names, @Param("versions") Collection<String> versions);
+
     @Query(
         "select distinct library from Library library where library.licenseUrl is null or library.licenseUrl = '' or library.sourceCodeUrl is null or library.sourceCodeUrl = ''"
     )
     List<Library> findAllWhereUrlIsEmpty();
 
+    @EntityGraph(attributePaths = "storedLicenseText")
+    List<Library> findAllByLicenseUrlOrSourceCodeUrl(String licenseUrl, String sourceCodeUrl, Pageable pageable);
+
+    @EntityGraph(attributePaths = "storedLicenseText")
     @Query("select distinct library from Library library where library.md5 = lower(:hash) or library.sha1 = lower(:hash)")
     List<Library> findByHash(@Param("hash") String hash);
 
+    @EntityGraph(attributePaths = "storedLicenseText")
     List<Library> findByCopyrightNull();
 
     @Query(
@@ -77,4 +119,18 @@ public interface LibraryRepository extends
 
     @Query("select count(library) from Library library where :unknown member of library.licenseToPublishes or :nonLicensed member of library.licenseToPublishes")
     long countByUnidentifiedLicense(@Param("unknown") License unknown, @Param("nonLicensed") License nonLicensed);
+
+    @Query(
+        "select distinct library.id from Library library left join library.licenses linkedLicense " +
+        "left join library.licenseToPublishes licenseToPublish " +
+        "where linkedLicense.license.id in :licenseIds or licenseToPublish.id in :licenseIds order by library.id"
+    )
+    List<Long> findIdsByLicenseIds(@Param("licenseIds") Collection<Long> licenseIds);
+
+    @Query(
+        "select distinct library.id from Library library left join library.licenses linkedLicense " +
+        "left join linkedLicense.license license left join library.licenseToPublishes licenseToPublish " +
+        "where license.licenseRisk.id = :licenseRiskId or licenseToPublish.licenseRisk.id = :licenseRiskId order by library.id"
+    )
+    List<Long> findIdsByLicenseRiskId(@Param("licenseRiskId") Long licenseRiskId);
 }
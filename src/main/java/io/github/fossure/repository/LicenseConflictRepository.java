@@ -15,7 +15,8 @@ import java.util.Optional;
  * Spring Data SQL repository for the LicenseConflict entity.
  */
 @Repository
-public interface LicenseConflictRepository extends JpaRepository<LicenseConflict, Long> {
+public interface LicenseConflictRepository
+    extends LicenseConflictRepositoryWithBulkOperations, JpaRepository<LicenseConflict, Long> {
     @Query("select licenseConflict from LicenseConflict licenseConflict where licenseConflict.firstLicenseConflict.id = :licenseId")
     List<LicenseConflict> findLicenseConflictsByLicenseId(@Param("licenseId") Long licenseId);
 
@@ -0,0 +1,5 @@
+package io.github.fossure.repository;
+
+public interface LicenseConflictRepositoryWithBulkOperations {
+    int insertMissingLicenseConflicts();
+}
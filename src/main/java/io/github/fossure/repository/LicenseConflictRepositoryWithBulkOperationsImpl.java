@@ -0,0 +1,53 @@
+package io.github.fossure.repository;
+
+import javax.persistence.EntityManager;
+import io.github.fossure.domain.LicenseConflict;
+import io.github.fossure.domain.enumeration.CompatibilityState;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Utility repository for set-based operations on license conflicts, which can't be expressed with JPQL.
+ */
+public class LicenseConflictRepositoryWithBulkOperationsImpl implements LicenseConflictRepositoryWithBulkOperations {
+
+    private static final String SEQUENCE_NAME = "sequence_generator";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * Inserts a license conflict with an unknown compatibility for every ordered pair of two different licenses, which
+     * doesn't have a license conflict yet. The pairs are created with a single INSERT ... SELECT over the cross product
+     * of all licenses.
+     *
+     * @return the number of inserted license conflicts.
+     */
+    @Override
+    public int insertMissingLicenseConflicts() {
+        Dialect dialect = entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect();
+
+        return entityManager
+            .createNativeQuery(
+                "insert into license_conflict (id, compatibility, first_license_conflict_id, second_license_conflict_id) " +
+                "select " +
+                dialect.getSelectSequenceNextValString(SEQUENCE_NAME) +
+                ", :compatibility, first_license.id, second_license.id " +
+                "from license first_license cross join license second_license " +
+                "where first_license.id <> second_license.id and not exists (" +
+                "select 1 from license_conflict existing_conflict " +
+                "where existing_conflict.first_license_conflict_id = first_license.id " +
+                "and existing_conflict.second_license_conflict_id = second_license.id)"
+            )
+            .setParameter("compatibility", CompatibilityState.UNKNOWN.name())
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(LicenseConflict.class)
+            .executeUpdate();
+    }
+}
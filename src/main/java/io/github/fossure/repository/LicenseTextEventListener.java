@@ -0,0 +1,104 @@
+package io.github.fossure.repository;
+
+import io.github.fossure.domain.Library;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Map;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.MergeEvent;
+import org.hibernate.event.spi.MergeEventListener;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+
+/**
+ * Stores the license text of a library in the license_text table right before the library row is inserted or updated.
+ * <p>
+ * The text is inserted on the connection of the flushing session, so it is part of the same transaction and exists
+ * before the foreign key of the library is written. Texts which are already stored are skipped. If another transaction
+ * inserts the same text concurrently, the insert is rolled back to a savepoint and ignored, because both rows would be
+ * identical.
+ * <p>
+ * A merge copies only the mapped properties of a detached library to the managed one. The changed text is therefore
+ * copied to the managed library after the merge, and stored when the managed library is flushed.
+ */
+public class LicenseTextEventListener implements PreInsertEventListener, PreUpdateEventListener, MergeEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String SELECT_LICENSE_TEXT = "select 1 from license_text where hash = ?";
+
+    private static final String INSERT_LICENSE_TEXT = "insert into license_text (hash, text) values (?, ?)";
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        storeLicenseText(event.getEntity(), event.getSession());
+        return false;
+    }
+
+    @Override
+    public boolean onPreUpdate(PreUpdateEvent event) {
+        storeLicenseText(event.getEntity(), event.getSession());
+        return false;
+    }
+
+    @Override
+    public void onMerge(MergeEvent event) {
+        if (!(event.getOriginal() instanceof Library) || !(event.getResult() instanceof Library)) {
+            return;
+        }
+        Library original = (Library) event.getOriginal();
+        Library result = (Library) event.getResult();
+        if (original != result && original.hasChangedLicenseText()) {
+            result.setLicenseText(original.getLicenseText());
+        }
+    }
+
+    @Override
+    public void onMerge(MergeEvent event, Map copiedAlready) {
+        onMerge(event);
+    }
+
+    private void storeLicenseText(Object entity, SharedSessionContractImplementor session) {
+        if (!(entity instanceof Library)) {
+            return;
+        }
+        Library library = (Library) entity;
+        if (!library.hasChangedLicenseText() || library.getLicenseTextHash() == null) {
+            return;
+        }
+
+        Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_LICENSE_TEXT)) {
+                statement.setString(1, library.getLicenseTextHash());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return;
+                    }
+                }
+            }
+
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_LICENSE_TEXT)) {
+                statement.setString(1, library.getLicenseTextHash());
+                statement.setString(2, library.getLicenseText());
+                statement.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "Could not store license text", INSERT_LICENSE_TEXT);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.fossure.repository;
+
+import io.github.fossure.domain.UploadJob;
+import io.github.fossure.domain.enumeration.UploadJobPhase;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the UploadJob entity.
+ */
+@Repository
+public interface UploadJobRepository extends JpaRepository<UploadJob, Long> {
+    Optional<UploadJob> findFirstByProjectIdOrderByIdDesc(Long projectId);
+
+    List<UploadJob> findByPhaseIn(Collection<UploadJobPhase> phases);
+
+    /**
+     * Claim an upload job by setting its last updated date, but only if it is still in the phase and wasn't updated since
+     * it was read. Of several instances which read the same job, only one can claim it.
+     *
+     * @return the number of updated rows, 1 if the job was claimed.
+     */
+    @Modifying
+    @Query(
+        "update UploadJob uploadJob set uploadJob.lastUpdatedDate = :claimedDate where uploadJob.id = :id and uploadJob.phase = :phase " +
+        "and (uploadJob.lastUpdatedDate = :lastUpdatedDate or uploadJob.lastUpdatedDate is null)"
+    )
+    int claim(
+        @Param("id") Long id,
+        @Param("phase") UploadJobPhase phase,
+        @Param("lastUpdatedDate") Instant lastUpdatedDate,
+        @Param("claimedDate") Instant claimedDate
+    );
+}
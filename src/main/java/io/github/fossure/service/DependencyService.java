@@ -1,7 +1,9 @@
 package io.github.fossure.service;
 
+import io.github.fossure.config.Constants;
 import io.github.fossure.domain.Dependency;
 import io.github.fossure.domain.Library;
+import io.github.fossure.domain.Project;
 import io.github.fossure.domain.statistics.CountOccurrences;
 import io.github.fossure.repository.DependencyRepository;
 import io.github.fossure.service.criteria.LibraryCriteria;
@@ -15,9 +17,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -76,6 +82,58 @@ public class DependencyService {
         return dependencyRepository.save(dependency);
     }
 
+    /**
+     * Save dependencies for a set of libraries in bulk. The libraries which are already part of the project are
+     * resolved with chunked queries and skipped, the remaining dependencies are inserted in JDBC batches.
+     *
+     * @param project       the project entity.
+     * @param libraries     the persisted libraries which should be added to the project.
+     * @param addedManually true if the dependencies were added manually.
+     * @return the newly persisted entities.
+     */
+    public List<Dependency> saveAllWithCheck(Project project, Collection<Library> libraries, boolean addedManually) {
+        List<Long> libraryIds = libraries.stream().map(Library::getId).distinct().collect(Collectors.toList());
+        Set<Long> existingLibraryIds = new HashSet<>(libraryIds.size());
+
+        for (int i = 0; i < libraryIds.size(); i += Constants.IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = libraryIds.subList(i, Math.min(i + Constants.IN_CLAUSE_CHUNK_SIZE, libraryIds.size()));
+            existingLibraryIds.addAll(dependencyRepository.findLibraryIdsByProjectIdAndLibraryIdIn(project.getId(), chunk));
+        }
+
+        return saveAllWithCheck(project, libraries, addedManually, existingLibraryIds);
+    }
+
+    /**
+     * Save dependencies for a set of libraries in bulk. Only the libraries which are not contained in the given ids of
+     * the libraries of the project are inserted in JDBC batches. The ids of the inserted libraries are added to the set.
+     *
+     * @param project            the project entity.
+     * @param libraries          the persisted libraries which should be added to the project.
+     * @param addedManually      true if the dependencies were added manually.
+     * @param existingLibraryIds ids of the libraries which are already part of the project.
+     * @return the newly persisted entities.
+     */
+    public List<Dependency> saveAllWithCheck(
+        Project project,
+        Collection<Library> libraries,
+        boolean addedManually,
+        Set<Long> existingLibraryIds
+    ) {
+        log.debug("Request to save {} Dependencies for Project : {}", libraries.size(), project.getId());
+
+        List<Dependency> dependencies = new ArrayList<>(libraries.size());
+        for (Library library : libraries) {
+            if (!existingLibraryIds.add(library.getId())) {
+                log.debug("Library [ {} ] is already in Project [ {} ]", library.getId(), project.getId());
+                continue;
+            }
+
+            dependencies.add(new Dependency().project(project).library(library).addedManually(addedManually));
+        }
+
+        return dependencyRepository.saveAll(dependencies);
+    }
+
     /**
      * Partially update a dependency.
      *
@@ -160,6 +218,39 @@ public class DependencyService {
         dependencyRepository.deleteByProjectIdAndNotAddedManually(projectId);
     }
 
+    /**
+     * Delete the dependencies of the given libraries by ProjectId but not libraries that were added manually.
+     *
+     * @param projectId  the id of the project.
+     * @param libraryIds the ids of the libraries.
+     */
+    public void deleteByProjectAndLibrariesAndNotAddedManually(Long projectId, Collection<Long> libraryIds) {
+        log.debug("Request to delete {} Dependencies by ProjectId : {}", libraryIds.size(), projectId);
+
+        List<Long> ids = new ArrayList<>(libraryIds);
+        for (int i = 0; i < ids.size(); i += Constants.IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(i, Math.min(i + Constants.IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            dependencyRepository.deleteByProjectIdAndLibraryIdInAndNotAddedManually(projectId, chunk);
+        }
+    }
+
+    /**
+     * Get the ids of all libraries of a project.
+     *
+     * @param projectId  the id of the project.
+     * @param onlyUpload true if libraries that were added manually should be excluded.
+     * @return the ids of the libraries as a modifiable set.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findLibraryIdsByProject(Long projectId, boolean onlyUpload) {
+        log.debug("Request to get ids of Libraries by ProjectId : {}", projectId);
+        return new HashSet<>(
+            onlyUpload
+                ? dependencyRepository.findLibraryIdsByProjectIdAndNotAddedManually(projectId)
+                : dependencyRepository.findLibraryIdsByProjectId(projectId)
+        );
+    }
+
     /**
      * Get one dependency by ProjectId and LibraryId
      *
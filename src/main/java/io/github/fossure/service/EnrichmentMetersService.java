@@ -0,0 +1,135 @@
+package io.github.fossure.service;
+
+import io.github.fossure.config.Constants;
+import io.github.fossure.domain.Library;
+import io.github.fossure.service.pipeline.Step;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+
+/**
+ * Records the duration and outcome of every step which completes a library with information from external services.
+ * The timers are tagged by step, ecosystem (the library type) and outcome; their count is the number of executions.
+ * <p>
+ * The outcome is derived from the field a step fills:
+ * <ul>
+ *     <li>skip: the step doesn't apply to the library or the field was already filled and isn't changed</li>
+ *     <li>hit: the field is filled afterwards</li>
+ *     <li>miss: the field is still empty afterwards</li>
+ *     <li>error: the step failed or was stopped by the GitHub rate limit</li>
+ * </ul>
+ */
+@Service
+public class EnrichmentMetersService {
+
+    public static final String STEP_METER_NAME = "enrichment.step";
+    public static final String STEP_METER_DESCRIPTION = "Duration and outcome of the steps completing the libraries.";
+    public static final String STEP_METER_STEP_DIMENSION = "step";
+    public static final String STEP_METER_ECOSYSTEM_DIMENSION = "ecosystem";
+    public static final String STEP_METER_OUTCOME_DIMENSION = "outcome";
+
+    public enum Outcome {
+        HIT,
+        SKIP,
+        MISS,
+        ERROR,
+    }
+
+    private final MeterRegistry registry;
+
+    public EnrichmentMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Wrap a pipeline step, so that every execution is recorded.
+     *
+     * @param step     the name of the step
+     * @param applies  whether the step applies to a library, otherwise the execution is recorded as skipped
+     * @param field    the field of the library which is filled by the step
+     * @param delegate the step
+     * @return the measured step
+     */
+    public Step<Library, Library> instrument(
+        String step,
+        Predicate<Library> applies,
+        Function<Library, Object> field,
+        Step<Library, Library> delegate
+    ) {
+        return input -> {
+            boolean applicable = applies.test(input);
+            Object before = field.apply(input);
+            long start = System.nanoTime();
+            Outcome outcome = Outcome.ERROR;
+            try {
+                Library output = delegate.process(input);
+                outcome = applicable ? outcome(before, field.apply(output)) : Outcome.SKIP;
+                return output;
+            } finally {
+                record(step, input, outcome, System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Execute and record a step.
+     *
+     * @param step    the name of the step
+     * @param library the library which is completed
+     * @param field   the field of the library which is filled by the step
+     * @param action  the step
+     */
+    public void measure(String step, Library library, Function<Library, Object> field, Runnable action) {
+        Object before = field.apply(library);
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            action.run();
+            outcome = outcome(before, field.apply(library));
+        } finally {
+            record(step, library, outcome, System.nanoTime() - start);
+        }
+    }
+
+    private Timer timer(String step, String ecosystem, Outcome outcome) {
+        return Timer
+            .builder(STEP_METER_NAME)
+            .description(STEP_METER_DESCRIPTION)
+            .tag(STEP_METER_STEP_DIMENSION, step)
+            .tag(STEP_METER_ECOSYSTEM_DIMENSION, ecosystem)
+            .tag(STEP_METER_OUTCOME_DIMENSION, outcome.name().toLowerCase(Locale.ROOT))
+            .register(registry);
+    }
+
+    private void record(String step, Library library, Outcome outcome, long nanos) {
+        String ecosystem = library.getType() != null ? library.getType().getValue() : "unknown";
+        timer(step, ecosystem, outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    static Outcome outcome(Object before, Object after) {
+        if (Constants.GITHUB_LIMIT.equals(after)) {
+            return Outcome.ERROR;
+        }
+        if (isFilled(before) && Objects.equals(before, after)) {
+            return Outcome.SKIP;
+        }
+        return isFilled(after) ? Outcome.HIT : Outcome.MISS;
+    }
+
+    private static boolean isFilled(Object value) {
+        if (value instanceof String) {
+            return !StringUtils.isBlank((String) value) && !Constants.NO_URL.equals(value);
+        }
+        if (value instanceof Collection) {
+            return !((Collection<?>) value).isEmpty();
+        }
+        return value != null;
+    }
+}
@@ -1,14 +1,17 @@
 package io.github.fossure.service;
 
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.URI;
 import java.net.UnknownHostException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 
 import io.github.fossure.domain.enumeration.FossologyStatus;
 import io.github.fossure.service.helper.net.HttpHelper;
+import io.github.fossure.service.helper.net.OutboundHttpClient;
 import io.github.fossure.config.ApplicationProperties;
 import io.github.fossure.domain.Fossology;
 import io.github.fossure.domain.Library;
@@ -36,10 +39,18 @@ public class FossologyService {
     private static final String FOSSOLOGY_STATUS_QUEUED = "Queued";
     private static final String FOSSOLOGY_STATUS_FAILED = "Failed";
 
+    private static final Duration FOSSOLOGY_REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
     private final ApplicationProperties applicationProperties;
 
-    public FossologyService(ApplicationProperties applicationProperties) {
+    private final OutboundHttpClient outboundHttpClient;
+
+    private final HttpHelper httpHelper;
+
+    public FossologyService(ApplicationProperties applicationProperties, OutboundHttpClient outboundHttpClient, HttpHelper httpHelper) {
         this.applicationProperties = applicationProperties;
+        this.outboundHttpClient = outboundHttpClient;
+        this.httpHelper = httpHelper;
     }
 
     @Async("fossologyTaskExecutor")
@@ -70,7 +81,7 @@ public class FossologyService {
         fossology = library.getFossology();
 
         try {
-            HttpHelper.downloadResource(libraryUrl, new File(fossologyDir.getPath() + "/" + libraryLabel));
+            httpHelper.downloadResource(libraryUrl, new File(fossologyDir.getPath() + "/" + libraryLabel));
         } catch (IOException e) {
             fossology.setStatus(FossologyStatus.FAILURE);
             libraryService.saveAndFlush(library);
@@ -216,72 +227,60 @@ public class FossologyService {
     }
 
     /**
-     * Initialize a connection to the Fossology API
+     * Initialize a request to the Fossology API
      *
-     * @param endpointAPI   open endpoint of the Fossology API
-     * @param requestMethod HTTP request method (GET/POST)
+     * @param endpointAPI open endpoint of the Fossology API
      */
-    public HttpURLConnection initConnection(String endpointAPI, String requestMethod) throws IOException {
+    public HttpRequest.Builder initRequest(String endpointAPI) {
         //Full URL is generated
-        URL url = new URL(String.format("%s%s%s", applicationProperties.getFossology().getUrl(), FOSSOLOGY_API_PART, endpointAPI));
-
-        //Connection is opened
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-
-        //Basic settings are added, e.g. the request method and the authorization via Bearer token
-        connection.setConnectTimeout(5 * 1000);
-        connection.setReadTimeout(60 * 1000);
-        connection.setRequestMethod(requestMethod);
-        connection.setDoInput(true);
-        connection.setDoOutput(true);
-        connection.setUseCaches(false);
-        connection.setInstanceFollowRedirects(true);
-        connection.setRequestProperty("Authorization", String.format("Bearer %s", applicationProperties.getFossology().getToken()));
-        connection.setRequestProperty("Content-Type", "application/json");
-
-        //Return of the established connection
-        return connection;
+        URI uri = URI.create(String.format("%s%s%s", applicationProperties.getFossology().getUrl(), FOSSOLOGY_API_PART, endpointAPI));
+
+        //Basic settings are added, e.g. the authorization via Bearer token
+        return HttpRequest
+            .newBuilder()
+            .uri(uri)
+            .timeout(FOSSOLOGY_REQUEST_TIMEOUT)
+            .header("Authorization", String.format("Bearer %s", applicationProperties.getFossology().getToken()))
+            .header("Content-Type", "application/json");
     }
 
     /**
-     * Transmit data to the Fossology API
+     * Send a request to the Fossology API via the shared outbound HTTP client
      *
-     * @param connection  established connection to the Fossology API
-     * @param requestBody data to be transmitted
+     * @param request request to the Fossology API
      */
-
-    //Helper method to transmit variable request data via an existing connection to the Fossology API
-    public static Integer writeOutputStream(HttpURLConnection connection, String requestBody) throws IOException {
-        //Output stream is opened and the data written as bytes
-        var outputStream = new DataOutputStream(connection.getOutputStream());
-        outputStream.writeBytes(requestBody);
-        outputStream.flush();
-        outputStream.close();
-
-        //Return of the HTTP response code of the transmission
-        return connection.getResponseCode();
+    private HttpResponse<String> send(HttpRequest request) throws IOException {
+        try {
+            return outboundHttpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Request to %s was interrupted", request.uri()));
+        }
     }
 
     /**
      * Receive data from the Fossology API
      *
-     * @param connection established connection to the Fossology API
+     * @param response response of the Fossology API
      */
 
-    //Helper method to receive the response body of an existing connection to the Fossology API
-    public static String readInputStream(HttpURLConnection connection) throws IOException {
-        //Input stream is opened and the data read via a buffer as long as new lines are available
-        var inputStream = connection.getInputStream();
-        BufferedReader inputReader = new BufferedReader(new InputStreamReader(inputStream));
-        StringBuilder response = new StringBuilder();
-        String line;
-        while ((line = inputReader.readLine()) != null) {
-            response.append(line);
+    //Helper method to receive the response body, a FileNotFoundException is thrown for a missing resource
+    public static String readBody(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() == 404 || response.statusCode() == 410) {
+            throw new FileNotFoundException(response.uri().toString());
+        }
+        if (response.statusCode() >= 400) {
+            throw new IOException(
+                String.format("Server returned HTTP response code: %d for URL: %s", response.statusCode(), response.uri())
+            );
         }
-        inputStream.close();
 
         //Return of the transmitted response as a string
-        return response.toString();
+        return response.body();
+    }
+
+    private static boolean isSuccessful(HttpResponse<String> response) {
+        return 200 <= response.statusCode() && response.statusCode() < 300;
     }
 
     /**
@@ -296,35 +295,34 @@ public class FossologyService {
     //Method to signal Fossology to download a file from a specified URL to the Folder identified with the ID
     public String startRemoteDownload(String endpointFossure, String folderId, String fileName, String fileDescription)
         throws IOException, ParseException {
-        //Set-up of a new connection to send the request to the Fossology API
+        //Set-up of a new request to the Fossology API
         //with the parameters uploadType, folderId and uploadDescription (optional)
         //and the URL of the file to be downloaded and final filename in Fossology in the request body
-        HttpURLConnection connection = initConnection("/uploads", "POST");
-        connection.setRequestProperty("uploadType", "url");
-        connection.setRequestProperty("folderId", folderId);
-        connection.setRequestProperty("uploadDescription", fileDescription);
         String body = String.format("{ \"url\": \"%s\", \"name\": \"%s\" }", endpointFossure, fileName);
+        HttpRequest.Builder request = initRequest("/uploads")
+            .header("uploadType", "url")
+            .header("folderId", folderId)
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (fileDescription != null) {
+            request.header("uploadDescription", fileDescription);
+        }
 
-        //Body is transmitted via the helper method
-        int responseCode = writeOutputStream(connection, body);
+        //Body is transmitted via the shared client
+        HttpResponse<String> httpResponse = send(request.build());
 
         //Exception is thrown if the request could not be sent successfully
-        if (!(200 <= responseCode && responseCode < 300)) {
-            throw new DownloadNotStartedException(connection.getResponseMessage());
+        if (!isSuccessful(httpResponse)) {
+            throw new DownloadNotStartedException(String.valueOf(httpResponse.statusCode()));
         }
 
-        //Response is received via the helper method and the connection closed
-        String response = readInputStream(connection);
-        connection.disconnect();
-
         //Response is parsed to JSON and the uploadId returned if found
-        JSONObject jsonObject = (JSONObject) new JSONParser().parse(response);
+        JSONObject jsonObject = (JSONObject) new JSONParser().parse(httpResponse.body());
         if (jsonObject.containsKey(MESSAGE)) {
             return jsonObject.get(MESSAGE).toString();
         }
 
         //Exception is thrown if no uploadId was found
-        throw new DownloadNotStartedException(connection.getResponseMessage());
+        throw new DownloadNotStartedException(String.valueOf(httpResponse.statusCode()));
     }
 
     /**
@@ -335,12 +333,9 @@ public class FossologyService {
 
     //Method to translate a Fossology folder name to the respective ID
     public String getFolderId(String folderName) throws IOException, ParseException {
-        //Set-up of a new connection to get all folders from the Fossology API
-        HttpURLConnection connection = initConnection("/folders", "GET");
-
-        //Response is received via the helper method and the connection closed
-        String response = readInputStream(connection);
-        connection.disconnect();
+        //Set-up of a new request to get all folders from the Fossology API
+        //Response is received via the helper method
+        String response = readBody(send(initRequest("/folders").GET().build()));
 
         //Response is parsed and the folder names read from the returned JSON
         JSONArray jsonResponse = (JSONArray) new JSONParser().parse(response);
@@ -363,12 +358,9 @@ public class FossologyService {
 
     //Method to copy the settings (regarding analysis agents) of the user identified by the Bearer token in use
     public String getUserSettings() throws IOException, ParseException {
-        //Set-up of a new connection to get the profile from the Fossology API
-        HttpURLConnection connection = initConnection("/users/self", "GET");
-
-        //Response is received via the helper method and the connection closed
-        String response = readInputStream(connection);
-        connection.disconnect();
+        //Set-up of a new request to get the profile from the Fossology API
+        //Response is received via the helper method
+        String response = readBody(send(initRequest("/users/self").GET().build()));
 
         //Response is parsed and the agents read returned if found
         JSONObject jsonResponse = (JSONObject) new JSONParser().parse(response);
@@ -387,22 +379,19 @@ public class FossologyService {
 
     //Method to check the current status of an upload in Fossology
     public void checkUpload(String uploadId) throws IOException {
-        //Set-up of a new connection to request the upload from the Fossology API
+        //Set-up of a new request to request the upload from the Fossology API
         //with the parameter uploadId
-        HttpURLConnection connection = initConnection(String.format("/uploads/%s", uploadId), "GET");
+        HttpRequest request = initRequest(String.format("/uploads/%s", uploadId)).GET().build();
 
         //Response is received via the helper method
         try {
-            readInputStream(connection);
+            readBody(send(request));
         } catch (FileNotFoundException fileNotFoundException) { //If the response can not be read, the upload is not found
-            connection.disconnect();
             throw new UploadNotFoundException(uploadId, applicationProperties.getFossology().getUrl());
         } catch (IOException ioException) { //If the response can not be received, the upload is failed
-            connection.disconnect();
             throw new UploadFailedException(uploadId);
         }
         //Otherwise , the upload is either in progress or finished
-        connection.disconnect();
     }
 
     /**
@@ -412,19 +401,16 @@ public class FossologyService {
      * @return the job status.
      */
     public String checkJobStatusByUploadId(String uploadId) throws IOException, ParseException {
-        //Set-up of a new connection to request the status from the Fossology API
+        //Set-up of a new request to request the status from the Fossology API
         //with the parameter uploadId
-        HttpURLConnection connection = initConnection(String.format("/jobs?upload=%s", uploadId), "GET");
+        HttpRequest request = initRequest(String.format("/jobs?upload=%s", uploadId)).GET().build();
 
         //Response is received via the helper method
         String response;
         try {
-            response = readInputStream(connection);
+            response = readBody(send(request));
         } catch (IOException ioException) {
-            connection.disconnect();
             throw new UploadFailedException(uploadId);
-        } finally {
-            connection.disconnect();
         }
 
         //Response is parsed to JSON and the uploadId returned if found
@@ -449,37 +435,36 @@ public class FossologyService {
 
     //Method to schedule a (re-)scan of an uploaded archive with the standard agents set for the respective user
     public String startScan(String folderId, String uploadId, String userSettings) throws IOException, ParseException {
-        //Set-up of a new connection to send the request to the Fossology API
+        //Set-up of a new request to the Fossology API
         //with the parameters folderId and uploadId
         //and the selected agents of the scan in the request body
-        HttpURLConnection connection = initConnection("/jobs", "POST");
-        connection.setRequestProperty("folderId", folderId);
-        connection.setRequestProperty("uploadId", uploadId);
         String body = String.format(
             "{\"analysis\":%s%s",
             userSettings,
             ",\"decider\":{\"nomos_monk\":true,\"bulk_reused\":true,\"new_scanner\":true,\"ojo_decider\":true},\"reuse\":{\"reuse_upload\":0,\"reuse_group\":\"string\",\"reuse_main \":true,\"reuse_enhanced\":true,\"reuse_report\":true,\"reuse_copyright\":true}}"
         );
 
-        //Body is transmitted via the helper method
-        int responseCode = writeOutputStream(connection, body);
+        HttpRequest request = initRequest("/jobs")
+            .header("folderId", folderId)
+            .header("uploadId", uploadId)
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+
+        //Body is transmitted via the shared client
+        HttpResponse<String> httpResponse = send(request);
 
         //Exception is thrown if the request could not be sent successfully
-        if (!(200 <= responseCode && responseCode < 300)) {
-            throw new ScanNotStartedException(connection.getResponseMessage());
+        if (!isSuccessful(httpResponse)) {
+            throw new ScanNotStartedException(String.valueOf(httpResponse.statusCode()));
         }
 
-        //Response is received via the helper method and the connection closed
-        String response = readInputStream(connection);
-        connection.disconnect();
-
         //Response is parsed and the jobId returned if found
-        JSONObject jsonResponse = (JSONObject) new JSONParser().parse(response);
+        JSONObject jsonResponse = (JSONObject) new JSONParser().parse(httpResponse.body());
         if (jsonResponse.containsKey(MESSAGE)) {
             return jsonResponse.get(MESSAGE).toString();
         }
         //Exception is thrown if the jobId was not found
-        throw new ScanNotStartedException(connection.getResponseMessage());
+        throw new ScanNotStartedException(String.valueOf(httpResponse.statusCode()));
     }
 
     /**
@@ -490,28 +475,25 @@ public class FossologyService {
 
     //Method to check the current status of a scan in Fossology
     public String checkJob(String jobId) throws IOException, ParseException {
-        //Set-up of a new connection to send the request to the Fossology API
+        //Set-up of a new request to the Fossology API
         //with the parameter jobId
-        HttpURLConnection connection = initConnection(String.format("/jobs/%s", jobId), "GET");
+        HttpRequest request = initRequest(String.format("/jobs/%s", jobId)).GET().build();
 
-        //Response is received via the helper method#
+        //Response is received via the helper method
         String response;
         try {
-            response = readInputStream(connection);
+            response = readBody(send(request));
         } catch (IOException ioException) { //If the response can not be received, the job is not found
-            connection.disconnect();
             throw new JobNotFoundException(jobId, applicationProperties.getFossology().getUrl());
         }
 
-        connection.disconnect();
-
         //Response is parsed and the status of the job returned if found
         JSONObject jsonResponse = (JSONObject) new JSONParser().parse(response);
         if (jsonResponse.containsKey("status")) {
             return jsonResponse.get("status").toString();
         }
         //Exception is thrown if the status was not found
-        throw new JobNotFoundException(connection.getResponseMessage(), applicationProperties.getFossology().getUrl());
+        throw new JobNotFoundException(jobId, applicationProperties.getFossology().getUrl());
     }
 
     public Fossology.Config getConfig() {
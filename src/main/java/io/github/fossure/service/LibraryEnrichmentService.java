@@ -0,0 +1,134 @@
+package io.github.fossure.service;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.domain.Library;
+import io.github.fossure.repository.LibraryRepository;
+import io.github.fossure.service.helper.LibraryCompletion;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for the second phase of an upload. The libraries of an upload are persisted first and completed afterwards
+ * with information from external services. The completion is executed in small batches on the bounded
+ * {@code enrichmentTaskExecutor}, every batch is committed on its own. The libraries of a batch are completed
+ * concurrently by the steps on the {@code pipelineTaskExecutor}.
+ */
+@Service
+public class LibraryEnrichmentService {
+
+    private final Logger log = LoggerFactory.getLogger(LibraryEnrichmentService.class);
+
+    private final LibraryService libraryService;
+
+    private final LibraryRepository libraryRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final LibraryEnrichmentService self;
+
+    public LibraryEnrichmentService(
+        LibraryService libraryService,
+        LibraryRepository libraryRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        @Lazy LibraryEnrichmentService self
+    ) {
+        this.libraryService = libraryService;
+        this.libraryRepository = libraryRepository;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.self = self;
+    }
+
+    /**
+     * Completes the libraries after the current transaction is committed. Without an active transaction the completion
+     * is started immediately.
+     *
+     * @param libraryIds the ids of the libraries to complete.
+     */
+    public void enrichAfterCommit(Collection<Long> libraryIds) {
+        if (libraryIds.isEmpty()) return;
+
+        List<Long> ids = new ArrayList<>(libraryIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        enrich(ids);
+                    }
+                }
+            );
+        } else {
+            enrich(ids);
+        }
+    }
+
+    /**
+     * Splits the libraries into batches of {@code application.upload.enrichment-batch-size} and hands them over to the
+     * {@code enrichmentTaskExecutor}.
+     *
+     * @param libraryIds the ids of the libraries to complete.
+     */
+    public void enrich(List<Long> libraryIds) {
+        int batchSize = Math.max(1, applicationProperties.getUpload().getEnrichmentBatchSize());
+        log.info("Start completing {} libraries in batches of {}", libraryIds.size(), batchSize);
+
+        for (int i = 0; i < libraryIds.size(); i += batchSize) {
+            self.enrichBatch(new ArrayList<>(libraryIds.subList(i, Math.min(i + batchSize, libraryIds.size()))));
+        }
+    }
+
+    /**
+     * Completes a batch of libraries. The libraries are loaded and saved in short transactions, no transaction is held
+     * while the information is fetched from external services. The libraries are loaded again before they are saved and
+     * only the completed fields are applied, see {@link LibraryCompletion}, so changes made in the meantime are kept.
+     *
+     * @param libraryIds the ids of the libraries to complete.
+     */
+    @Async("enrichmentTaskExecutor")
+    public void enrichBatch(List<Long> libraryIds) {
+        log.debug("Request to complete Libraries : {}", libraryIds);
+
+        List<Library> libraries = libraryService.findAllWithEagerRelationships(libraryIds);
+        Map<Long, LibraryCompletion> completions = new HashMap<>();
+        for (Library library : libraries) {
+            completions.put(library.getId(), LibraryCompletion.of(library));
+        }
+
+        List<Library> completedLibraries = libraryService.autocomplete(libraries);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Library> currentLibraries = libraryRepository
+                .fetchBagRelationships(libraryRepository.findAllById(libraryIds))
+                .stream()
+                .collect(Collectors.toMap(Library::getId, Function.identity()));
+
+            for (Library completedLibrary : completedLibraries) {
+                Library currentLibrary = currentLibraries.get(completedLibrary.getId());
+                if (currentLibrary == null) {
+                    log.debug("Library {} was deleted while it was completed", completedLibrary.getId());
+                    continue;
+                }
+                completions.get(completedLibrary.getId()).applyTo(completedLibrary, currentLibrary);
+            }
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.fossure.service;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.domain.Library;
+import io.github.fossure.domain.License;
+import io.github.fossure.domain.LicenseRisk;
+import io.github.fossure.domain.enumeration.LinkType;
+import io.github.fossure.repository.LibraryRepository;
+import io.github.fossure.service.dto.LibraryRiskRecomputationDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service to recompute the licenses to publish and the risk of libraries after a license risk changed. Only the
+ * libraries linked to the affected licenses are recomputed, in batches of {@code application.risk-recomputation.batch-size}
+ * which are committed on their own. Recomputations run one after another on the single thread of the
+ * {@code riskRecomputationTaskExecutor}, the progress of the current or last one is available with {@link #getProgress()}.
+ */
+@Service
+public class LibraryRiskRecomputationService {
+
+    private final Logger log = LoggerFactory.getLogger(LibraryRiskRecomputationService.class);
+
+    private final LibraryService libraryService;
+
+    private final LicenseService licenseService;
+
+    private final LibraryRepository libraryRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile LibraryRiskRecomputationDTO progress = new LibraryRiskRecomputationDTO(null, 0, 0, 0, 0, null, null);
+
+    public LibraryRiskRecomputationService(
+        LibraryService libraryService,
+        LicenseService licenseService,
+        LibraryRepository libraryRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.libraryService = libraryService;
+        this.licenseService = licenseService;
+        this.libraryRepository = libraryRepository;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recompute the libraries with a license of a license risk, e.g. after the level of the risk changed.
+     *
+     * @param licenseRiskId the id of the changed license risk.
+     */
+    @Async("riskRecomputationTaskExecutor")
+    public void recomputeForLicenseRisk(Long licenseRiskId) {
+        recompute("License risk " + licenseRiskId, () -> libraryRepository.findIdsByLicenseRiskId(licenseRiskId));
+    }
+
+    /**
+     * Recompute the libraries with a license, e.g. after the license was assigned to another license risk.
+     *
+     * @param licenseId the id of the changed license.
+     */
+    @Async("riskRecomputationTaskExecutor")
+    public void recomputeForLicense(Long licenseId) {
+        recompute("License " + licenseId, () -> libraryRepository.findIdsByLicenseIds(Collections.singletonList(licenseId)));
+    }
+
+    /**
+     * Get the progress of the current or last recomputation.
+     *
+     * @return the progress, without a start date if no recomputation was started yet.
+     */
+    public LibraryRiskRecomputationDTO getProgress() {
+        return progress;
+    }
+
+    private void recompute(String cause, Supplier<List<Long>> affectedLibraryIds) {
+        List<Long> libraryIds = transactionTemplate.execute(status -> affectedLibraryIds.get());
+        if (libraryIds == null) {
+            libraryIds = Collections.emptyList();
+        }
+
+        int batchSize = Math.max(1, applicationProperties.getRiskRecomputation().getBatchSize());
+        int total = libraryIds.size();
+        Instant startDate = Instant.now();
+        log.info("Start recomputing {} libraries affected by a change of {} in batches of {}", total, cause, batchSize);
+        progress = new LibraryRiskRecomputationDTO(cause, total, 0, 0, 0, startDate, null);
+
+        int processed = 0;
+        int changed = 0;
+        int failed = 0;
+        for (int i = 0; i < total; i += batchSize) {
+            List<Long> batch = new ArrayList<>(libraryIds.subList(i, Math.min(i + batchSize, total)));
+            try {
+                Integer changedInBatch = transactionTemplate.execute(status -> recomputeBatch(batch));
+                changed += changedInBatch == null ? 0 : changedInBatch;
+            } catch (RuntimeException e) {
+                log.error("Recomputation of libraries {} failed : {}", batch, e.getMessage());
+                failed += batch.size();
+            }
+            processed += batch.size();
+            progress = new LibraryRiskRecomputationDTO(cause, total, processed, changed, failed, startDate, null);
+            log.debug("Recomputed {} of {} libraries affected by a change of {}", processed, total, cause);
+        }
+
+        progress = new LibraryRiskRecomputationDTO(cause, total, processed, changed, failed, startDate, Instant.now());
+        log.info("Finished recomputing libraries affected by a change of {} : {} changed, {} failed", cause, changed, failed);
+    }
+
+    private int recomputeBatch(List<Long> libraryIds) {
+        List<Library> changedLibraries = new ArrayList<>(libraryIds.size());
+        for (Library library : libraryService.findAllWithEagerRelationships(libraryIds)) {
+            if (recompute(library)) {
+                changedLibraries.add(library);
+            }
+        }
+
+        libraryRepository.saveAll(changedLibraries);
+        return changedLibraries.size();
+    }
+
+    /**
+     * Recompute the licenses to publish and the risk of a library. The licenses to publish only depend on the risks if
+     * the library has alternative (OR) licenses, otherwise they are kept.
+     *
+     * @param library the library to recompute.
+     * @return true if the library changed.
+     */
+    private boolean recompute(Library library) {
+        boolean changed = false;
+
+        if (
+            library.getLicenses().stream().anyMatch(linkedLicense -> linkedLicense.getLinkType() == LinkType.OR) &&
+            library.validateLinkedLicenses()
+        ) {
+            Set<License> licenseToPublishes = licenseService.findLicenseToPublish(library.getOriginalLicense(), library.getLicenses());
+            if (!licenseToPublishes.equals(library.getLicenseToPublishes())) {
+                library.setLicenseToPublishes(licenseToPublishes);
+                changed = true;
+            }
+        }
+
+        LicenseRisk libraryRisk = library.getLicenseRisk(library.getLicenseToPublishes());
+        if (!Objects.equals(libraryRisk, library.getLibraryRisk())) {
+            library.setLibraryRisk(libraryRisk);
+            changed = true;
+        }
+
+        return changed;
+    }
+}
@@ -1,33 +1,50 @@
 package io.github.fossure.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fossure.config.ApplicationProperties;
 import io.github.fossure.config.Constants;
 import io.github.fossure.domain.File;
 import io.github.fossure.domain.Library;
 import io.github.fossure.domain.License;
 import io.github.fossure.domain.LicensePerLibrary;
 import io.github.fossure.domain.enumeration.ExportFormat;
+import io.github.fossure.domain.enumeration.LibraryType;
 import io.github.fossure.domain.enumeration.LogSeverity;
 import io.github.fossure.domain.helper.Copyright;
 import io.github.fossure.repository.LibraryRepository;
 import io.github.fossure.service.exceptions.*;
 import io.github.fossure.service.helper.copyright.ArchiveHelper;
 import io.github.fossure.service.helper.copyright.CopyrightAnalyser;
+import io.github.fossure.service.helper.LicenseCatalog;
+import io.github.fossure.service.helper.SingleFlight;
+import io.github.fossure.service.helper.maven.MavenLicenseResolver;
 import io.github.fossure.service.helper.net.HttpHelper;
+import io.github.fossure.service.helper.net.LicenseTextCache;
+import io.github.fossure.service.helper.net.NegativeResultCache;
+import io.github.fossure.service.helper.net.NegativeResultCache.Failure;
+import io.github.fossure.service.helper.net.NegativeResultCache.LookupType;
 import io.github.fossure.service.helper.sourceCode.SourceCodeHelper;
 import io.github.fossure.service.helper.urlparsing.LicenseURLparser;
+import io.github.fossure.service.helper.urlparsing.RegistryMetadataCache;
 import io.github.fossure.service.helper.urlparsing.SourceURLparser;
+import io.github.fossure.service.helper.urlparsing.URLparser;
+import io.github.fossure.service.helper.urlparsing.URLparserHelper;
+import io.github.fossure.service.pipeline.AsyncPipeline;
+import io.github.fossure.service.pipeline.DownloadLizenztextStep;
 import io.github.fossure.service.pipeline.MavenLicenseStep;
 import io.github.fossure.service.pipeline.NpmLicenseStep;
 import io.github.fossure.service.pipeline.Pipeline;
+import io.github.fossure.service.pipeline.Step;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.lang3.StringUtils;
 import org.json.simple.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
@@ -35,10 +52,13 @@ import java.io.*;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -63,26 +83,88 @@ public class LibraryService {
     private final SourceURLparser sourceURLparser;
     private final LicenseURLparser licenseURLparser;
 
+    private final SingleFlight<String, IOException> sourceCodeUrlLookups = new SingleFlight<>(IOException.class);
+    private final SingleFlight<String, IOException> licenseUrlLookups = new SingleFlight<>(IOException.class);
+    private final SingleFlight<ArchiveAnalysis, RuntimeException> archiveAnalyses = new SingleFlight<>(RuntimeException.class);
+
     private final SourceCodeHelper sourceCodeHelper;
 
+    private final EnrichmentMetersService enrichmentMetersService;
+
+    private final Pipeline<Library, Library> autocompletePipeline;
+
+    private final AsyncPipeline<Library> batchAutocompletePipeline;
+
+    private final NegativeResultCache negativeResultCache;
+
+    private final HttpHelper httpHelper;
+
     public LibraryService(
         LibraryRepository libraryRepository,
         LicenseService licenseService,
         SourceCodeHelper sourceCodeHelper,
         ObjectMapper objectMapper,
         EntityManager entityManager,
-        FossologyService fossologyService
+        FossologyService fossologyService,
+        LicenseTextCache licenseTextCache,
+        ApplicationProperties applicationProperties,
+        @Qualifier("pipelineTaskExecutor") Executor pipelineTaskExecutor,
+        EnrichmentMetersService enrichmentMetersService,
+        MavenLicenseResolver mavenLicenseResolver,
+        URLparserHelper urlParserHelper,
+        RegistryMetadataCache registryMetadataCache,
+        NegativeResultCache negativeResultCache,
+        HttpHelper httpHelper
     ) {
         this.libraryRepository = libraryRepository;
         this.licenseService = licenseService;
-        this.sourceURLparser = new SourceURLparser();
+        this.sourceURLparser = new SourceURLparser(urlParserHelper, registryMetadataCache);
         this.sourceURLparser.initCommands();
-        this.licenseURLparser = new LicenseURLparser();
+        this.licenseURLparser = new LicenseURLparser(urlParserHelper, registryMetadataCache);
         this.licenseURLparser.initCommands();
+        this.negativeResultCache = negativeResultCache;
+        this.httpHelper = httpHelper;
         this.sourceCodeHelper = sourceCodeHelper;
         this.objectMapper = objectMapper;
         this.entityManager = entityManager;
         this.fossologyService = fossologyService;
+        this.enrichmentMetersService = enrichmentMetersService;
+
+        Step<Library, Library> mavenLicenseStep = enrichmentMetersService.instrument(
+            "maven-license",
+            library -> library.getType() == LibraryType.MAVEN,
+            Library::getOriginalLicense,
+            new MavenLicenseStep(mavenLicenseResolver, negativeResultCache)
+        );
+        Step<Library, Library> npmLicenseStep = enrichmentMetersService.instrument(
+            "npm-license",
+            library -> library.getType() == LibraryType.NPM,
+            Library::getOriginalLicense,
+            new NpmLicenseStep(httpHelper, negativeResultCache)
+        );
+        Step<Library, Library> licenseTextStep = enrichmentMetersService.instrument(
+            "license-text",
+            library -> true,
+            Library::getLicenseText,
+            new DownloadLizenztextStep(licenseTextCache)
+        );
+
+        this.autocompletePipeline =
+            new Pipeline<>(mavenLicenseStep)
+                .pipe(npmLicenseStep)
+                .pipe(this::licenseAndUrlAutocomplete)
+                .pipe(licenseTextStep)
+                .pipe(this::copyrightAndRiskAutocomplete);
+
+        // Only the steps which wait for external services get a timeout, the others access the database
+        Duration stepTimeout = Duration.ofSeconds(applicationProperties.getUpload().getStepTimeout());
+        this.batchAutocompletePipeline =
+            new AsyncPipeline<Library>(pipelineTaskExecutor)
+                .pipe(mavenLicenseStep, stepTimeout)
+                .pipe(npmLicenseStep, stepTimeout)
+                .pipe(this::licenseAndUrlAutocomplete)
+                .pipe(licenseTextStep, stepTimeout)
+                .pipe(this::copyrightAndRiskAutocomplete);
     }
 
     /**
@@ -97,12 +179,14 @@ public class LibraryService {
     }
 
     /**
-     * Save a library. Executes check on the library for validity and optimize the missing information.
+     * Save a library. Executes check on the library for validity and optimize the missing information. No transaction is
+     * held while the missing information is fetched from external services, the library is saved in its own transaction.
      *
      * @param library the entity to save.
      * @return the persisted entity.
      * @throws LibraryException if the library already exists in the database.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Library saveWithCheck(Library library) throws LibraryException {
         log.debug("Request to save Library with check : {}", library);
         /*
@@ -154,19 +238,91 @@ public class LibraryService {
 
         if (!library.validateLinkedLicenses()) throw new LibraryException("License selection is not valid");
 
-        library = new Pipeline<>(new MavenLicenseStep()).pipe(new NpmLicenseStep()).execute(library);
+        return save(autocomplete(library));
+    }
 
-        // TODO Add all autocompletion methods to Pipeline
+    /**
+     * Save new libraries in bulk. Libraries with an invalid license selection are skipped. The libraries have to be
+     * checked beforehand with {@link #findAllByNamespaceNameVersion(Collection)}, so that no duplicates are created.
+     * The inserts are executed in JDBC batches. No autocompletion is executed, the libraries have to be completed
+     * afterwards with {@link #autocomplete(Library)}.
+     *
+     * @param libraries the new entities to save.
+     * @return the persisted entities.
+     */
+    public List<Library> saveAllNew(Collection<Library> libraries) {
+        log.debug("Request to save {} new Libraries", libraries.size());
+
+        List<Library> newLibraries = new ArrayList<>(libraries.size());
+        for (Library library : libraries) {
+            if (!library.validateLinkedLicenses()) {
+                log.warn(
+                    "License selection is not valid. Library = Namespace : {} - Name : {} - Version : {}",
+                    library.getNamespace(),
+                    library.getName(),
+                    library.getVersion()
+                );
+                continue;
+            }
+
+            library.setId(null);
+            library.setCreatedDate(LocalDate.now());
+            newLibraries.add(library);
+        }
+
+        return libraryRepository.saveAll(newLibraries);
+    }
+
+    /**
+     * Completes the missing information of a library (license, URLs, license text, copyright and risk). Most of the
+     * information is fetched from external services, therefore no transaction is held while executing the method when
+     * it's called from another bean. The steps are executed on the calling thread.
+     *
+     * @param library the library to complete.
+     * @return the completed library.
+     * @throws Step.StepException if a step of the completion failed.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Library autocomplete(Library library) {
+        return autocompletePipeline.execute(library);
+    }
+
+    /**
+     * Completes the missing information of a batch of libraries like {@link #autocomplete(Library)}. The libraries are
+     * completed concurrently on the {@code pipelineTaskExecutor}, a library whose completion fails is skipped without
+     * affecting the others. A request to an external service which takes longer than
+     * {@code application.upload.step-timeout} is interrupted, the library is completed without its result.
+     *
+     * @param libraries the libraries to complete.
+     * @return the completed libraries, without the skipped ones.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Library> autocomplete(Collection<Library> libraries) {
+        return batchAutocompletePipeline.execute(
+            libraries,
+            (library, e) -> {
+                if (e instanceof TimeoutException) {
+                    log.warn("Library [ {} ] was completed without the result of a step : {}", library.getId(), e.toString());
+                } else {
+                    log.warn("Library [ {} ] could not be completed : {}", library.getId(), e.toString());
+                }
+            }
+        );
+    }
+
+    private Library licenseAndUrlAutocomplete(Library library) {
         licenseAutocomplete(library);
         // TODO Improve incompatible license check (too slow)
         //hasIncompatibleLicenses(library);
         removeGenericLicenseUrl(library);
         urlAutocomplete(library);
-        licenseTextAutocomplete(library);
+        return library;
+    }
+
+    private Library copyrightAndRiskAutocomplete(Library library) {
         copyrightAutocomplete(library);
         calculateLibraryRisk(library);
-
-        return save(library);
+        return library;
     }
 
     /**
@@ -262,7 +418,7 @@ public class LibraryService {
 
                 return existingLibrary;
             })
-            .map(libraryRepository::save);
+            .map(this::save);
     }
 
     /**
@@ -298,6 +454,18 @@ public class LibraryService {
         return libraryRepository.findOneWithEagerRelationships(id);
     }
 
+    /**
+     * Get libraries by ids with all relationships.
+     *
+     * @param ids the ids of the entities.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Library> findAllWithEagerRelationships(Collection<Long> ids) {
+        log.debug("Request to get {} Libraries", ids.size());
+        return libraryRepository.fetchBagRelationships(libraryRepository.findAllById(ids));
+    }
+
     /**
      * Count all the libraries.
      * @return the number of libraries.
@@ -375,6 +543,62 @@ public class LibraryService {
         return libraryRepository.findByNamespaceAndNameAndVersion(namespace, name, version);
     }
 
+    /**
+     * Search for the given libraries by namespace, name and version in chunked queries. The comparison is case-insensitive
+     * and a missing namespace is treated like an empty namespace.
+     *
+     * @param libraries the libraries to search for.
+     * @return the existing libraries, mapped by {@link #coordinatesOf(Library)}.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Library> findAllByNamespaceNameVersion(Collection<Library> libraries) {
+        log.debug("Request to get {} Libraries by Namespace, Name and Version", libraries.size());
+
+        List<String> names = libraries
+            .stream()
+            .map(e -> StringUtils.lowerCase(e.getName()))
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+        Set<String> versions = libraries
+            .stream()
+            .map(e -> StringUtils.lowerCase(e.getVersion()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<String> coordinates = libraries.stream().map(LibraryService::coordinatesOf).collect(Collectors.toSet());
+        Map<String, Library> existingLibraries = new HashMap<>(libraries.size());
+
+        if (versions.isEmpty()) return existingLibraries;
+
+        for (int i = 0; i < names.size(); i += Constants.IN_CLAUSE_CHUNK_SIZE) {
+            List<String> chunk = names.subList(i, Math.min(i + Constants.IN_CLAUSE_CHUNK_SIZE, names.size()));
+
+            for (Library library : libraryRepository.findAllByNameInAndVersionIn(chunk, versions)) {
+                String key = coordinatesOf(library);
+                if (coordinates.contains(key)) existingLibraries.putIfAbsent(key, library);
+            }
+        }
+
+        return existingLibraries;
+    }
+
+    /**
+     * Key of a library based on namespace, name and version which can be used to compare libraries independent of the
+     * case and of empty or missing namespaces.
+     *
+     * @param library the library.
+     * @return the key of the library.
+     */
+    public static String coordinatesOf(Library library) {
+        return (
+            StringUtils.lowerCase(StringUtils.defaultString(library.getNamespace())) +
+            ":" +
+            StringUtils.lowerCase(StringUtils.defaultString(library.getName())) +
+            ":" +
+            StringUtils.lowerCase(StringUtils.defaultString(library.getVersion()))
+        );
+    }
+
     /**
      * Search for a Library by MD5 or SHA1
      *
@@ -394,21 +618,31 @@ public class LibraryService {
      * @param library Library entity
      */
     public void licenseAutocomplete(Library library) {
+        enrichmentMetersService.measure(
+            "license",
+            library,
+            entity -> new HashSet<>(entity.getLicenseToPublishes()),
+            () -> completeLicenses(library)
+        );
+    }
+
+    private void completeLicenses(Library library) {
         log.debug("Autocomplete of license fields");
         if (library.getOriginalLicense() == null) library.setOriginalLicense("");
 
+        LicenseCatalog licenseCatalog = licenseService.getLicenseCatalog();
         for (LicensePerLibrary lpl : library.getLicenses()) {
-            Optional<License> optionalLicense = licenseService.findOne(lpl.getLicense().getId());
-            optionalLicense.ifPresent(lpl::setLicense);
+            licenseCatalog.findOne(lpl.getLicense().getId()).ifPresent(lpl::setLicense);
         }
 
-        for (License license : library.getLicenseToPublishes()) {
-            if (license.getLicenseRisk() == null) {
-                Optional<License> optionalLicense = licenseService.findOne(license.getId());
-                if (optionalLicense.isPresent()) {
-                    license.setLicenseRisk(optionalLicense.get().getLicenseRisk());
-                }
+        if (library.getLicenseToPublishes().stream().anyMatch(license -> license.getLicenseRisk() == null)) {
+            Set<License> licenseToPublishes = new HashSet<>();
+            for (License license : library.getLicenseToPublishes()) {
+                licenseToPublishes.add(
+                    license.getLicenseRisk() == null ? licenseCatalog.findOne(license.getId()).orElse(license) : license
+                );
             }
+            library.setLicenseToPublishes(licenseToPublishes);
         }
 
         if (
@@ -423,14 +657,14 @@ public class LibraryService {
             !library.getLicenses().isEmpty() &&
             (library.getLicenseToPublishes().size() == 1 && library.getLicenseToPublishes().contains(licenseService.getUnknownLicense()))
         ) {
-            library.setLicenseToPublishes(licenseService.findLicenseToPublish(library.getLicenses()));
+            library.setLicenseToPublishes(licenseService.findLicenseToPublish(library.getOriginalLicense(), library.getLicenses()));
         }
 
         if (
             !library.getLicenses().isEmpty() &&
             (library.getLicenseToPublishes().isEmpty() || licenseService.unidentifiedLicense(library.getLicenseToPublishes()))
         ) {
-            library.setLicenseToPublishes(licenseService.findLicenseToPublish(library.getLicenses()));
+            library.setLicenseToPublishes(licenseService.findLicenseToPublish(library.getOriginalLicense(), library.getLicenses()));
         }
     }
 
@@ -528,21 +762,26 @@ public class LibraryService {
      * @param library Library entity
      */
     public void sourceCodeUrlBuilder(Library library) {
+        enrichmentMetersService.measure("source-code-url", library, Library::getSourceCodeUrl, () -> buildSourceCodeUrl(library));
+    }
+
+    private void buildSourceCodeUrl(Library library) {
         log.debug("Creating source code URL");
-        if (StringUtils.isBlank(library.getSourceCodeUrl())) {
+        String lookupKey = urlLookupKeyOf(library);
+        if (StringUtils.isBlank(library.getSourceCodeUrl()) && lookupKey != null) {
+            Failure failure = negativeResultCache.getFailure(LookupType.SOURCE_CODE_URL, lookupKey);
+            if (failure != null) {
+                log.debug("Source Code URL lookup skipped after a recent failure ({}) : {}", failure, lookupKey);
+                library.setSourceCodeUrl(failure == Failure.EMPTY ? null : Constants.NO_URL);
+                return;
+            }
             try {
-                if (!StringUtils.isBlank(library.getpUrl())) {
-                    library.setSourceCodeUrl(sourceURLparser.getURL(library.getpUrl()));
-                } else if (library.getType() != null) {
-                    library.setSourceCodeUrl(
-                        sourceURLparser.getURL(
-                            library.getType().getValue(),
-                            library.getNamespace(),
-                            library.getName(),
-                            library.getVersion()
-                        )
-                    );
-                }
+                library.setSourceCodeUrl(
+                    sourceCodeUrlLookups.execute(
+                        lookupKey,
+                        () -> lookupUrl(sourceURLparser, LookupType.SOURCE_CODE_URL, library, lookupKey)
+                    )
+                );
             } catch (GithubRateLimitException e) {
                 log.info(
                     "Github request limit reached. Library : Namespace : {} - Name : {} - Version : {}",
@@ -551,7 +790,7 @@ public class LibraryService {
                     library.getVersion()
                 );
                 library.setSourceCodeUrl(Constants.GITHUB_LIMIT);
-            } catch (IOException | ParseException | ClassCastException | InterruptedException e) {
+            } catch (IOException | ClassCastException | InterruptedException e) {
                 log.info(
                     "Source Code URL not available. Library : Namespace : {} - Name : {} - Version : {}",
                     library.getNamespace(),
@@ -569,21 +808,23 @@ public class LibraryService {
      * @param library Library entity
      */
     public void licenseUrlBuilder(Library library) {
+        enrichmentMetersService.measure("license-url", library, Library::getLicenseUrl, () -> buildLicenseUrl(library));
+    }
+
+    private void buildLicenseUrl(Library library) {
         log.debug("Creating license URL");
-        if (StringUtils.isBlank(library.getLicenseUrl())) {
+        String lookupKey = urlLookupKeyOf(library);
+        if (StringUtils.isBlank(library.getLicenseUrl()) && lookupKey != null) {
+            Failure failure = negativeResultCache.getFailure(LookupType.LICENSE_URL, lookupKey);
+            if (failure != null) {
+                log.debug("License URL lookup skipped after a recent failure ({}) : {}", failure, lookupKey);
+                library.setLicenseUrl(failure == Failure.EMPTY ? null : Constants.NO_URL);
+                return;
+            }
             try {
-                if (!StringUtils.isBlank(library.getpUrl())) {
-                    library.setLicenseUrl(licenseURLparser.getURL(library.getpUrl()));
-                } else if (library.getType() != null) {
-                    library.setLicenseUrl(
-                        licenseURLparser.getURL(
-                            library.getType().getValue(),
-                            library.getNamespace(),
-                            library.getName(),
-                            library.getVersion()
-                        )
-                    );
-                }
+                library.setLicenseUrl(
+                    licenseUrlLookups.execute(lookupKey, () -> lookupUrl(licenseURLparser, LookupType.LICENSE_URL, library, lookupKey))
+                );
             } catch (GithubRateLimitException e) {
                 log.info(
                     "Github request limit reached. Library : Namespace : {} - Name : {} - Version : {}",
@@ -592,7 +833,7 @@ public class LibraryService {
                     library.getVersion()
                 );
                 library.setLicenseUrl(Constants.GITHUB_LIMIT);
-            } catch (IOException | ParseException | ClassCastException | InterruptedException e) {
+            } catch (IOException | ClassCastException | InterruptedException e) {
                 log.info(
                     "License URL not available. Library : Namespace : {} - Name : {} - Version : {}",
                     library.getNamespace(),
@@ -604,6 +845,72 @@ public class LibraryService {
         }
     }
 
+    /**
+     * Looks up an URL of a library with a parser and records the outcome in the {@link NegativeResultCache}.
+     * Concurrent lookups of the same library share one lookup, see {@link SingleFlight}.
+     *
+     * @throws IOException if the URL cannot be looked up or the response of a registry cannot be parsed
+     */
+    private String lookupUrl(URLparser parser, LookupType type, Library library, String lookupKey)
+        throws IOException, InterruptedException {
+        String url;
+        try {
+            url =
+                !StringUtils.isBlank(library.getpUrl())
+                    ? parser.getURL(library.getpUrl())
+                    : parser.getURL(library.getType().getValue(), library.getNamespace(), library.getName(), library.getVersion());
+        } catch (GithubRateLimitException e) {
+            throw e;
+        } catch (IOException | ClassCastException e) {
+            negativeResultCache.recordFailure(type, lookupKey, Failure.of(e));
+            throw e;
+        } catch (ParseException e) {
+            negativeResultCache.recordFailure(type, lookupKey, Failure.ERROR);
+            throw new IOException("Response could not be parsed : " + e, e);
+        }
+
+        if (StringUtils.isBlank(url)) {
+            negativeResultCache.recordFailure(type, lookupKey, Failure.EMPTY);
+        } else {
+            negativeResultCache.recordSuccess(type, lookupKey);
+        }
+        return url;
+    }
+
+    /**
+     * Key of the URL lookups of a library for the {@link NegativeResultCache}: the purl, or the type and coordinates.
+     *
+     * @return the key, or null if the library has neither purl nor type and its URLs cannot be looked up.
+     */
+    private static String urlLookupKeyOf(Library library) {
+        if (!StringUtils.isBlank(library.getpUrl())) {
+            return library.getpUrl().trim();
+        }
+        return library.getType() != null ? library.getType().getValue() + ":" + coordinatesOf(library) : null;
+    }
+
+    /**
+     * Retries the URL lookups of a library which were parked because the GitHub rate limit was reached, and downloads
+     * the license text if a license URL is found. No transaction is held while the external services are called.
+     *
+     * @param library Library entity with {@link Constants#GITHUB_LIMIT} as license or source code URL
+     * @return the persisted entity.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Library retryGithubLookups(Library library) {
+        log.debug("Retrying GitHub lookups of Library : {}", library.getId());
+        if (Constants.GITHUB_LIMIT.equals(library.getSourceCodeUrl())) {
+            library.setSourceCodeUrl(null);
+            sourceCodeUrlBuilder(library);
+        }
+        if (Constants.GITHUB_LIMIT.equals(library.getLicenseUrl())) {
+            library.setLicenseUrl(null);
+            licenseUrlBuilder(library);
+            licenseTextAutocomplete(library);
+        }
+        return libraryRepository.save(library);
+    }
+
     /**
      * Removes the license URL from a Library if it is a generic license URL.
      *
@@ -631,10 +938,15 @@ public class LibraryService {
      * @param library Library entity
      */
     public void licenseTextAutocomplete(Library library) {
+        enrichmentMetersService.measure("license-text", library, Library::getLicenseText, () -> downloadLicenseTexts(library));
+    }
+
+    private void downloadLicenseTexts(Library library) {
         log.debug("Autocomplete of license text");
         if (
             !StringUtils.isBlank(library.getLicenseUrl()) &&
             !library.getLicenseUrl().equals(Constants.NO_URL) &&
+            !library.getLicenseUrl().equals(Constants.GITHUB_LIMIT) &&
             StringUtils.isBlank(library.getLicenseText())
         ) {
             log.info("Downloading license URL(s) : {}", library.getLicenseUrl());
@@ -688,7 +1000,7 @@ public class LibraryService {
             java.io.File index = SourceCodeHelper.getLocalIndexFile();
             String identifier = SourceCodeHelper.checkRepository(index, label);
 
-            //if (identifier != null) archiveInputStream = HttpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
+            //if (identifier != null) archiveInputStream = httpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
 
             if (identifier == null) {
                 if (library.sourceCodeUrlIsValid()) {
@@ -696,19 +1008,19 @@ public class LibraryService {
                         "Library {} is not available in the 3rd-party repository. Trying to download the source code URL from the library.",
                         label
                     );
-                    archiveInputStream = HttpHelper.downloadResource(library.getSourceCodeUrl());
+                    archiveInputStream = httpHelper.downloadResource(library.getSourceCodeUrl());
                 } else {
                     identifier = SourceCodeHelper.checkRepositoryWithFuzzySearch(index, label);
 
                     if (identifier != null) {
                         log.info("The source code archive was found using the fuzzy search : {}", identifier);
 
-                        archiveInputStream = HttpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
+                        archiveInputStream = httpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
                     }
                 }
             } else {
                 log.info("Library {} is available in the 3rd-party repository and will be downloaded from there.", label);
-                archiveInputStream = HttpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
+                archiveInputStream = httpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
             }
         } catch (FileNotFoundException e) {
             log.info("File not found : {}", e.getMessage());
@@ -718,7 +1030,7 @@ public class LibraryService {
 
         /*if (archiveInputStream == null && !StringUtils.isBlank(library.getSourceCodeUrl())) {
             try {
-                archiveInputStream = HttpHelper.downloadResource(library.getSourceCodeUrl());
+                archiveInputStream = httpHelper.downloadResource(library.getSourceCodeUrl());
             } catch (IOException e) {
                 log.info("Source code URL is not valid or cannot be downloaded for Library [ {} ] : {}", library.getId(), e.getMessage());
             }
@@ -766,137 +1078,186 @@ public class LibraryService {
      * @param library Library entity
      */
     public void copyrightAutocomplete(Library library) {
+        enrichmentMetersService.measure("copyright", library, Library::getCopyright, () -> analyseCopyright(library));
+    }
+
+    private void analyseCopyright(Library library) {
         log.debug("Autocomplete of copyright");
         if (StringUtils.isBlank(library.getCopyright())) {
-            InputStream archiveInputStream = null;
             String label = SourceCodeHelper.createLabel(library);
 
+            ArchiveAnalysis analysis;
             try {
-                java.io.File index = SourceCodeHelper.getLocalIndexFile();
-                String identifier = SourceCodeHelper.checkRepository(index, label);
+                // Concurrent analyses of the same library share one download and analysis of the source code archive
+                analysis =
+                    archiveAnalyses.execute(
+                        label + " " + StringUtils.defaultString(library.getSourceCodeUrl()),
+                        () -> analyseArchive(library, label)
+                    );
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("Copyright analysis of library {} was interrupted", label);
+                return;
+            }
 
-                //if (identifier != null) archiveInputStream =
-                //    HttpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
+            if (analysis.fuzzyIdentifier != null) {
+                library.addErrorLog(
+                    "Copyright",
+                    "The source code archive was found using the fuzzy search." +
+                    " The copyright analysis may not be correct and should be checked for validity : " +
+                    analysis.fuzzyIdentifier,
+                    LogSeverity.MEDIUM
+                );
+            }
 
-                if (identifier == null) {
-                    if (library.sourceCodeUrlIsValid()) {
-                        log.info(
-                            "Library {} is not available in the 3rd-party repository. Trying to download the source code URL from the library.",
-                            label
-                        );
-                        archiveInputStream = HttpHelper.downloadResource(library.getSourceCodeUrl());
-                    } else {
-                        identifier = SourceCodeHelper.checkRepositoryWithFuzzySearch(index, label);
+            switch (analysis.outcome) {
+                case NO_ARCHIVE:
+                    if (!StringUtils.isBlank(library.getLicenseText())) {
+                        Set<String> copyrights = CopyrightAnalyser.extractCopyright(library.getLicenseText());
 
-                        if (identifier != null) {
-                            log.info("The source code archive was found using the fuzzy search : {}", identifier);
+                        if (copyrights.size() > 0) {
+                            log.debug("Only the license text was analysed for copyrights for library [ {} ]", library.getId());
                             library.addErrorLog(
                                 "Copyright",
-                                "The source code archive was found using the fuzzy search." +
-                                " The copyright analysis may not be correct and should be checked for validity : " +
-                                identifier,
-                                LogSeverity.MEDIUM
+                                "Only the license text could be analysed. No source code archive was found, therefore possibly not all copyrights were found",
+                                LogSeverity.LOW
+                            );
+                            library.setCopyright(String.join(System.lineSeparator(), copyrights));
+                        } else {
+                            library.setCopyright(Constants.NO_COPYRIGHT);
+                            library.addErrorLog(
+                                "Copyright",
+                                "No copyrights found. No source code archive was found for the analysis and the license text does not contain copyrights",
+                                LogSeverity.HIGH
                             );
-
-                            archiveInputStream = HttpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
                         }
+                        return;
                     }
-                } else {
-                    log.info("Library {} is available in the 3rd-party repository and will be downloaded from there.", label);
-                    archiveInputStream = HttpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
-                }
-            } catch (FileNotFoundException e) {
-                log.info("File not found : {}", e.getMessage());
-            } catch (IOException e) {
-                log.info("Source code archive could not be downloaded from remote platform : {}", e.getMessage());
-            }
 
-            /*            if (archiveInputStream == null && !StringUtils.isBlank(library.getSourceCodeUrl())) {
-                try {
-                    archiveInputStream = HttpHelper.downloadResource(library.getSourceCodeUrl());
-                } catch (IOException e) {
-                    log.info(
-                        "Source code URL is not valid or cannot be downloaded for Library [ {} ] : {}",
-                        library.getId(),
-                        e.getMessage()
+                    library.setCopyright(Constants.NO_COPYRIGHT);
+                    library.addErrorLog(
+                        "Copyright",
+                        "No source code archive or license text could be found for the analysis",
+                        LogSeverity.HIGH
                     );
-                }
-            }*/
-
-            if (archiveInputStream == null) {
-                if (!StringUtils.isBlank(library.getLicenseText())) {
-                    Set<String> copyrights = CopyrightAnalyser.extractCopyright(library.getLicenseText());
-
-                    if (copyrights.size() > 0) {
-                        log.debug("Only the license text was analysed for copyrights for library [ {} ]", library.getId());
-                        library.addErrorLog(
-                            "Copyright",
-                            "Only the license text could be analysed. No source code archive was found, therefore possibly not all copyrights were found",
-                            LogSeverity.LOW
-                        );
-                        library.setCopyright(String.join(System.lineSeparator(), copyrights));
-                    } else {
-                        library.setCopyright(Constants.NO_COPYRIGHT);
-                        library.addErrorLog(
-                            "Copyright",
-                            "No copyrights found. No source code archive was found for the analysis and the license text does not contain copyrights",
-                            LogSeverity.HIGH
-                        );
-                    }
                     return;
-                }
+                case UNSUPPORTED:
+                    library.addErrorLog(
+                        "Copyright",
+                        "Source code archive could not be analysed. Archive type is not supported",
+                        LogSeverity.HIGH
+                    );
+                    library.setCopyright(Constants.NO_COPYRIGHT);
+                    return;
+                case FAILED:
+                    library.addErrorLog("Copyright", "Source code archive could not be analysed. An error occurred", LogSeverity.HIGH);
+                    library.setCopyright(Constants.NO_COPYRIGHT);
+                    return;
+                default:
+                    break;
+            }
 
-                library.setCopyright(Constants.NO_COPYRIGHT);
+            Copyright copyrights = analysis.copyright;
+            if (
+                copyrights.getSimpleCopyright().size() > 0 &&
+                copyrights.getFullCopyright().size() > copyrights.getSimpleCopyright().size() * 2
+            ) {
                 library.addErrorLog(
                     "Copyright",
-                    "No source code archive or license text could be found for the analysis",
-                    LogSeverity.HIGH
+                    "The result between the analysis of all files and the documentation files is too large. The result must be audited manually",
+                    LogSeverity.MEDIUM
                 );
 
-                return;
+                library.setCopyright(String.join("\n", copyrights.getSimpleCopyright()));
+            } else if (copyrights.getSimpleCopyright().size() == 0) {
+                if (copyrights.getFullCopyright().size() > 0) {
+                    library.addErrorLog("Copyright", "Could not find any copyrights in documentation files", LogSeverity.LOW);
+                    library.setCopyright(String.join("\n", copyrights.getFullCopyright()));
+                } else {
+                    library.addErrorLog("Copyright", "No copyrights found", LogSeverity.HIGH);
+                    library.setCopyright(Constants.NO_COPYRIGHT);
+                }
+            } else {
+                library.setCopyright(String.join(System.lineSeparator(), copyrights.getSimpleCopyright()));
             }
+        }
+    }
 
-            try {
-                BufferedInputStream bufferedInputStream = new BufferedInputStream(archiveInputStream);
+    /**
+     * Downloads the source code archive of a library from the 3rd-party repository or the source code URL and analyses it
+     * for copyrights.
+     *
+     * @param library Library entity
+     * @param label   label of the library in the 3rd-party repository
+     * @return the result of the analysis, which is applied to every library waiting for it
+     */
+    private ArchiveAnalysis analyseArchive(Library library, String label) {
+        InputStream archiveInputStream = null;
+        String fuzzyIdentifier = null;
 
-                Copyright copyrights = ArchiveHelper.analyseForCopyright(bufferedInputStream, true);
-                bufferedInputStream.close();
+        try {
+            java.io.File index = SourceCodeHelper.getLocalIndexFile();
+            String identifier = SourceCodeHelper.checkRepository(index, label);
 
-                if (
-                    copyrights.getSimpleCopyright().size() > 0 &&
-                    copyrights.getFullCopyright().size() > copyrights.getSimpleCopyright().size() * 2
-                ) {
-                    library.addErrorLog(
-                        "Copyright",
-                        "The result between the analysis of all files and the documentation files is too large. The result must be audited manually",
-                        LogSeverity.MEDIUM
+            //if (identifier != null) archiveInputStream =
+            //    httpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
+
+            if (identifier == null) {
+                if (library.sourceCodeUrlIsValid()) {
+                    log.info(
+                        "Library {} is not available in the 3rd-party repository. Trying to download the source code URL from the library.",
+                        label
                     );
+                    archiveInputStream = httpHelper.downloadResource(library.getSourceCodeUrl());
+                } else {
+                    identifier = SourceCodeHelper.checkRepositoryWithFuzzySearch(index, label);
+
+                    if (identifier != null) {
+                        log.info("The source code archive was found using the fuzzy search : {}", identifier);
+                        fuzzyIdentifier = identifier;
 
-                    library.setCopyright(String.join("\n", copyrights.getSimpleCopyright()));
-                } else if (copyrights.getSimpleCopyright().size() == 0) {
-                    if (copyrights.getFullCopyright().size() > 0) {
-                        library.addErrorLog("Copyright", "Could not find any copyrights in documentation files", LogSeverity.LOW);
-                        library.setCopyright(String.join("\n", copyrights.getFullCopyright()));
-                    } else {
-                        library.addErrorLog("Copyright", "No copyrights found", LogSeverity.HIGH);
-                        library.setCopyright(Constants.NO_COPYRIGHT);
+                        archiveInputStream = httpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
                     }
-                } else {
-                    library.setCopyright(String.join(System.lineSeparator(), copyrights.getSimpleCopyright()));
                 }
-            } catch (ArchiveException e) {
-                log.info("Archive compression or type is unknown or unsupported : {}", e.getMessage());
-                library.addErrorLog(
-                    "Copyright",
-                    "Source code archive could not be analysed. Archive type is not supported",
-                    LogSeverity.HIGH
-                );
-                library.setCopyright(Constants.NO_COPYRIGHT);
+            } else {
+                log.info("Library {} is available in the 3rd-party repository and will be downloaded from there.", label);
+                archiveInputStream = httpHelper.downloadResource(sourceCodeHelper.getRemoteArchivePath() + identifier);
+            }
+        } catch (FileNotFoundException e) {
+            log.info("File not found : {}", e.getMessage());
+        } catch (IOException e) {
+            log.info("Source code archive could not be downloaded from remote platform : {}", e.getMessage());
+        }
+
+        /*            if (archiveInputStream == null && !StringUtils.isBlank(library.getSourceCodeUrl())) {
+            try {
+                archiveInputStream = httpHelper.downloadResource(library.getSourceCodeUrl());
             } catch (IOException e) {
-                log.error("Input stream cannot be reset : {}", e.getMessage());
-                library.addErrorLog("Copyright", "Source code archive could not be analysed. An error occurred", LogSeverity.HIGH);
-                library.setCopyright(Constants.NO_COPYRIGHT);
+                log.info(
+                    "Source code URL is not valid or cannot be downloaded for Library [ {} ] : {}",
+                    library.getId(),
+                    e.getMessage()
+                );
             }
+        }*/
+
+        if (archiveInputStream == null) {
+            return new ArchiveAnalysis(ArchiveAnalysis.Outcome.NO_ARCHIVE, null, fuzzyIdentifier);
+        }
+
+        try {
+            BufferedInputStream bufferedInputStream = new BufferedInputStream(archiveInputStream);
+
+            Copyright copyrights = ArchiveHelper.analyseForCopyright(bufferedInputStream, true);
+            bufferedInputStream.close();
+
+            return new ArchiveAnalysis(ArchiveAnalysis.Outcome.ANALYSED, copyrights, fuzzyIdentifier);
+        } catch (ArchiveException e) {
+            log.info("Archive compression or type is unknown or unsupported : {}", e.getMessage());
+            return new ArchiveAnalysis(ArchiveAnalysis.Outcome.UNSUPPORTED, null, fuzzyIdentifier);
+        } catch (IOException e) {
+            log.error("Input stream cannot be reset : {}", e.getMessage());
+            return new ArchiveAnalysis(ArchiveAnalysis.Outcome.FAILED, null, fuzzyIdentifier);
         }
     }
 
@@ -1111,4 +1472,27 @@ public class LibraryService {
                 throw new ExportException("Unsupported export format : " + format.getValue());
         }
     }
+
+    /**
+     * Result of the copyright analysis of a source code archive.
+     */
+    private static final class ArchiveAnalysis {
+
+        private enum Outcome {
+            ANALYSED,
+            NO_ARCHIVE,
+            UNSUPPORTED,
+            FAILED,
+        }
+
+        private final Outcome outcome;
+        private final Copyright copyright;
+        private final String fuzzyIdentifier;
+
+        private ArchiveAnalysis(Outcome outcome, Copyright copyright, String fuzzyIdentifier) {
+            this.outcome = outcome;
+            this.copyright = copyright;
+            this.fuzzyIdentifier = fuzzyIdentifier;
+        }
+    }
 }
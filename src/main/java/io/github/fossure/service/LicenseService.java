@@ -13,18 +13,22 @@ import io.github.fossure.service.dto.LicenseSimpleDTO;
 import io.github.fossure.service.exceptions.ExportException;
 import io.github.fossure.service.exceptions.LicenseAlreadyExistException;
 import io.github.fossure.service.exceptions.LicenseException;
-import io.github.fossure.service.helper.net.HttpHelper;
+import io.github.fossure.service.helper.GenericLicenseUrlMatcher;
+import io.github.fossure.service.helper.LicenseCatalog;
+import io.github.fossure.service.helper.LicenseNameMatcher;
+import io.github.fossure.service.helper.expression.LicenseExpression;
+import io.github.fossure.service.helper.expression.LicenseExpressionParser;
+import io.github.fossure.service.helper.net.LicenseTextCache;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
-import org.apache.commons.text.StringEscapeUtils;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
@@ -35,8 +39,6 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +50,9 @@ public class LicenseService {
 
     private final Logger log = LoggerFactory.getLogger(LicenseService.class);
 
+    private static final int LICENSE_NAME_MEMO_SIZE = 10000;
+    private static final int LICENSE_EXPRESSION_MEMO_SIZE = 10000;
+
     private final LicenseRepository licenseRepository;
     private final LicenseNamingMappingRepository licenseNamingMappingRepository;
     private final GenericLicenseUrlRepository genericLicenseUrlRepository;
@@ -55,6 +60,8 @@ public class LicenseService {
     private final LicenseRiskRepository licenseRiskRepository;
     private final LicenseConflictRepository licenseConflictRepository;
     private final LibraryService libraryService;
+    private final LibraryRiskRecomputationService libraryRiskRecomputationService;
+    private final LicenseTextCache licenseTextCache;
 
     private final ObjectMapper objectMapper;
     private final EntityManager entityManager;
@@ -62,6 +69,12 @@ public class LicenseService {
     private License unknownLicense;
     private License nonLicensedLicense;
 
+    private final LicenseExpressionParser licenseExpressionParser = new LicenseExpressionParser(LICENSE_EXPRESSION_MEMO_SIZE);
+
+    private volatile LicenseCatalog licenseCatalog;
+    private volatile LicenseNameMatcher licenseNameMatcher;
+    private volatile GenericLicenseUrlMatcher genericLicenseUrlMatcher;
+
     public LicenseService(
         LicenseRepository licenseRepository,
         LicenseNamingMappingRepository licenseNamingMappingRepository,
@@ -71,7 +84,9 @@ public class LicenseService {
         LicenseConflictRepository licenseConflictRepository,
         ObjectMapper objectMapper,
         EntityManager entityManager,
-        @Lazy LibraryService libraryService
+        @Lazy LibraryService libraryService,
+        @Lazy LibraryRiskRecomputationService libraryRiskRecomputationService,
+        LicenseTextCache licenseTextCache
     ) {
         this.licenseRepository = licenseRepository;
         this.licenseNamingMappingRepository = licenseNamingMappingRepository;
@@ -82,18 +97,8 @@ public class LicenseService {
         this.objectMapper = objectMapper;
         this.entityManager = entityManager;
         this.libraryService = libraryService;
-    }
-
-    /**
-     * Checks if a text is a HTML page. Searches for the &lt;!DOCTYPE&gt; or &lt;html&gt; tag.
-     *
-     * @param text text to check
-     * @return true if it is a HTML page, otherwise false
-     */
-    private static boolean isHTML(String text) {
-        final Pattern pattern = Pattern.compile("<!doctype html(>| [^>]*>)|<html(>| [^>]*>)", Pattern.CASE_INSENSITIVE);
-
-        return pattern.matcher(text).find();
+        this.libraryRiskRecomputationService = libraryRiskRecomputationService;
+        this.licenseTextCache = licenseTextCache;
     }
 
     /**
@@ -104,6 +109,8 @@ public class LicenseService {
      */
     public License save(License license) {
         log.debug("Request to save License : {}", license);
+        invalidateLicenseNameMatcher();
+        invalidateLicenseCatalog();
         return licenseRepository.save(license);
     }
 
@@ -168,6 +175,8 @@ public class LicenseService {
      */
     public Optional<License> partialUpdate(License license) {
         log.debug("Request to partially update License : {}", license);
+        invalidateLicenseNameMatcher();
+        invalidateLicenseCatalog();
 
         return licenseRepository
             .findById(license.getId())
@@ -236,7 +245,8 @@ public class LicenseService {
     }
 
     /**
-     * Save a license. Checks if the license short identifier already exist.
+     * Save a license. Checks if the license short identifier already exist. If an existing license is assigned to another
+     * license risk, the libraries with the license are recomputed after the transaction is committed.
      *
      * @param license the entity to save.
      * @return the persisted entity.
@@ -247,6 +257,8 @@ public class LicenseService {
         If ID is null, license is a new Object
         If ID is not null, license Object gets updated
          */
+        boolean licenseExists = false;
+        Long previousLicenseRiskId = null;
         if (license.getId() == null) {
             Optional<License> optionalLicense = licenseRepository.findOneByShortIdentifier(license.getShortIdentifier());
             if (optionalLicense.isPresent()) {
@@ -278,6 +290,8 @@ public class LicenseService {
 
             if (optionalLicense.isPresent()) {
                 License licenseInDb = optionalLicense.get();
+                licenseExists = true;
+                previousLicenseRiskId = licenseInDb.getLicenseRisk() != null ? licenseInDb.getLicenseRisk().getId() : null;
 
                 if (!licenseInDb.getShortIdentifier().equals(license.getShortIdentifier())) {
                     if (licenseRepository.findOneByShortIdentifier(license.getShortIdentifier()).isPresent()) {
@@ -292,7 +306,37 @@ public class LicenseService {
             //libraryService.reevaluateIncompatibleLicenses(license);
         }
 
-        return licenseRepository.save(license);
+        invalidateLicenseNameMatcher();
+        invalidateLicenseCatalog();
+        License result = licenseRepository.save(license);
+
+        // The licenses to publish and the risk of the libraries with this license depend on its risk
+        Long licenseRiskId = result.getLicenseRisk() != null ? result.getLicenseRisk().getId() : null;
+        if (licenseExists && !Objects.equals(previousLicenseRiskId, licenseRiskId)) {
+            runAfterCommit(() -> libraryRiskRecomputationService.recomputeForLicense(result.getId()));
+        }
+        return result;
+    }
+
+    /**
+     * Update a license risk. If its level changed, the libraries with a license of the risk are recomputed after the
+     * transaction is committed.
+     *
+     * @param licenseRisk the entity to update.
+     * @return the persisted entity.
+     */
+    public LicenseRisk updateLicenseRisk(LicenseRisk licenseRisk) {
+        log.debug("Request to update LicenseRisk : {}", licenseRisk);
+        Integer previousLevel = licenseRiskRepository.findById(licenseRisk.getId()).map(LicenseRisk::getLevel).orElse(null);
+
+        invalidateLicenseCatalog();
+        LicenseRisk result = licenseRiskRepository.save(licenseRisk);
+
+        if (!Objects.equals(previousLevel, result.getLevel())) {
+            log.debug("Level of LicenseRisk {} changed from {} to {}", result.getId(), previousLevel, result.getLevel());
+            runAfterCommit(() -> libraryRiskRecomputationService.recomputeForLicenseRisk(result.getId()));
+        }
+        return result;
     }
 
     /**
@@ -304,6 +348,8 @@ public class LicenseService {
         log.debug("Request to delete License : {}", id);
         licenseConflictRepository.deleteByLicenseId(id);
         licenseRepository.deleteById(id);
+        invalidateLicenseNameMatcher();
+        invalidateLicenseCatalog();
     }
 
     /**
@@ -343,7 +389,8 @@ public class LicenseService {
     /**
      * Get one license entity by a license name.
      * Maps the license name to a unique shortIdentifier to get the correct license entity.
-     * {@link LicenseNamingMapping} Entity contains all mappings.
+     * {@link LicenseNamingMapping} Entity contains all mappings. The mappings are compiled once and the resolved license of
+     * every name is memoized, see {@link LicenseNameMatcher}. The license is read from the {@link LicenseCatalog}.
      *
      * @param license name
      * @return The concrete license entity if it could be found.
@@ -355,27 +402,128 @@ public class LicenseService {
         log.debug("Request to get License by license name : {}", license);
 
         if (license.isEmpty() || license.equals("-")) return nonLicensedLicense;
-        List<LicenseNamingMapping> licenseNamingMappingList = licenseNamingMappingRepository.findAll();
+        LicenseNameMatcher matcher = getLicenseNameMatcher();
+        LicenseCatalog catalog = getLicenseCatalog();
 
-        for (LicenseNamingMapping mapping : licenseNamingMappingList) {
-            String pattern = mapping.getRegex();
-            String uniformShortIdentifier = mapping.getUniformShortIdentifier();
-            String shortIdentifierReplaced = license.replaceAll(pattern, uniformShortIdentifier);
+        Long licenseId = matcher.getLicenseId(license);
+        if (licenseId != null) {
+            Optional<License> optionalLicense = catalog.findOne(licenseId);
+            if (optionalLicense.isPresent()) {
+                return optionalLicense.get();
+            }
+        }
+
+        License result = catalog.findOneByShortIdentifier(matcher.match(license)).orElse(unknownLicense);
+        if (result != null && result.getId() != null) {
+            matcher.putLicenseId(license, result.getId());
+        }
+        return result;
+    }
+
+    /**
+     * Get the matcher with the compiled license naming mappings. It is built from the database on first use after an
+     * invalidation.
+     */
+    private LicenseNameMatcher getLicenseNameMatcher() {
+        LicenseNameMatcher matcher = licenseNameMatcher;
+        if (matcher == null) {
+            synchronized (this) {
+                matcher = licenseNameMatcher;
+                if (matcher == null) {
+                    matcher = new LicenseNameMatcher(licenseNamingMappingRepository.findAll(Sort.by("id")), LICENSE_NAME_MEMO_SIZE);
+                    log.debug("Compiled {} license naming mappings", matcher.size());
+                    licenseNameMatcher = matcher;
+                }
+            }
+        }
+        return matcher;
+    }
 
-            if (shortIdentifierReplaced.equals(uniformShortIdentifier)) {
-                license = shortIdentifierReplaced;
-                break;
+    /**
+     * Get the snapshot of all licenses with their risk and requirements. It is built from the database on first use after
+     * an invalidation.
+     *
+     * @return the license catalog.
+     */
+    @Transactional(readOnly = true)
+    public LicenseCatalog getLicenseCatalog() {
+        LicenseCatalog catalog = licenseCatalog;
+        if (catalog == null) {
+            synchronized (this) {
+                catalog = licenseCatalog;
+                if (catalog == null) {
+                    catalog = new LicenseCatalog(licenseRepository.findAllWithEagerRelationships(), licenseRiskRepository.findAll());
+                    log.debug("Loaded {} licenses into the license catalog", catalog.size());
+                    licenseCatalog = catalog;
+                }
             }
         }
+        return catalog;
+    }
+
+    /**
+     * Discard the license catalog. Must be called when a license, license risk or requirement is created, updated or
+     * deleted. Within a transaction the catalog is discarded again when the transaction completes, so that a catalog which
+     * was built from the uncommitted state in the meantime is not kept.
+     */
+    public void invalidateLicenseCatalog() {
+        discardNowAndAfterCompletion(this::discardLicenseCatalog);
+    }
+
+    private synchronized void discardLicenseCatalog() {
+        licenseCatalog = null;
+    }
 
-        Optional<License> optionalLicense = licenseRepository.findOneByShortIdentifier(license);
-        return optionalLicense.orElse(unknownLicense);
+    /**
+     * Discard the compiled license naming mappings and the memoized licenses. Must be called when a license naming
+     * mapping or a license is created, updated or deleted. Within a transaction the matcher is discarded again when the
+     * transaction completes, like the license catalog.
+     */
+    public void invalidateLicenseNameMatcher() {
+        discardNowAndAfterCompletion(this::discardLicenseNameMatcher);
+    }
+
+    private synchronized void discardLicenseNameMatcher() {
+        licenseNameMatcher = null;
+    }
+
+    private static void discardNowAndAfterCompletion(Runnable discard) {
+        discard.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        discard.run();
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Run an action once the current transaction is committed, or right away without a transaction. Background work
+     * which reads the changed entities must not start before they are visible to other transactions.
+     */
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
     }
 
     /**
      * Get a set of license(s) by a string that contains different licenses.
-     * String can contain connections between licenses.
-     * Possible connections (case insensitive): "/", "+", "or", "and"
+     * String can be a license expression, see {@link LicenseExpressionParser}.
      *
      * @param license name(s) of a library
      * @return a Set of License entities
@@ -383,89 +531,134 @@ public class LicenseService {
     @Transactional(readOnly = true)
     public Set<License> findShortIdentifier(String license) {
         log.debug("Request to get License(s) by license name : {}", license);
-        String splitRegex = "/|\\s\\+\\s|\\s[oO][rR]\\s|\\s[aA][nN][dD]\\s";
-
-        license = license.trim();
-        String[] identifiers;
-        identifiers = license.split(splitRegex);
-
-        if (identifiers.length == 0) {
-            identifiers = new String[] { license };
-        }
 
-        return Arrays.stream(identifiers).map(String::trim).map(this::findOneShortIdentifier).collect(Collectors.toSet());
+        return licenseExpressionParser
+            .parse(license)
+            .getReferences()
+            .stream()
+            .map(LicenseExpression.Reference::getText)
+            .map(this::findOneShortIdentifier)
+            .collect(Collectors.toSet());
     }
 
+    /**
+     * Get the linked licenses of a license expression. The licenses are in the order of the expression, and each license
+     * is linked to the next one by the operator which connects both in the expression.
+     *
+     * @param license the license expression of a library.
+     * @return the linked licenses.
+     */
     public SortedSet<LicensePerLibrary> findLicenseWithLinking(String license) {
         log.debug("Request to get linked license(s) by license : {}", license);
 
-        license = license.trim();
-        String[] identifiers;
-        identifiers = license.split(Constants.LICENSE_SPLIT_REGEX);
+        LicenseExpression expression = licenseExpressionParser.parse(license);
+        List<LicenseExpression.Reference> references = expression.getReferences();
+        List<LinkType> linkTypes = expression.getLinkTypes();
 
         SortedSet<LicensePerLibrary> linkedLicenses = new TreeSet<>();
-        int orderIdCounter = 0;
-
-        // Counter for elements. Even value equals license. Odd value equals link type
-        int counter = 0;
-        LicensePerLibrary lastLinkedLicense = null;
-        for (String identifier : identifiers) {
-            if (counter % 2 == 0) {
-                lastLinkedLicense = new LicensePerLibrary();
-                lastLinkedLicense.setLicense(findOneShortIdentifier(identifier.trim()));
-                lastLinkedLicense.setOrderId(orderIdCounter);
-                orderIdCounter++;
-            } else {
-                lastLinkedLicense.setLinkType(LinkType.getLinkType(identifier.trim()));
+        for (int i = 0; i < references.size(); i++) {
+            LicensePerLibrary linkedLicense = new LicensePerLibrary();
+            linkedLicense.setLicense(findOneShortIdentifier(references.get(i).getText()));
+            linkedLicense.setOrderId(i);
+            if (i < linkTypes.size()) {
+                linkedLicense.setLinkType(linkTypes.get(i));
             }
-
-            linkedLicenses.add(lastLinkedLicense);
-            counter++;
+            linkedLicenses.add(linkedLicense);
         }
 
         return linkedLicenses;
     }
 
+    /**
+     * Get the licenses to publish of linked licenses. The linked licenses don't keep the parentheses of the license
+     * expression, so they are evaluated like before license expressions were parsed and the stored licenses to publish
+     * don't change, see {@link LicenseExpression#ofLegacyLinkedLicenses(List, List)}.
+     *
+     * @param license the linked licenses.
+     * @return the licenses to publish.
+     */
     public Set<License> findLicenseToPublish(SortedSet<LicensePerLibrary> license) {
-        Stack<License> licenses = new Stack<>();
-
-        LinkType lastLinkType = LinkType.AND;
+        List<String> identifiers = new ArrayList<>(license.size());
+        List<LinkType> linkTypes = new ArrayList<>(license.size());
         for (LicensePerLibrary linkedLicense : license) {
-            if (licenses.empty()) {
-                licenses.add(linkedLicense.getLicense());
-            } else {
-                if (lastLinkType == null) {
-                    break;
-                }
-                switch (lastLinkType) {
-                    case OR:
-                        // If Unknown or Non-licensed license then add it always
-                        if (linkedLicense.getLicense().equals(unknownLicense) || linkedLicense.getLicense().equals(nonLicensedLicense)) {
-                            licenses.pop();
-                            licenses.push(linkedLicense.getLicense());
-                            break;
-                        }
+            identifiers.add(linkedLicense.getLicense().getShortIdentifier());
+            linkTypes.add(linkedLicense.getLinkType());
+        }
 
-                        License licenseTop = licenses.peek();
+        LicenseExpression expression = LicenseExpression.ofLegacyLinkedLicenses(identifiers, linkTypes);
+        if (expression == null) {
+            return new HashSet<>();
+        }
+        return findLicenseToPublish(expression, license.stream().map(LicensePerLibrary::getLicense).iterator());
+    }
 
-                        // Remove license on top if the next license has a lower risk and license on top is not
-                        if (
-                            linkedLicense.getLicense().getLicenseRisk().getLevel() < licenseTop.getLicenseRisk().getLevel() &&
-                            (!licenseTop.equals(unknownLicense) && !licenseTop.equals(nonLicensedLicense))
-                        ) {
-                            licenses.pop();
-                            licenses.push(linkedLicense.getLicense());
-                        }
-                        break;
-                    case AND:
-                        licenses.push(linkedLicense.getLicense());
-                        break;
-                }
+    /**
+     * Get the licenses to publish of linked licenses, using the parentheses of the original license expression. The
+     * expression is only used if it links as many licenses in the same way as the linked licenses, otherwise the linked
+     * licenses are evaluated on their own.
+     *
+     * @param originalLicense the license expression the linked licenses were built from.
+     * @param license the linked licenses.
+     * @return the licenses to publish.
+     */
+    public Set<License> findLicenseToPublish(String originalLicense, SortedSet<LicensePerLibrary> license) {
+        LicenseExpression expression = licenseExpressionParser.parse(originalLicense);
+
+        List<LinkType> linkTypes = license.stream().map(LicensePerLibrary::getLinkType).collect(Collectors.toList());
+        if (
+            expression.getReferences().size() != license.size() ||
+            !expression.getLinkTypes().equals(linkTypes.subList(0, Math.max(linkTypes.size() - 1, 0)))
+        ) {
+            return findLicenseToPublish(license);
+        }
+        return findLicenseToPublish(expression, license.stream().map(LicensePerLibrary::getLicense).iterator());
+    }
+
+    /**
+     * Evaluate an expression. AND takes the licenses of all operands. OR takes the operand with the lowest risk, but
+     * always an operand with an "Unknown" or "Non-Licensed" license, as its risk can't be judged.
+     *
+     * @param expression the license expression.
+     * @param licenses the licenses of the references of the expression, in the same order.
+     */
+    private Set<License> findLicenseToPublish(LicenseExpression expression, Iterator<License> licenses) {
+        if (expression instanceof LicenseExpression.Reference) {
+            Set<License> result = new HashSet<>();
+            result.add(licenses.next());
+            return result;
+        }
+
+        LicenseExpression.Compound compound = (LicenseExpression.Compound) expression;
+        Set<License> result = null;
+        for (LicenseExpression operand : compound.getOperands()) {
+            Set<License> operandLicenses = findLicenseToPublish(operand, licenses);
+            if (result == null) {
+                result = operandLicenses;
+            } else if (compound.getLinkType() == LinkType.AND) {
+                result.addAll(operandLicenses);
+            } else if (
+                containsUnidentifiedLicense(operandLicenses) ||
+                (!containsUnidentifiedLicense(result) && highestRiskLevel(operandLicenses) < highestRiskLevel(result))
+            ) {
+                result = operandLicenses;
             }
-            lastLinkType = linkedLicense.getLinkType();
         }
+        return result;
+    }
 
-        return new HashSet<>(licenses);
+    private boolean containsUnidentifiedLicense(Set<License> licenses) {
+        return licenses.contains(unknownLicense) || licenses.contains(nonLicensedLicense);
+    }
+
+    private static int highestRiskLevel(Set<License> licenses) {
+        int highestLevel = Integer.MIN_VALUE;
+        for (License license : licenses) {
+            if (license.getLicenseRisk() == null || license.getLicenseRisk().getLevel() == null) {
+                return Integer.MAX_VALUE;
+            }
+            highestLevel = Math.max(highestLevel, license.getLicenseRisk().getLevel());
+        }
+        return highestLevel;
     }
 
     /**
@@ -477,19 +670,41 @@ public class LicenseService {
     public boolean isGenericLicenseUrl(String url) {
         log.debug("Checking if URL is generic license URL : {}", url);
 
-        if (url != null && !url.isEmpty()) {
-            for (GenericLicenseUrl genericLicenseUrl : genericLicenseUrlRepository.findAll()) {
-                Pattern genericPattern = Pattern.compile(genericLicenseUrl.getUrl());
-                Matcher genericMatcher = genericPattern.matcher(url);
+        if (url != null && !url.isEmpty() && getGenericLicenseUrlMatcher().matches(url)) {
+            log.debug("Found generic license URL : {}", url);
+            return true;
+        }
+
+        return false;
+    }
 
-                if (genericMatcher.find()) {
-                    log.debug("Found generic license URL : {}", url);
-                    return true;
+    /**
+     * Get the matcher with the compiled generic license URLs. It is built from the database on first use after an
+     * invalidation.
+     */
+    private GenericLicenseUrlMatcher getGenericLicenseUrlMatcher() {
+        GenericLicenseUrlMatcher matcher = genericLicenseUrlMatcher;
+        if (matcher == null) {
+            synchronized (this) {
+                matcher = genericLicenseUrlMatcher;
+                if (matcher == null) {
+                    matcher =
+                        new GenericLicenseUrlMatcher(
+                            genericLicenseUrlRepository.findAll().stream().map(GenericLicenseUrl::getUrl).collect(Collectors.toList())
+                        );
+                    log.debug("Compiled {} generic license URLs", matcher.size());
+                    genericLicenseUrlMatcher = matcher;
                 }
             }
         }
+        return matcher;
+    }
 
-        return false;
+    /**
+     * Discard the compiled generic license URLs. Must be called when a generic license URL is created, updated or deleted.
+     */
+    public synchronized void invalidateGenericLicenseUrlMatcher() {
+        genericLicenseUrlMatcher = null;
     }
 
     /**
@@ -516,7 +731,7 @@ public class LicenseService {
     }
 
     /**
-     * Downloads the HTML page from an URL.
+     * Downloads the HTML page from an URL. The page is read from the license text cache if possible.
      *
      * @param url URL to the HTML page
      * @return Body of the HTML page
@@ -527,19 +742,7 @@ public class LicenseService {
     public String downloadLicenseText(String url) throws URISyntaxException, IOException, InterruptedException {
         log.debug("Downloading URL : {}", url);
 
-        if (url.contains("github.com") && url.contains("/blob/")) {
-            url = url.replace("github.com", "raw.githubusercontent.com").replace("raw.raw.", "raw.").replace("/blob/", "/");
-        }
-
-        String licenseText = HttpHelper.httpGetRequest(url).body();
-
-        if (!isHTML(licenseText)) {
-            licenseText = "<pre>\n" + StringEscapeUtils.escapeHtml4(licenseText.stripTrailing()) + "\n</pre>";
-        }
-
-        Document document = Jsoup.parse(licenseText);
-
-        return document.body().html();
+        return licenseTextCache.getLicenseText(url);
     }
 
     public boolean unidentifiedLicense(SortedSet<LicensePerLibrary> licenses) {
@@ -603,6 +806,19 @@ public class LicenseService {
         }
     }
 
+    /**
+     * Creates the missing license conflicts between all licenses with a single set-based statement. Used after an import
+     * of licenses instead of creating the license conflicts for every imported license.
+     *
+     * @return the number of created license conflicts.
+     */
+    public int createMissingLicenseConflicts() {
+        log.debug("Create missing LicenseConflicts between all licenses");
+        licenseRepository.flush();
+
+        return licenseConflictRepository.insertMissingLicenseConflicts();
+    }
+
     public boolean checkForLicenseIncompatibility(List<License> licenses) {
         Optional<LicenseConflict> licenseConflict = licenseConflictRepository.findIncompatibleLicenseConflict(
             licenses.get(0).getId(),
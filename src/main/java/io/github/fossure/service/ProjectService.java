@@ -1,6 +1,5 @@
 package io.github.fossure.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.fossure.config.ApplicationProperties;
 import io.github.fossure.config.Constants;
@@ -13,18 +12,15 @@ import io.github.fossure.domain.statistics.CountOccurrences;
 import io.github.fossure.domain.statistics.ProjectOverview;
 import io.github.fossure.domain.statistics.ProjectStatistic;
 import io.github.fossure.domain.statistics.Series;
-import io.github.fossure.repository.LicenseRiskRepository;
 import io.github.fossure.repository.ProjectRepository;
 import io.github.fossure.repository.RequirementRepository;
 import io.github.fossure.repository.UserRepository;
 import io.github.fossure.service.exceptions.*;
 import io.github.fossure.service.helper.LicenseZipHelper;
 import io.github.fossure.service.helper.OssListHelper;
+import io.github.fossure.service.helper.UploadFileHelper;
 import io.github.fossure.service.helper.net.HttpHelper;
 import io.github.fossure.service.helper.sourceCode.SourceCodeHelper;
-import io.github.fossure.service.pipeline.MavenLicenseStep;
-import io.github.fossure.service.pipeline.NpmLicenseStep;
-import io.github.fossure.service.pipeline.Pipeline;
 import io.github.fossure.service.upload.*;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
@@ -36,10 +32,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.ResourceUtils;
 
 import javax.persistence.EntityManager;
+import java.io.BufferedInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -48,6 +48,7 @@ import java.net.URISyntaxException;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -56,7 +57,6 @@ import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Service implementation for managing {@link Project}.
@@ -75,9 +75,13 @@ public class ProjectService {
 
     private final LibraryService libraryService;
 
+    private final LibraryEnrichmentService libraryEnrichmentService;
+
+    private final UploadJobService uploadJobService;
+
     private final RequirementRepository requirementRepository;
 
-    private final LicenseRiskRepository licenseRiskRepository;
+    private final LicenseService licenseService;
 
     private final UserRepository userRepository;
 
@@ -85,33 +89,50 @@ public class ProjectService {
 
     private final EntityManager entityManager;
 
+    private final TransactionTemplate transactionTemplate;
+
+    private final SourceCodeHelper sourceCodeHelper;
+
+    private final HttpHelper httpHelper;
+
     private final AssetManager<Library> assetManager;
 
     public ProjectService(
         ProjectRepository projectRepository,
         DependencyService dependencyService,
         RequirementRepository requirementRepository,
-        LicenseRiskRepository licenseRiskRepository,
+        LicenseService licenseService,
         LibraryService libraryService,
+        LibraryEnrichmentService libraryEnrichmentService,
+        UploadJobService uploadJobService,
         ObjectMapper objectMapper,
         UserRepository userRepository,
         EntityManager entityManager,
-        ApplicationProperties applicationProperties
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        SourceCodeHelper sourceCodeHelper,
+        HttpHelper httpHelper
     ) {
         this.projectRepository = projectRepository;
         this.dependencyService = dependencyService;
         this.libraryService = libraryService;
+        this.libraryEnrichmentService = libraryEnrichmentService;
+        this.uploadJobService = uploadJobService;
         this.requirementRepository = requirementRepository;
-        this.licenseRiskRepository = licenseRiskRepository;
+        this.licenseService = licenseService;
         this.userRepository = userRepository;
         this.entityManager = entityManager;
         this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sourceCodeHelper = sourceCodeHelper;
+        this.httpHelper = httpHelper;
 
         assetManager = new AssetManager<>();
 
         AssetLoader<Library> bomLoader = new BomLoader();
         AssetLoader<Library> csvLoader = new LibraryCsvLoader();
-        AssetLoader<Library> archiveLoader = new ArchiveLoader(libraryService);
+        AssetLoader<Library> archiveLoader = new ArchiveLoader(libraryService, httpHelper);
+        AssetLoader<Library> jsonLoader = new CycloneDxJsonLoader(objectMapper);
 
         assetManager.addLoader(bomLoader, "text/xml");
         assetManager.addLoader(bomLoader, "application/xml");
@@ -123,18 +144,8 @@ public class ProjectService {
         assetManager.addLoader(archiveLoader, "application/java-archive");
         assetManager.addLoader(archiveLoader, "application/x-tar");
         assetManager.addLoader(archiveLoader, "application/octet-stream");
-        assetManager.addLoader(
-            file -> {
-                try {
-                    return objectMapper.readValue(file.getFile(), new TypeReference<>() {
-                    });
-                } catch (IOException e) {
-                    log.error("Error while parsing JSON file : {}", e.getMessage());
-                    throw new UploadException("JSON file can't be read");
-                }
-            },
-            "application/json"
-        );
+        assetManager.addLoader(jsonLoader, "application/json");
+        assetManager.addLoader(jsonLoader, "application/vnd.cyclonedx+json");
     }
 
     /**
@@ -715,17 +726,16 @@ public class ProjectService {
      * @return an ordered map of license risk name and number of libraries.
      */
     public List<CountOccurrences> getProjectRisk(List<Library> libraries) {
-        List<CountOccurrences> risks = new ArrayList<>(8);
+        Map<Long, Long> librariesPerRisk = libraries
+            .stream()
+            .map(library -> library.getLicenseRisk(library.getLicenseToPublishes()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.groupingBy(LicenseRisk::getId, Collectors.counting()));
 
-        licenseRiskRepository
-            .findAll()
-            .forEach(risk -> {
-                long riskCount = libraries
-                    .stream()
-                    .filter(library -> library.getLicenseRisk(library.getLicenseToPublishes()).getId().equals(risk.getId()))
-                    .count();
-                risks.add(new CountOccurrences(risk.getName(), riskCount));
-            });
+        List<CountOccurrences> risks = new ArrayList<>(8);
+        for (LicenseRisk risk : licenseService.getLicenseCatalog().getRisks()) {
+            risks.add(new CountOccurrences(risk.getName(), librariesPerRisk.getOrDefault(risk.getId(), 0L)));
+        }
 
         return risks;
     }
@@ -817,7 +827,7 @@ public class ProjectService {
 
         //Downloads the up-to-date index.csv file of the remote 3rd-party repository, throws a RemoteRepositoryException if the file is not available
         try {
-            HttpHelper.downloadResource(remoteIndexFilePath, localIndexFile);
+            httpHelper.downloadResource(remoteIndexFilePath, localIndexFile);
         } catch (IOException e) {
             archiveLog.error("Could not download index.csv file from {} : {}", remoteIndexFilePath, e.getMessage());
             throw new RemoteRepositoryException("Could not access the remote repository.");
@@ -855,7 +865,7 @@ public class ProjectService {
                             "Library {} is not available in the 3rd-party repository. Trying to download the source code URL from the library.",
                             label
                         );
-                        SourceCodeHelper.updateRepository(label, library, localIndexFile, localArchivePath, remoteArchivePath);
+                        sourceCodeHelper.updateRepository(label, library, localIndexFile, localArchivePath, remoteArchivePath);
                     } else {
                         identifier = SourceCodeHelper.checkRepositoryWithFuzzySearch(localIndexFile, label);
 
@@ -870,13 +880,13 @@ public class ProjectService {
                             );
 
                             var libraryPackage = new java.io.File(localArchivePath + identifier);
-                            HttpHelper.downloadResource(remoteArchivePath + identifier, libraryPackage);
+                            httpHelper.downloadResource(remoteArchivePath + identifier, libraryPackage);
                         }
                     }
                 } else {
                     archiveLog.info("Library {} is available in the 3rd-party repository and will be downloaded from there.", label);
                     var libraryPackage = new java.io.File(localArchivePath + identifier);
-                    HttpHelper.downloadResource(remoteArchivePath + identifier, libraryPackage);
+                    httpHelper.downloadResource(remoteArchivePath + identifier, libraryPackage);
                 }
             } catch (IOException e) {
                 complete = false;
@@ -888,7 +898,7 @@ public class ProjectService {
         //remoteIndexPath
         //remoteIndexFile
         try {
-            HttpHelper.transferToTarget(remoteIndexPath, Files.readAllBytes(localIndexFile.toPath()), remoteIndexFileName);
+            httpHelper.transferToTarget(remoteIndexPath, Files.readAllBytes(localIndexFile.toPath()), remoteIndexFileName);
         } catch (IOException e) {
             archiveLog.error("Could not upload index.csv file to {} : {}", remoteIndexFilePath, e.getMessage());
             throw new RemoteRepositoryException("Could not access the remote repository.");
@@ -914,7 +924,7 @@ public class ProjectService {
             //Uploads the zip file, throws an UploadException if it fails
             //Adds an empty file to the Return-Map
             try {
-                HttpHelper.transferZipToTargetWithCredentials(uploadPlatformURL, uploadUser, uploadPassword, zipFile);
+                httpHelper.transferZipToTargetWithCredentials(uploadPlatformURL, uploadUser, uploadPassword, zipFile);
                 returnMap.put(new File(archiveName + ".zip", new byte[0], "N/A"), complete);
             } catch (IOException e) {
                 archiveLog.error("Could not upload zip file {}.zip to platform {} : {}", archiveName, uploadPlatformURL, e.getMessage());
@@ -993,218 +1003,368 @@ public class ProjectService {
     }
 
     /**
-     * Processing of an SBOM for a project. Based on the SBOM format the AssetManager recognizes which loader has to be
-     * selected. The loaders are registered individually in the constructor. If the SBOM contains duplicates, then these
-     * are added only once. Likewise, the components, which are already contained in the project (delete=false) are
-     * checked, so that no renewed adding takes place.
+     * Creates a new {@link UploadJob} for an upload to a project and marks the project as processing.
      *
-     * @param project Project entity.
-     * @param upload  {@link Upload} object with SBOM.
-     * @param delete  True if already existing components should be deleted from the project, otherwise components from
-     *                the upload will be added to the previous list.
-     * @throws UploadException If the project cannot be found or errors occur when processing the Upload.
+     * @param project   Project entity.
+     * @param uploadJob The job with the source of the upload.
+     * @return the persisted job.
+     */
+    public UploadJob createUploadJob(Project project, UploadJob uploadJob) {
+        log.debug("Request to create UploadJob for Project : {}", project.getId());
+        project.setUploadState(UploadState.PROCESSING);
+        saveAndFlush(project);
+
+        return uploadJobService.save(uploadJob.project(project).phase(UploadJobPhase.PENDING));
+    }
+
+    /**
+     * Processing of an upload job with a spooled file as a background job. The file is read as a stream and deleted
+     * after the job is completed or failed. If the application stops during the processing, the file is kept, so the
+     * job can be resumed on startup.
+     *
+     * @param project   Project entity.
+     * @param uploadJob The job with the spooled file.
+     * @throws UploadException If the spooled file can't be read or errors occur when processing the Upload.
      */
     @Async
-    @Transactional
-    public void processUpload(Project project, Upload upload, boolean delete) throws UploadException {
-        log.info("Start processing upload for Project : {}", project.getId());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void processUploadJob(Project project, UploadJob uploadJob) throws UploadException {
+        log.info("Start processing upload job {} for Project : {}", uploadJob.getId(), project.getId());
 
-        try {
-            Set<Library> libraries = assetManager.load(upload.getFile(), upload.getFile().getFileContentType());
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(Path.of(uploadJob.getSourceFile())))) {
+            Upload upload = new Upload();
+            upload.setFile(new File(uploadJob.getFileName(), inputStream, uploadJob.getFileContentType()));
 
-            if (libraries != null) {
-                if (delete) {
-                    dependencyService.deleteByProjectAndNotAddedManually(project.getId());
+            if (uploadJob.getAdditionalLibrariesFile() != null) {
+                byte[] additionalLibraries = Files.readAllBytes(Path.of(uploadJob.getAdditionalLibrariesFile()));
+                upload.setAdditionalLibraries(new File("AdditionalLibraries", additionalLibraries, Constants.MIME_CSV));
+            }
+
+            processUpload(project, upload, uploadJob);
+        } catch (IOException e) {
+            failUploadJob(project, uploadJob, "Cannot read uploaded file : " + e.getMessage());
+            throw new UploadException("Cannot read uploaded file : " + e.getMessage());
+        } finally {
+            if (!uploadJob.getPhase().isUnfinished()) {
+                UploadFileHelper.deleteTempFile(Path.of(uploadJob.getSourceFile()));
+                if (uploadJob.getAdditionalLibrariesFile() != null) {
+                    UploadFileHelper.deleteTempFile(Path.of(uploadJob.getAdditionalLibrariesFile()));
                 }
+            }
+        }
+    }
+
+    /**
+     * Processing of an upload by URL as a background job. The file is downloaded with a single GET request and the body
+     * is streamed directly into the matching loader. The download is aborted as soon as the size exceeds the upload
+     * limit. Errors are reported with the upload job and the upload state of the project.
+     *
+     * @param project     Project entity
+     * @param uploadJob   The job of the upload
+     * @param url         URL to a file
+     * @param credentials Optional credentials for a basic authentication
+     * @throws UploadException if the file can't be downloaded, exceeds the upload limit or can't be processed.
+     */
+    @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void processUploadByUrl(Project project, UploadJob uploadJob, String url, BasicAuthentication credentials)
+        throws UploadException {
+        log.info("Start processing upload by URL for Project : {}", project.getId());
 
-                Stream<Library> libraryStream = libraries.stream();
+        int uploadLimit = applicationProperties.getUpload().getLimit();
 
-                if (!StringUtils.isBlank(project.getUploadFilter())) {
-                    for (String line : project.getUploadFilter().split("\n")) {
-                        if (!StringUtils.isBlank(line)) {
-                            libraryStream =
-                                libraryStream.filter(library ->
-                                    !(Pattern.matches(line, library.getNamespace()) || Pattern.matches(line, library.getName()))
-                                );
-                        }
-                    }
+        try {
+            HttpResponse<InputStream> response = httpHelper.httpGetStreamRequest(
+                url,
+                credentials.getUsername(),
+                credentials.getPassword()
+            );
+
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                    log.error("Response code is not 200. Wrong url, credentials or another access problem.");
+                    throw new UploadException("File cannot be accessed.");
                 }
 
-                AtomicInteger libraryCounter = new AtomicInteger(0);
+                OptionalLong contentLength = response.headers().firstValueAsLong("Content-Length");
+                if (contentLength.isPresent() && contentLength.getAsLong() > UploadFileHelper.toBytes(uploadLimit)) {
+                    log.error("File size is too large. Maximum upload limit: {} MB", uploadLimit);
+                    throw new UploadException("File size is too large. Maximum upload limit: " + uploadLimit + " MB");
+                }
 
-                libraryStream.forEach(library -> {
-                    log.info(
-                        "[{}] Processing library for project {} : {} - {} - {}",
-                        libraryCounter.get(),
-                        project.getId(),
-                        library.getNamespace(),
-                        library.getName(),
-                        library.getVersion()
+                String contentType = response
+                    .headers()
+                    .firstValue("Content-Type")
+                    .orElseThrow(() ->
+                        new UploadException(
+                            "Undefined content type. For the subsequent processing the 'Content-Type' HTTP header is necessary."
+                        )
                     );
-                    libraryCounter.incrementAndGet();
 
-                    try {
-                        if (library.getLastReviewedBy() != null) {
-                            Optional<User> optionalUser = userRepository.findOneByLogin(library.getLastReviewedBy().getLogin());
-                            optionalUser.ifPresent(library::setLastReviewedBy);
-                        }
+                Upload upload = new Upload();
+                InputStream limitedBody = new BufferedInputStream(UploadFileHelper.limitStream(body, uploadLimit));
+                upload.setFile(new File("Upload", limitedBody, contentType));
 
-                        library = libraryService.saveWithCheck(library);
-                    } catch (LibraryException e) {
-                        Library dbLibrary = e.getLibrary();
-                        dbLibrary.updateEmptyFields(library);
-
-                        library = new Pipeline<>(new MavenLicenseStep()).pipe(new NpmLicenseStep()).execute(library);
-                        libraryService.licenseAutocomplete(dbLibrary);
-                        //libraryService.hasIncompatibleLicenses(library);
-                        libraryService.removeGenericLicenseUrl(dbLibrary);
-                        libraryService.urlAutocomplete(dbLibrary);
-                        libraryService.licenseTextAutocomplete(library);
-                        libraryService.copyrightAutocomplete(dbLibrary);
-                        libraryService.calculateLibraryRisk(library);
-                        library = libraryService.save(dbLibrary);
-                    }
+                processUpload(project, upload, uploadJob.fileName("Upload").fileContentType(contentType));
+            }
+        } catch (UploadException e) {
+            if (uploadJob.getPhase().isUnfinished()) failUploadJob(project, uploadJob, e.getMessage());
+            throw e;
+        } catch (NumberFormatException e) {
+            failUploadJob(project, uploadJob, "Incompatible upload");
+            throw new UploadException("Incompatible upload");
+        } catch (URISyntaxException | IOException | InterruptedException e) {
+            failUploadJob(project, uploadJob, "Cannot download file : " + e.getMessage());
+            throw new UploadException("Cannot download file : " + e.getMessage());
+        }
+    }
 
-                    Dependency dependency = new Dependency();
-                    dependency.setProject(project);
-                    dependency.setLibrary(library);
+    /**
+     * Processing of an SBOM for a project. Based on the SBOM format the AssetManager recognizes which loader has to be
+     * selected. The loaders are registered individually in the constructor. If the SBOM contains duplicates, then these
+     * are added only once. Likewise, the components, which are already contained in the project (delete=false) are
+     * checked, so that no renewed adding takes place.
+     * <p>
+     * The components are processed in batches of {@code application.upload.batch-size}. Streaming loaders read the SBOM
+     * directly from the file stream and every batch is committed in its own transaction, so the memory consumption
+     * depends on the batch size and not on the size of the SBOM. After every batch the counters of the
+     * {@link UploadJob} are updated in the same transaction. If a job of a streaming loader is resumed, the batches which
+     * were already committed are skipped.
+     * <p>
+     * The upload is processed in two phases. At first the components are only persisted. After the commit of a batch the
+     * libraries are completed with information from external services by the {@link LibraryEnrichmentService}, so the
+     * upload transaction doesn't wait for the network.
+     * <p>
+     * If already existing components should be deleted, only the difference between the current dependencies of the
+     * project and the upload is applied. New components are inserted and the components which aren't part of the upload
+     * anymore are deleted at the end, unchanged dependencies are kept.
+     *
+     * @param project   Project entity.
+     * @param upload    {@link Upload} object with SBOM.
+     * @param uploadJob The job of the upload. If {@link UploadJob#getDeleteExisting()} is true, already existing
+     *                  components are deleted from the project, otherwise components from the upload will be added to
+     *                  the previous list.
+     * @throws UploadException If errors occur when processing the Upload.
+     */
+    private void processUpload(Project project, Upload upload, UploadJob uploadJob) throws UploadException {
+        try {
+            String contentType = upload.getFile().getFileContentType();
+            int resumeFrom = 0;
+            if (assetManager.isStreaming(contentType)) {
+                resumeFrom = uploadJob.getTotalComponents();
+            } else {
+                uploadJob.totalComponents(0).processedComponents(0).failedComponents(0).committedBatches(0);
+            }
+            if (resumeFrom > 0) log.info("Resume upload job {} after {} components", uploadJob.getId(), resumeFrom);
+
+            uploadJobService.save(uploadJob.phase(UploadJobPhase.LOADING));
+
+            List<Pattern> uploadFilter = compileUploadFilter(project);
+            AtomicInteger libraryCounter = new AtomicInteger(0);
+            AtomicInteger readComponents = new AtomicInteger(0);
+            Set<Long> projectLibraryIds = dependencyService.findLibraryIdsByProject(project.getId(), false);
+            Set<Long> removedLibraryIds = Boolean.TRUE.equals(uploadJob.getDeleteExisting())
+                ? dependencyService.findLibraryIdsByProject(project.getId(), true)
+                : new HashSet<>();
+
+            final int skipUntil = resumeFrom;
+            assetManager.load(
+                upload.getFile(),
+                contentType,
+                applicationProperties.getUpload().getBatchSize(),
+                batch -> {
+                    int readBefore = readComponents.getAndAdd(batch.size());
+                    Map<String, Library> uniqueLibraries = uniqueByCoordinates(
+                        batch.stream().filter(library -> !isFilteredOut(library, uploadFilter)).collect(Collectors.toList())
+                    );
 
-                    try {
-                        dependencyService.saveWithCheck(dependency);
-                    } catch (LibraryException e) {
-                        log.debug("Library [ {} ] is already in Project [ {} ]", library.getId(), project.getId());
+                    if (readBefore + batch.size() <= skipUntil) {
+                        // Already committed before the restart, only the libraries have to be kept
+                        libraryService
+                            .findAllByNamespaceNameVersion(uniqueLibraries.values())
+                            .values()
+                            .forEach(library -> removedLibraryIds.remove(library.getId()));
+                        libraryCounter.addAndGet(uniqueLibraries.size());
+                        return;
                     }
-                });
 
-                if (upload.getAdditionalLibraries() != null && upload.getAdditionalLibraries().getFile() != null) {
-                    AdditionalLibrariesLoader additionalLibrariesLoader = new AdditionalLibrariesLoader();
-                    Set<Library> additionalLibraries = additionalLibrariesLoader.load(upload.getAdditionalLibraries());
+                    transactionTemplate.executeWithoutResult(status -> {
+                        List<Long> libraryIds = processUploadedLibraries(project, uniqueLibraries, libraryCounter, projectLibraryIds);
+                        libraryIds.forEach(removedLibraryIds::remove);
+                        libraryEnrichmentService.enrichAfterCommit(libraryIds);
+
+                        uploadJob
+                            .totalComponents(readBefore + batch.size())
+                            .processedComponents(uploadJob.getProcessedComponents() + libraryIds.size())
+                            .failedComponents(uploadJob.getFailedComponents() + uniqueLibraries.size() - libraryIds.size())
+                            .committedBatches(uploadJob.getCommittedBatches() + 1);
+                        uploadJobService.save(uploadJob);
+                    });
+                }
+            );
 
-                    for (Library library : additionalLibraries) {
-                        log.info(
-                            "Processing additional library : {} - {} - {}",
-                            library.getNamespace(),
-                            library.getName(),
-                            library.getVersion()
-                        );
+            Set<Library> additionalLibraries = new HashSet<>();
+            if (upload.getAdditionalLibraries() != null && upload.getAdditionalLibraries().getFile() != null) {
+                AdditionalLibrariesLoader additionalLibrariesLoader = new AdditionalLibrariesLoader();
+                additionalLibraries = additionalLibrariesLoader.load(upload.getAdditionalLibraries());
+            }
 
-                        try {
-                            library = libraryService.saveWithCheck(library);
-                        } catch (LibraryException e) {
-                            library = e.getLibrary();
-                        }
+            uploadJobService.save(uploadJob.phase(UploadJobPhase.FINALIZING));
 
-                        Dependency dependency = new Dependency();
-                        dependency.setProject(project);
-                        dependency.setLibrary(library);
-                        dependency.setAddedManually(true);
+            final Set<Library> finalAdditionalLibraries = additionalLibraries;
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!finalAdditionalLibraries.isEmpty()) {
+                    processAdditionalLibraries(project, finalAdditionalLibraries, projectLibraryIds, removedLibraryIds);
+                }
 
-                        try {
-                            dependencyService.saveWithCheck(dependency);
-                        } catch (LibraryException e) {
-                            log.debug("Library [ {} ] is already in Project [ {} ]", library.getId(), project.getId());
-                        }
-                    }
+                if (!removedLibraryIds.isEmpty()) {
+                    log.info("Removing {} libraries which are not part of the upload anymore", removedLibraryIds.size());
+                    dependencyService.deleteByProjectAndLibrariesAndNotAddedManually(project.getId(), removedLibraryIds);
                 }
 
                 project.setUploadState(UploadState.OK);
                 project.setLastUpdatedDate(LocalDate.now());
                 saveWithCheck(project);
-            }
+
+                uploadJobService.save(uploadJob.phase(UploadJobPhase.COMPLETED));
+            });
+
             log.info("Finished processing upload!");
         } catch (Exception e) { // Catch alle Exceptions
-            project.setUploadState(UploadState.FAILURE);
-            save(project);
+            failUploadJob(project, uploadJob, e.getMessage());
 
             throw new UploadException(e.getMessage());
         }
     }
 
     /**
-     * Check if an upload by URL is valid.
+     * Marks an upload job as failed and sets the upload state of the project.
      *
-     * @param project Project entity
-     * @param url     URL to a file
-     * @return Content type of the file
-     * @throws UploadException if the file doesn't exist, can't be downloaded or exceeds the upload limit size.
+     * @param project      Project entity.
+     * @param uploadJob    The job of the upload.
+     * @param errorMessage The reason of the failure.
      */
-    public String preCheckForUploadByUrl(Project project, String url, BasicAuthentication credentials) throws UploadException {
-        log.info("Start processing upload by URL for Project : {}", project.getId());
+    public void failUploadJob(Project project, UploadJob uploadJob, String errorMessage) {
+        log.error("Upload job {} for Project {} failed : {}", uploadJob.getId(), project.getId(), errorMessage);
+        uploadJobService.fail(uploadJob, errorMessage);
 
-        int uploadLimit = applicationProperties.getUpload().getLimit();
+        project.setUploadState(UploadState.FAILURE);
+        save(project);
+    }
 
-        String contentType;
-        try {
-            HttpResponse<String> response;
-            if (StringUtils.isBlank(credentials.getUsername()) || StringUtils.isBlank(credentials.getPassword())) {
-                response = HttpHelper.httpHeadRequest(url);
-            } else {
-                response = HttpHelper.httpHeadRequestWithAuthorization(url, credentials.getUsername(), credentials.getPassword());
+    private void processAdditionalLibraries(
+        Project project,
+        Set<Library> additionalLibraries,
+        Set<Long> projectLibraryIds,
+        Set<Long> removedLibraryIds
+    ) {
+        additionalLibraries.forEach(library ->
+            log.info("Processing additional library : {} - {} - {}", library.getNamespace(), library.getName(), library.getVersion())
+        );
+
+        Map<String, Library> uniqueLibraries = uniqueByCoordinates(additionalLibraries);
+        Map<String, Library> existingLibraries = libraryService.findAllByNamespaceNameVersion(uniqueLibraries.values());
+
+        List<Library> persistedLibraries = new ArrayList<>(existingLibraries.values());
+        List<Library> newLibraries = uniqueLibraries
+            .entrySet()
+            .stream()
+            .filter(entry -> !existingLibraries.containsKey(entry.getKey()))
+            .map(Map.Entry::getValue)
+            .collect(Collectors.toList());
+        newLibraries = libraryService.saveAllNew(newLibraries);
+        libraryEnrichmentService.enrichAfterCommit(newLibraries.stream().map(Library::getId).collect(Collectors.toList()));
+        persistedLibraries.addAll(newLibraries);
+        persistedLibraries.forEach(library -> removedLibraryIds.remove(library.getId()));
+
+        dependencyService.saveAllWithCheck(project, persistedLibraries, true, projectLibraryIds);
+    }
+
+    private List<Pattern> compileUploadFilter(Project project) {
+        List<Pattern> patterns = new ArrayList<>();
+
+        if (!StringUtils.isBlank(project.getUploadFilter())) {
+            for (String line : project.getUploadFilter().split("\n")) {
+                if (!StringUtils.isBlank(line)) patterns.add(Pattern.compile(line));
             }
+        }
 
-            if (response.statusCode() != HttpURLConnection.HTTP_OK) {
-                log.error("Response code is not 200. Wrong url, credentials or another access problem.");
-                throw new UploadException("File cannot be accessed.");
+        return patterns;
+    }
+
+    private boolean isFilteredOut(Library library, List<Pattern> uploadFilter) {
+        for (Pattern pattern : uploadFilter) {
+            if (
+                (library.getNamespace() != null && pattern.matcher(library.getNamespace()).matches()) ||
+                (library.getName() != null && pattern.matcher(library.getName()).matches())
+            ) {
+                return true;
             }
+        }
 
-            Optional<String> optionalContentLength = response.headers().firstValue("Content-Length");
-            if (optionalContentLength.isPresent()) {
-                String contentLengthResponse = optionalContentLength.get();
-                long contentLength = Long.parseLong(contentLengthResponse);
-                contentLength = contentLength / 1000 / 1000;
+        return false;
+    }
 
-                if (contentLength > uploadLimit) {
-                    log.error("File size is too large. Maximum upload limit: {} MB", uploadLimit);
-                    throw new UploadException("File size is too large. Maximum upload limit: " + uploadLimit + " MB");
-                }
+    /**
+     * Processes a batch of uploaded libraries, which are unique by their coordinates. All libraries of the batch are
+     * resolved with a few chunked queries, new libraries and dependencies are inserted in bulk. Libraries which already
+     * exist are completed with the information from the upload.
+     *
+     * @return the ids of the persisted libraries, which have to be completed after the upload.
+     */
+    private List<Long> processUploadedLibraries(
+        Project project,
+        Map<String, Library> uniqueLibraries,
+        AtomicInteger libraryCounter,
+        Set<Long> projectLibraryIds
+    ) {
+        Map<String, Optional<User>> reviewers = new HashMap<>();
+
+        for (Library library : uniqueLibraries.values()) {
+            log.info(
+                "[{}] Processing library for project {} : {} - {} - {}",
+                libraryCounter.getAndIncrement(),
+                project.getId(),
+                library.getNamespace(),
+                library.getName(),
+                library.getVersion()
+            );
+
+            if (library.getLastReviewedBy() != null) {
+                reviewers
+                    .computeIfAbsent(library.getLastReviewedBy().getLogin(), userRepository::findOneByLogin)
+                    .ifPresent(library::setLastReviewedBy);
             }
+        }
+
+        Map<String, Library> existingLibraries = libraryService.findAllByNamespaceNameVersion(uniqueLibraries.values());
 
-            Optional<String> optionalContentType = response.headers().firstValue("Content-Type");
-            if (optionalContentType.isPresent()) {
-                contentType = optionalContentType.get();
+        List<Library> persistedLibraries = new ArrayList<>(uniqueLibraries.size());
+        List<Library> newLibraries = new ArrayList<>();
+
+        for (Map.Entry<String, Library> entry : uniqueLibraries.entrySet()) {
+            Library dbLibrary = existingLibraries.get(entry.getKey());
+
+            if (dbLibrary == null) {
+                newLibraries.add(entry.getValue());
             } else {
-                throw new UploadException(
-                    "Undefined content type. For the subsequent processing the 'Content-Type' HTTP header is necessary."
-                );
+                dbLibrary.updateEmptyFields(entry.getValue());
+                persistedLibraries.add(libraryService.save(dbLibrary));
             }
-        } catch (NumberFormatException e) {
-            throw new UploadException("Incompatible upload");
-        } catch (URISyntaxException | IOException | InterruptedException e) {
-            project.setUploadState(UploadState.FAILURE);
-            save(project);
-            throw new UploadException("Cannot download file : " + e.getMessage());
         }
 
-        return contentType;
-    }
+        persistedLibraries.addAll(libraryService.saveAllNew(newLibraries));
 
-    @Async
-    public void processUploadByUrl(Project project, String url, BasicAuthentication credentials, boolean delete, String contentType)
-        throws UploadException {
-        log.info("Start processing upload by URL for Project : {}", project.getId());
-        try (
-            InputStream downloadStream = (
-                StringUtils.isBlank(credentials.getUsername()) || StringUtils.isBlank(credentials.getPassword())
-                    ? HttpHelper.downloadResource(url)
-                    : HttpHelper.downloadResourceWithAuthentication(url, credentials.getUsername(), credentials.getPassword())
-            )
-        ) {
-            File file = new File("Upload", downloadStream, contentType);
-            Upload upload = new Upload();
-            upload.setFile(file);
+        dependencyService.saveAllWithCheck(project, persistedLibraries, false, projectLibraryIds);
 
-            // Will not be asynchronously executed
-            // Async method call in same class doesn't work
-            processUpload(project, upload, delete);
+        return persistedLibraries.stream().map(Library::getId).collect(Collectors.toList());
+    }
 
-            upload.getFile().getFilestream().close();
-        } catch (IOException e) {
-            project.setUploadState(UploadState.FAILURE);
-            save(project);
-            throw new UploadException("Cannot download file : " + e.getMessage());
-        } finally {
-            System.gc();
-        }
+    private Map<String, Library> uniqueByCoordinates(Collection<Library> libraries) {
+        Map<String, Library> uniqueLibraries = new LinkedHashMap<>(libraries.size());
+        libraries.forEach(library -> uniqueLibraries.putIfAbsent(LibraryService.coordinatesOf(library), library));
+
+        return uniqueLibraries;
     }
 
     /**
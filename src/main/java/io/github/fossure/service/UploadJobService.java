@@ -0,0 +1,121 @@
+package io.github.fossure.service;
+
+import io.github.fossure.domain.UploadJob;
+import io.github.fossure.domain.enumeration.UploadJobPhase;
+import io.github.fossure.repository.UploadJobRepository;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing {@link UploadJob}.
+ */
+@Service
+@Transactional
+public class UploadJobService {
+
+    private final Logger log = LoggerFactory.getLogger(UploadJobService.class);
+
+    private static final int ERROR_MESSAGE_LENGTH = 2048;
+
+    private final UploadJobRepository uploadJobRepository;
+
+    public UploadJobService(UploadJobRepository uploadJobRepository) {
+        this.uploadJobRepository = uploadJobRepository;
+    }
+
+    /**
+     * Save an uploadJob. The last updated date is set to the current time.
+     *
+     * @param uploadJob the entity to save.
+     * @return the persisted entity.
+     */
+    public UploadJob save(UploadJob uploadJob) {
+        log.debug("Request to save UploadJob : {}", uploadJob);
+        uploadJob.setLastUpdatedDate(Instant.now());
+        return uploadJobRepository.save(uploadJob);
+    }
+
+    /**
+     * Change the phase of an uploadJob.
+     *
+     * @param uploadJob the entity to update.
+     * @param phase     the new phase.
+     * @return the persisted entity.
+     */
+    public UploadJob updatePhase(UploadJob uploadJob, UploadJobPhase phase) {
+        log.debug("Request to change phase of UploadJob {} to : {}", uploadJob.getId(), phase);
+        return save(uploadJob.phase(phase));
+    }
+
+    /**
+     * Mark an uploadJob as failed.
+     *
+     * @param uploadJob    the entity to update.
+     * @param errorMessage the reason of the failure.
+     * @return the persisted entity.
+     */
+    public UploadJob fail(UploadJob uploadJob, String errorMessage) {
+        log.debug("Request to mark UploadJob {} as failed : {}", uploadJob.getId(), errorMessage);
+        return save(uploadJob.phase(UploadJobPhase.FAILED).errorMessage(StringUtils.abbreviate(errorMessage, ERROR_MESSAGE_LENGTH)));
+    }
+
+    /**
+     * Claim an unfinished uploadJob before it is resumed. The claim only succeeds if the job is still in the same phase
+     * and wasn't updated since it was read, so a job is resumed by one instance only.
+     *
+     * @param uploadJob the entity to claim.
+     * @return true if the job was claimed, false if another instance claimed or changed it in the meantime.
+     */
+    public boolean claim(UploadJob uploadJob) {
+        log.debug("Request to claim UploadJob : {}", uploadJob.getId());
+        Instant claimedDate = Instant.now();
+        int claimed = uploadJobRepository.claim(uploadJob.getId(), uploadJob.getPhase(), uploadJob.getLastUpdatedDate(), claimedDate);
+        if (claimed == 0) {
+            return false;
+        }
+        uploadJob.setLastUpdatedDate(claimedDate);
+        return true;
+    }
+
+    /**
+     * Get one uploadJob by id.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UploadJob> findOne(Long id) {
+        log.debug("Request to get UploadJob : {}", id);
+        return uploadJobRepository.findById(id);
+    }
+
+    /**
+     * Get the latest uploadJob of a project.
+     *
+     * @param projectId the id of the project.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UploadJob> findLatestByProject(Long projectId) {
+        log.debug("Request to get latest UploadJob of Project : {}", projectId);
+        return uploadJobRepository.findFirstByProjectIdOrderByIdDesc(projectId);
+    }
+
+    /**
+     * Get all uploadJobs which are not completed or failed.
+     *
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public List<UploadJob> findUnfinished() {
+        log.debug("Request to get all unfinished UploadJobs");
+        return uploadJobRepository.findByPhaseIn(EnumSet.of(UploadJobPhase.PENDING, UploadJobPhase.LOADING, UploadJobPhase.FINALIZING));
+    }
+}
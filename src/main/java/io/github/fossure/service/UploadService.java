@@ -2,29 +2,32 @@ package io.github.fossure.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fossure.config.ApplicationProperties;
 import io.github.fossure.domain.*;
 import io.github.fossure.repository.LicenseRiskRepository;
 import io.github.fossure.repository.RequirementRepository;
 import io.github.fossure.repository.UploadRepository;
 import io.github.fossure.repository.UserRepository;
-import io.github.fossure.service.exceptions.LibraryException;
 import io.github.fossure.service.exceptions.LicenseAlreadyExistException;
 import io.github.fossure.service.exceptions.LicenseException;
 import io.github.fossure.service.exceptions.UploadException;
+import io.github.fossure.service.helper.net.HttpHelper;
 import io.github.fossure.service.upload.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Optional;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -50,6 +53,16 @@ public class UploadService {
 
     private final ObjectMapper objectMapper;
 
+    private final LibraryEnrichmentService libraryEnrichmentService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final HttpHelper httpHelper;
+
+    private final UploadService self;
+
     public UploadService(
         UploadRepository uploadRepository,
         LibraryService libraryService,
@@ -57,7 +70,12 @@ public class UploadService {
         UserRepository userRepository,
         LicenseRiskRepository licenseRiskRepository,
         RequirementRepository requirementRepository,
-        ObjectMapper objectMapper
+        ObjectMapper objectMapper,
+        LibraryEnrichmentService libraryEnrichmentService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        HttpHelper httpHelper,
+        @Lazy UploadService self
     ) {
         this.uploadRepository = uploadRepository;
         this.libraryService = libraryService;
@@ -66,6 +84,11 @@ public class UploadService {
         this.licenseRiskRepository = licenseRiskRepository;
         this.requirementRepository = requirementRepository;
         this.objectMapper = objectMapper;
+        this.libraryEnrichmentService = libraryEnrichmentService;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.httpHelper = httpHelper;
+        this.self = self;
     }
 
     /**
@@ -160,181 +183,248 @@ public class UploadService {
      * @param upload the Upload entity to process.
      * @throws UploadException if an error occurs during processing of the uploaded file.
      */
-    @SuppressWarnings("unchecked")
     @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void uploadHandler(Upload upload) throws UploadException {
         log.info("Start processing upload : {}", upload.getId());
         switch (upload.getEntityToUpload()) {
             case LIBRARY:
-                AssetManager<Library> assetManager = new AssetManager<>();
-                assetManager.addLoader(new BomLoader(), "text/xml");
-                assetManager.addLoader(new LibraryCsvLoader(), "application/vnd.ms-excel");
-                assetManager.addLoader(new LibraryCsvLoader(), "text/csv");
-                assetManager.addLoader(new ArchiveLoader(libraryService), "application/zip");
-                assetManager.addLoader(new ArchiveLoader(libraryService), "application/x-zip-compressed");
-                assetManager.addLoader(
-                    file -> {
-                        try {
-                            return objectMapper.readValue(file.getFile(), new TypeReference<>() {});
-                        } catch (IOException e) {
-                            log.error("Error while parsing JSON file : {}", e.getMessage());
-                            throw new UploadException("JSON file can't be read");
-                        }
-                    },
-                    "application/json"
-                );
-                Set<Library> libraries = assetManager.load(
-                    new File("", upload.getFile(), upload.getFileContentType()),
-                    upload.getFileContentType()
-                );
-
-                if (libraries != null) {
-                    for (Library library : libraries) {
-                        log.info("Processing library : {} - {} - {}", library.getNamespace(), library.getName(), library.getVersion());
-                        try {
-                            if (library.getLastReviewedBy() != null) {
-                                Optional<User> optionalUser = userRepository.findOneByLogin(library.getLastReviewedBy().getLogin());
-                                optionalUser.ifPresent(library::setLastReviewedBy);
-                            }
-
-                            // TODO: linkedLicenses field
-
-                            /*Optional<String> licenses = library.getLicenses().stream().map(License::getFullName).findFirst();
-                            if (licenses.isPresent()) {
-                                library.setLicenses(licenseService.findShortIdentifier(licenses.get()));
-                            }*/
-
-                            Optional<String> licenseToPublish = library
-                                .getLicenseToPublishes()
-                                .stream()
-                                .map(License::getFullName)
-                                .findFirst();
-                            if (licenseToPublish.isPresent()) {
-                                library.setLicenseToPublishes(licenseService.findShortIdentifier(licenseToPublish.get()));
-                            }
-
-                            Optional<String> licenseOfFiles = library.getLicenseOfFiles().stream().map(License::getFullName).findFirst();
-                            if (licenseOfFiles.isPresent()) {
-                                library.setLicenseOfFiles(licenseService.findShortIdentifier(licenseOfFiles.get()));
-                            }
-
-                            library.setLicenseUrl("");
-                            library.setSourceCodeUrl("");
-
-                            library = libraryService.saveWithCheck(library);
-                        } catch (LibraryException e) {
-                            Library dbLibrary = e.getLibrary();
-                            dbLibrary.updateEmptyFields(library);
-                            libraryService.licenseAutocomplete(dbLibrary);
-                            libraryService.removeGenericLicenseUrl(dbLibrary);
-                            // library.setLicenseUrl("");
-                            // library.setSourceCodeUrl("");
-                            libraryService.urlAutocomplete(dbLibrary);
-                            libraryService.copyrightAutocomplete(dbLibrary);
-                            libraryService.save(dbLibrary);
-                        }
-                    }
-                }
+                importLibraries(upload);
                 break;
             case LICENSE:
-                AssetManager<License> assetManagerLicense = new AssetManager<>();
-                assetManagerLicense.addLoader(new LicenseCsvLoader(), "application/vnd.ms-excel");
-                assetManagerLicense.addLoader(new LicenseCsvLoader(), "text/csv");
-                assetManagerLicense.addLoader(
-                    file -> {
-                        try {
-                            Set<License> licenses = objectMapper.readValue(file.getFile(), new TypeReference<>() {});
-                            licenses.forEach(e -> e.setId(null));
-                            licenses.forEach(e -> e.setLicenseConflicts(new TreeSet<>()));
-                            licenses.forEach(e -> e.setLastReviewedBy(null));
-                            return licenses;
-                        } catch (IOException e) {
-                            log.error("Error while parsing JSON file : {}", e.getMessage());
-                            throw new UploadException("JSON file cannot be read");
-                        }
-                    },
-                    "application/json"
-                );
-
-                Set<License> licenses = assetManagerLicense.load(
-                    new File("", upload.getFile(), upload.getFileContentType()),
-                    upload.getFileContentType()
-                );
-
-                for (License license : licenses) {
-                    log.info("Processing license : {}", license.getShortIdentifier());
-
-                    if (license.getLastReviewedBy() != null) {
-                        Optional<User> optionalUser = userRepository.findOneByLogin(license.getLastReviewedBy().getLogin());
-                        optionalUser.ifPresentOrElse(license::setLastReviewedBy, () -> license.setLastReviewedBy(null));
-                        optionalUser.ifPresent(license::setLastReviewedBy);
-                    }
+                self.importLicenses(upload);
+                break;
+        }
+        log.info("Finished processing upload : {}", upload.getId());
+    }
 
-                    if (license.getLicenseRisk() != null) {
-                        Optional<LicenseRisk> risk = licenseRiskRepository.findOneByName(license.getLicenseRisk().getName());
-                        risk.ifPresent(license::setLicenseRisk);
-                    }
+    /**
+     * Bulk import of a library catalog. The file is read as a stream and the libraries are imported in batches of
+     * {@code application.upload.batch-size}, every batch is committed in its own transaction. The license short
+     * identifiers and reviewers are resolved once per import and reused for all records. The license and source code
+     * URLs of the records are not imported. The licenses of all libraries are completed, new libraries are inserted and
+     * existing libraries are completed with JDBC batches.
+     * <p>
+     * The completion with information from external services (URLs, license texts, copyrights) is only a follow-up job
+     * after the commit of a batch, if {@code application.upload.enrich-imported-libraries} is enabled.
+     *
+     * @param upload the Upload entity to process.
+     * @throws UploadException if an error occurs during processing of the uploaded file.
+     */
+    private void importLibraries(Upload upload) throws UploadException {
+        AssetManager<Library> assetManager = new AssetManager<>();
+        assetManager.addLoader(new BomLoader(), "text/xml");
+        assetManager.addLoader(new LibraryCsvLoader(), "application/vnd.ms-excel");
+        assetManager.addLoader(new LibraryCsvLoader(), "text/csv");
+        assetManager.addLoader(new ArchiveLoader(libraryService, httpHelper), "application/zip");
+        assetManager.addLoader(new ArchiveLoader(libraryService, httpHelper), "application/x-zip-compressed");
+        assetManager.addLoader(new CycloneDxJsonLoader(objectMapper), "application/json");
+        assetManager.addLoader(new CycloneDxJsonLoader(objectMapper), "application/vnd.cyclonedx+json");
+
+        boolean enrich = applicationProperties.getUpload().isEnrichImportedLibraries();
+        Map<String, Set<Long>> resolvedLicenses = new HashMap<>();
+        Map<String, Optional<User>> reviewers = new HashMap<>();
+        AtomicInteger libraryCounter = new AtomicInteger(0);
+
+        assetManager.load(
+            new File("", upload.getFile(), upload.getFileContentType()),
+            upload.getFileContentType(),
+            applicationProperties.getUpload().getBatchSize(),
+            batch ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Long> libraryIds = importLibraryBatch(batch, resolvedLicenses, reviewers);
+                    if (enrich) libraryEnrichmentService.enrichAfterCommit(libraryIds);
+
+                    log.info("Imported {} libraries", libraryCounter.addAndGet(batch.size()));
+                })
+        );
+    }
+
+    private List<Long> importLibraryBatch(
+        Set<Library> batch,
+        Map<String, Set<Long>> resolvedLicenses,
+        Map<String, Optional<User>> reviewers
+    ) {
+        Map<String, Library> uniqueLibraries = new LinkedHashMap<>(batch.size());
+
+        for (Library library : batch) {
+            log.debug("Processing library : {} - {} - {}", library.getNamespace(), library.getName(), library.getVersion());
+
+            if (library.getLastReviewedBy() != null) {
+                reviewers
+                    .computeIfAbsent(library.getLastReviewedBy().getLogin(), userRepository::findOneByLogin)
+                    .ifPresentOrElse(library::setLastReviewedBy, () -> library.setLastReviewedBy(null));
+            }
+
+            // TODO: linkedLicenses field
 
-                    if (license.getRequirements().size() > 1) {
-                        Set<Requirement> requirementEntities = license
-                            .getRequirements()
-                            .stream()
-                            .map(e -> {
-                                Optional<Requirement> optionalRequirement = requirementRepository.findOneByShortText(e.getShortText());
-                                if (optionalRequirement.isPresent()) {
-                                    return optionalRequirement.get();
-                                } else {
-                                    e.setId(null);
-                                    return requirementRepository.save(e);
-                                }
-                            })
-                            .collect(Collectors.toSet());
-
-                        license.setRequirements(requirementEntities);
-                    } else {
-                        Optional<String> optionalRequirements = license
-                            .getRequirements()
-                            .stream()
-                            .map(Requirement::getShortText)
-                            .findFirst();
-                        if (optionalRequirements.isPresent()) {
-                            String splitRegex = ";";
-
-                            String requirements = optionalRequirements.get().trim();
-                            String[] shortTexts;
-                            shortTexts = requirements.split(splitRegex);
-
-                            if (shortTexts.length == 0) {
-                                shortTexts = new String[] { requirements };
-                            }
-
-                            Set<Requirement> requirementEntities = Arrays
-                                .stream(shortTexts)
-                                .map(String::trim)
-                                .map(requirementRepository::findOneByShortText)
-                                .filter(Optional::isPresent)
-                                .map(Optional::get)
-                                .collect(Collectors.toSet());
-
-                            license.setRequirements(requirementEntities);
+            library
+                .getLicenseToPublishes()
+                .stream()
+                .map(License::getFullName)
+                .findFirst()
+                .ifPresent(license -> library.setLicenseToPublishes(resolveLicenses(license, resolvedLicenses)));
+
+            library
+                .getLicenseOfFiles()
+                .stream()
+                .map(License::getFullName)
+                .findFirst()
+                .ifPresent(license -> library.setLicenseOfFiles(resolveLicenses(license, resolvedLicenses)));
+
+            library.setLicenseUrl("");
+            library.setSourceCodeUrl("");
+
+            uniqueLibraries.putIfAbsent(LibraryService.coordinatesOf(library), library);
+        }
+
+        Map<String, Library> existingLibraries = libraryService.findAllByNamespaceNameVersion(uniqueLibraries.values());
+
+        List<Library> persistedLibraries = new ArrayList<>(uniqueLibraries.size());
+        List<Library> newLibraries = new ArrayList<>();
+
+        for (Map.Entry<String, Library> entry : uniqueLibraries.entrySet()) {
+            Library dbLibrary = existingLibraries.get(entry.getKey());
+
+            if (dbLibrary == null) {
+                Library library = entry.getValue();
+                libraryService.licenseAutocomplete(library);
+                libraryService.calculateLibraryRisk(library);
+                newLibraries.add(library);
+            } else {
+                dbLibrary.updateEmptyFields(entry.getValue());
+                libraryService.licenseAutocomplete(dbLibrary);
+                libraryService.removeGenericLicenseUrl(dbLibrary);
+                persistedLibraries.add(libraryService.save(dbLibrary));
+            }
+        }
+
+        persistedLibraries.addAll(libraryService.saveAllNew(newLibraries));
+
+        return persistedLibraries.stream().map(Library::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Resolves the license short identifiers of a license name. The ids of the licenses are cached for the whole
+     * import, the licenses are loaded in the transaction of the current batch.
+     */
+    private Set<License> resolveLicenses(String license, Map<String, Set<Long>> resolvedLicenses) {
+        return resolvedLicenses
+            .computeIfAbsent(
+                license,
+                name -> licenseService.findShortIdentifier(name).stream().map(License::getId).collect(Collectors.toSet())
+            )
+            .stream()
+            .map(licenseService::findOne)
+            .flatMap(Optional::stream)
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Import of licenses. All licenses are processed in one transaction, the missing license conflicts between the
+     * licenses are created at the end with a single set-based statement.
+     *
+     * @param upload the Upload entity to process.
+     * @throws UploadException if an error occurs during processing of the uploaded file.
+     */
+    public void importLicenses(Upload upload) throws UploadException {
+        AssetManager<License> assetManagerLicense = new AssetManager<>();
+        assetManagerLicense.addLoader(new LicenseCsvLoader(), "application/vnd.ms-excel");
+        assetManagerLicense.addLoader(new LicenseCsvLoader(), "text/csv");
+        assetManagerLicense.addLoader(
+            file -> {
+                try {
+                    Set<License> licenses = objectMapper.readValue(file.getFile(), new TypeReference<>() {});
+                    licenses.forEach(e -> e.setId(null));
+                    licenses.forEach(e -> e.setLicenseConflicts(new TreeSet<>()));
+                    licenses.forEach(e -> e.setLastReviewedBy(null));
+                    return licenses;
+                } catch (IOException e) {
+                    log.error("Error while parsing JSON file : {}", e.getMessage());
+                    throw new UploadException("JSON file cannot be read");
+                }
+            },
+            "application/json"
+        );
+
+        Set<License> licenses = assetManagerLicense.load(
+            new File("", upload.getFile(), upload.getFileContentType()),
+            upload.getFileContentType()
+        );
+
+        for (License license : licenses) {
+            log.info("Processing license : {}", license.getShortIdentifier());
+
+            if (license.getLastReviewedBy() != null) {
+                Optional<User> optionalUser = userRepository.findOneByLogin(license.getLastReviewedBy().getLogin());
+                optionalUser.ifPresentOrElse(license::setLastReviewedBy, () -> license.setLastReviewedBy(null));
+                optionalUser.ifPresent(license::setLastReviewedBy);
+            }
+
+            if (license.getLicenseRisk() != null) {
+                Optional<LicenseRisk> risk = licenseRiskRepository.findOneByName(license.getLicenseRisk().getName());
+                risk.ifPresent(license::setLicenseRisk);
+            }
+
+            if (license.getRequirements().size() > 1) {
+                Set<Requirement> requirementEntities = license
+                    .getRequirements()
+                    .stream()
+                    .map(e -> {
+                        Optional<Requirement> optionalRequirement = requirementRepository.findOneByShortText(e.getShortText());
+                        if (optionalRequirement.isPresent()) {
+                            return optionalRequirement.get();
+                        } else {
+                            e.setId(null);
+                            return requirementRepository.save(e);
                         }
+                    })
+                    .collect(Collectors.toSet());
+
+                license.setRequirements(requirementEntities);
+            } else {
+                Optional<String> optionalRequirements = license
+                    .getRequirements()
+                    .stream()
+                    .map(Requirement::getShortText)
+                    .findFirst();
+                if (optionalRequirements.isPresent()) {
+                    String splitRegex = ";";
+
+                    String requirements = optionalRequirements.get().trim();
+                    String[] shortTexts;
+                    shortTexts = requirements.split(splitRegex);
+
+                    if (shortTexts.length == 0) {
+                        shortTexts = new String[] { requirements };
                     }
 
-                    try {
-                        License savedLicense = licenseService.saveWithCheck(license);
-                        licenseService.createLicenseConflictsForNewLicense(savedLicense);
-                        licenseService.createLicenseConflictsForExistingLicenses(savedLicense);
-                    } catch (LicenseAlreadyExistException e) {
-                        License dbLicense = e.getLicense();
-                        dbLicense.updateEmptyFields(license);
-                        dbLicense.setRequirements(license.getRequirements());
-                    } catch (LicenseException e) {
-                        throw new UploadException(e.getMessage());
-                    }
-                }
+                    Set<Requirement> requirementEntities = Arrays
+                        .stream(shortTexts)
+                        .map(String::trim)
+                        .map(requirementRepository::findOneByShortText)
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .collect(Collectors.toSet());
 
-                break;
+                    license.setRequirements(requirementEntities);
+                }
+            }
+
+            try {
+                licenseService.saveWithCheck(license);
+            } catch (LicenseAlreadyExistException e) {
+                License dbLicense = e.getLicense();
+                dbLicense.updateEmptyFields(license);
+                dbLicense.setRequirements(license.getRequirements());
+            } catch (LicenseException e) {
+                throw new UploadException(e.getMessage());
+            }
         }
-        log.info("Finished processing upload : {}", upload.getId());
+
+        // Conflicts are created once for all imported licenses instead of two full scans per license
+        int createdLicenseConflicts = licenseService.createMissingLicenseConflicts();
+        log.info("Created {} license conflicts", createdLicenseConflicts);
+        licenseService.invalidateLicenseCatalog();
     }
 }
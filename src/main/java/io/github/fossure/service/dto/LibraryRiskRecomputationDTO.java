@@ -0,0 +1,90 @@
+package io.github.fossure.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO representing the progress of the recomputation of the licenses to publish and the risk of libraries after a
+ * license risk changed.
+ */
+public class LibraryRiskRecomputationDTO implements Serializable {
+
+    private final String cause;
+
+    private final int totalLibraries;
+
+    private final int processedLibraries;
+
+    private final int changedLibraries;
+
+    private final int failedLibraries;
+
+    private final Instant startDate;
+
+    private final Instant endDate;
+
+    public LibraryRiskRecomputationDTO(
+        String cause,
+        int totalLibraries,
+        int processedLibraries,
+        int changedLibraries,
+        int failedLibraries,
+        Instant startDate,
+        Instant endDate
+    ) {
+        this.cause = cause;
+        this.totalLibraries = totalLibraries;
+        this.processedLibraries = processedLibraries;
+        this.changedLibraries = changedLibraries;
+        this.failedLibraries = failedLibraries;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public String getCause() {
+        return cause;
+    }
+
+    public int getTotalLibraries() {
+        return totalLibraries;
+    }
+
+    public int getProcessedLibraries() {
+        return processedLibraries;
+    }
+
+    public int getChangedLibraries() {
+        return changedLibraries;
+    }
+
+    public int getFailedLibraries() {
+        return failedLibraries;
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public Instant getEndDate() {
+        return endDate;
+    }
+
+    public boolean isRunning() {
+        return startDate != null && endDate == null;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "LibraryRiskRecomputationDTO{" +
+            "cause='" + cause + '\'' +
+            ", totalLibraries=" + totalLibraries +
+            ", processedLibraries=" + processedLibraries +
+            ", changedLibraries=" + changedLibraries +
+            ", failedLibraries=" + failedLibraries +
+            ", startDate=" + startDate +
+            ", endDate=" + endDate +
+            '}'
+        );
+    }
+}
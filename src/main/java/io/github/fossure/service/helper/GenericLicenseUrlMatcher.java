@@ -0,0 +1,108 @@
+package io.github.fossure.service.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks URLs against the patterns of the generic license URLs. All patterns are compiled once into a single alternation,
+ * so an URL is checked with one regex search instead of one compilation and search per stored pattern.
+ * <p>
+ * Patterns with backreferences cannot be combined, as the numbering of their groups would change in the alternation.
+ * They are kept as separate patterns. Invalid patterns are skipped.
+ * <p>
+ * An instance is a snapshot of the generic license URLs and is replaced as a whole when they change, see
+ * {@code LicenseService#invalidateGenericLicenseUrlMatcher()}.
+ */
+public class GenericLicenseUrlMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(GenericLicenseUrlMatcher.class);
+
+    private static final Pattern BACKREFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
+    private final Pattern combinedPattern;
+    private final List<Pattern> separatePatterns;
+    private final int size;
+
+    /**
+     * Compile the patterns of the generic license URLs.
+     *
+     * @param regexes the patterns, which are searched for (not matched against the whole URL).
+     */
+    public GenericLicenseUrlMatcher(Collection<String> regexes) {
+        List<Pattern> combinable = new ArrayList<>(regexes.size());
+        List<Pattern> separate = new ArrayList<>();
+        for (String regex : regexes) {
+            Pattern pattern;
+            try {
+                pattern = Pattern.compile(regex);
+            } catch (PatternSyntaxException | IllegalArgumentException | NullPointerException e) {
+                log.warn("Generic license URL {} is not a valid pattern and is skipped : {}", regex, e.getMessage());
+                continue;
+            }
+
+            if (BACKREFERENCE.matcher(regex).find()) {
+                separate.add(pattern);
+            } else {
+                combinable.add(pattern);
+            }
+        }
+
+        this.size = combinable.size() + separate.size();
+        this.combinedPattern = combine(combinable, separate);
+        this.separatePatterns = Collections.unmodifiableList(separate);
+    }
+
+    /**
+     * Combine the patterns into one alternation. If the alternation cannot be compiled (e.g. because of a comment in a
+     * pattern which comments out the closing parenthesis), all patterns are kept separate.
+     */
+    private static Pattern combine(List<Pattern> combinable, List<Pattern> separate) {
+        if (combinable.isEmpty()) {
+            return null;
+        }
+
+        String alternation = combinable.stream().map(pattern -> "(?:" + pattern.pattern() + ")").collect(Collectors.joining("|"));
+        try {
+            return Pattern.compile(alternation);
+        } catch (PatternSyntaxException e) {
+            log.debug("Generic license URLs cannot be combined, they are checked separately : {}", e.getMessage());
+            separate.addAll(combinable);
+            return null;
+        }
+    }
+
+    /**
+     * Check if an URL contains a generic license URL.
+     *
+     * @param url the URL to check.
+     * @return true if any of the patterns is found in the URL.
+     */
+    public boolean matches(String url) {
+        if (url == null || url.isEmpty()) {
+            return false;
+        }
+        if (combinedPattern != null && combinedPattern.matcher(url).find()) {
+            return true;
+        }
+        for (Pattern pattern : separatePatterns) {
+            if (pattern.matcher(url).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of valid patterns.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.fossure.service.helper;
+
+import io.github.fossure.domain.Library;
+import io.github.fossure.domain.LibraryErrorLog;
+import io.github.fossure.domain.License;
+import io.github.fossure.domain.LicensePerLibrary;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Snapshot of the fields of a {@link Library} which are filled in by the completion of the library. The completion runs
+ * on a detached copy without a transaction, so the completed fields are applied to the current state of the library
+ * afterwards. A field is only applied if the completion changed it and nobody else changed it in the meantime, e.g. a
+ * user or another upload. The license fields are applied together, because they are derived from each other.
+ */
+public final class LibraryCompletion {
+
+    private static final Logger log = LoggerFactory.getLogger(LibraryCompletion.class);
+
+    private static final List<Field> FIELDS = List.of(
+        new Field("license", LibraryCompletion::licenseKey, LibraryCompletion::copyLicenses),
+        new Field("licenseUrl", Library::getLicenseUrl, (from, to) -> to.setLicenseUrl(from.getLicenseUrl())),
+        new Field("sourceCodeUrl", Library::getSourceCodeUrl, (from, to) -> to.setSourceCodeUrl(from.getSourceCodeUrl())),
+        new Field("licenseText", Library::getLicenseTextHash, (from, to) -> to.setLicenseText(from.getLicenseText())),
+        new Field("copyright", Library::getCopyright, (from, to) -> to.setCopyright(from.getCopyright()))
+    );
+
+    private final Map<String, Object> keys;
+
+    private final Set<LibraryErrorLog> errorLogs;
+
+    private LibraryCompletion(Library library) {
+        this.keys = new HashMap<>();
+        for (Field field : FIELDS) {
+            keys.put(field.name, field.key.apply(library));
+        }
+        this.errorLogs = new HashSet<>(library.getErrorLogs());
+    }
+
+    /**
+     * Take a snapshot of a library before it is completed.
+     *
+     * @param library the library to complete.
+     * @return the snapshot.
+     */
+    public static LibraryCompletion of(Library library) {
+        return new LibraryCompletion(library);
+    }
+
+    /**
+     * Apply the fields which were filled in by the completion to the current state of the library. Error logs which were
+     * added by the completion are moved to the current library.
+     *
+     * @param completed the completed copy of the library.
+     * @param current   the current state of the library.
+     * @return true if the current library was changed.
+     */
+    public boolean applyTo(Library completed, Library current) {
+        boolean changed = false;
+
+        for (Field field : FIELDS) {
+            Object before = keys.get(field.name);
+            if (Objects.equals(before, field.key.apply(completed))) {
+                continue;
+            }
+            if (Objects.equals(before, field.key.apply(current))) {
+                field.copy.accept(completed, current);
+                changed = true;
+            } else {
+                log.debug("Completed field {} of Library {} is skipped, it was changed in the meantime", field.name, current.getId());
+            }
+        }
+
+        for (LibraryErrorLog errorLog : new ArrayList<>(completed.getErrorLogs())) {
+            if (!errorLogs.contains(errorLog) && !current.containsErrorLogByMessage(errorLog.getMessage())) {
+                current.addErrorLog(errorLog);
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    private static List<Object> licenseKey(Library library) {
+        List<Object> key = new ArrayList<>();
+        key.add(library.getOriginalLicense());
+        for (LicensePerLibrary linkedLicense : library.getLicenses()) {
+            key.add(
+                List.of(
+                    String.valueOf(linkedLicense.getOrderId()),
+                    String.valueOf(linkedLicense.getLinkType()),
+                    String.valueOf(linkedLicense.getLicense() != null ? linkedLicense.getLicense().getId() : null)
+                )
+            );
+        }
+        key.add(library.getLicenseToPublishes().stream().map(License::getId).collect(Collectors.toSet()));
+        key.add(library.getLibraryRisk() != null ? library.getLibraryRisk().getId() : null);
+        return key;
+    }
+
+    private static void copyLicenses(Library from, Library to) {
+        to.setOriginalLicense(from.getOriginalLicense());
+
+        SortedSet<LicensePerLibrary> licenses = new TreeSet<>();
+        for (LicensePerLibrary linkedLicense : from.getLicenses()) {
+            licenses.add(
+                new LicensePerLibrary()
+                    .orderId(linkedLicense.getOrderId())
+                    .linkType(linkedLicense.getLinkType())
+                    .license(linkedLicense.getLicense())
+            );
+        }
+        to.setLicenses(licenses);
+        to.setLicenseToPublishes(new HashSet<>(from.getLicenseToPublishes()));
+        to.setLibraryRisk(from.getLibraryRisk());
+    }
+
+    private static final class Field {
+
+        private final String name;
+        private final Function<Library, Object> key;
+        private final BiConsumer<Library, Library> copy;
+
+        private Field(String name, Function<Library, Object> key, BiConsumer<Library, Library> copy) {
+            this.name = name;
+            this.key = key;
+            this.copy = copy;
+        }
+    }
+}
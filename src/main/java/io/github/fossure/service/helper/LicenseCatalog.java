@@ -0,0 +1,122 @@
+package io.github.fossure.service.helper;
+
+import io.github.fossure.domain.License;
+import io.github.fossure.domain.LicenseRisk;
+import io.github.fossure.domain.Requirement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-only snapshot of all licenses with their {@link LicenseRisk} and {@link Requirement}s, keyed by id and short
+ * identifier. The snapshot holds detached copies of the entities, so it can be shared between threads and is not tied
+ * to a persistence context. The lazy relations of the licenses (conflicts, libraries) are not part of the snapshot.
+ * <p>
+ * The entities of the snapshot must not be modified. A snapshot is replaced as a whole when a license, license risk or
+ * requirement changes, see {@code LicenseService#invalidateLicenseCatalog()}.
+ */
+public class LicenseCatalog {
+
+    private final Map<Long, License> licensesById;
+    private final Map<String, License> licensesByShortIdentifier;
+    private final List<LicenseRisk> risks;
+
+    /**
+     * Copy the licenses and license risks into a snapshot.
+     *
+     * @param licenses all licenses, with their license risk and requirements loaded.
+     * @param licenseRisks all license risks.
+     */
+    public LicenseCatalog(Collection<License> licenses, Collection<LicenseRisk> licenseRisks) {
+        Map<Long, LicenseRisk> riskCopies = new HashMap<>();
+        for (LicenseRisk licenseRisk : licenseRisks) {
+            riskCopies.put(licenseRisk.getId(), copyOf(licenseRisk));
+        }
+
+        Map<Long, Requirement> requirementCopies = new HashMap<>();
+        Map<Long, License> byId = new HashMap<>();
+        Map<String, License> byShortIdentifier = new HashMap<>();
+        for (License license : licenses) {
+            License copy = copyOf(license, riskCopies, requirementCopies);
+            byId.put(copy.getId(), copy);
+            byShortIdentifier.putIfAbsent(copy.getShortIdentifier(), copy);
+        }
+
+        List<LicenseRisk> sortedRisks = new ArrayList<>(riskCopies.values());
+        sortedRisks.sort(Comparator.comparing(LicenseRisk::getId));
+
+        this.licensesById = Collections.unmodifiableMap(byId);
+        this.licensesByShortIdentifier = Collections.unmodifiableMap(byShortIdentifier);
+        this.risks = Collections.unmodifiableList(sortedRisks);
+    }
+
+    private static License copyOf(License license, Map<Long, LicenseRisk> riskCopies, Map<Long, Requirement> requirementCopies) {
+        License copy = new License();
+        copy.setId(license.getId());
+        copy.setFullName(license.getFullName());
+        copy.setShortIdentifier(license.getShortIdentifier());
+        copy.setSpdxIdentifier(license.getSpdxIdentifier());
+        copy.setUrl(license.getUrl());
+        copy.setGenericLicenseText(license.getGenericLicenseText());
+        copy.setOther(license.getOther());
+        copy.setReviewed(license.getReviewed());
+        copy.setLastReviewedDate(license.getLastReviewedDate());
+        copy.setLastReviewedBy(license.getLastReviewedBy());
+
+        if (license.getLicenseRisk() != null) {
+            copy.setLicenseRisk(riskCopies.computeIfAbsent(license.getLicenseRisk().getId(), id -> copyOf(license.getLicenseRisk())));
+        }
+
+        Set<Requirement> requirements = new HashSet<>();
+        for (Requirement requirement : license.getRequirements()) {
+            requirements.add(requirementCopies.computeIfAbsent(requirement.getId(), id -> copyOf(requirement)));
+        }
+        copy.setRequirements(Collections.unmodifiableSet(requirements));
+
+        return copy;
+    }
+
+    private static LicenseRisk copyOf(LicenseRisk licenseRisk) {
+        LicenseRisk copy = new LicenseRisk();
+        copy.setId(licenseRisk.getId());
+        copy.setName(licenseRisk.getName());
+        copy.setLevel(licenseRisk.getLevel());
+        copy.setDescription(licenseRisk.getDescription());
+        copy.setColor(licenseRisk.getColor());
+        return copy;
+    }
+
+    private static Requirement copyOf(Requirement requirement) {
+        Requirement copy = new Requirement();
+        copy.setId(requirement.getId());
+        copy.setShortText(requirement.getShortText());
+        copy.setDescription(requirement.getDescription());
+        return copy;
+    }
+
+    public Optional<License> findOne(Long id) {
+        return Optional.ofNullable(id == null ? null : licensesById.get(id));
+    }
+
+    public Optional<License> findOneByShortIdentifier(String shortIdentifier) {
+        return Optional.ofNullable(shortIdentifier == null ? null : licensesByShortIdentifier.get(shortIdentifier));
+    }
+
+    /**
+     * @return all license risks, ordered by id.
+     */
+    public List<LicenseRisk> getRisks() {
+        return risks;
+    }
+
+    public int size() {
+        return licensesById.size();
+    }
+}
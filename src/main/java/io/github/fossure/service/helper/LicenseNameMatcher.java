@@ -0,0 +1,114 @@
+package io.github.fossure.service.helper;
+
+import io.github.fossure.domain.LicenseNamingMapping;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maps license names to the uniform short identifiers of the {@link LicenseNamingMapping}s. The regexes of all mappings
+ * are compiled once, and the ids of the licenses the names were resolved to are memoized.
+ * <p>
+ * An instance is a snapshot of the mappings and is replaced as a whole when a mapping or license changes, see
+ * {@code LicenseService#invalidateLicenseNameMatcher()}.
+ */
+public class LicenseNameMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(LicenseNameMatcher.class);
+
+    private final List<CompiledMapping> mappings;
+    private final Map<String, Long> licenseIds;
+
+    /**
+     * Compile the mappings. Mappings with an invalid regex are skipped.
+     *
+     * @param mappings the mappings, in the order in which they are tried.
+     * @param memoSize the number of license names whose resolved license is memoized.
+     */
+    public LicenseNameMatcher(List<LicenseNamingMapping> mappings, int memoSize) {
+        List<CompiledMapping> compiledMappings = new ArrayList<>(mappings.size());
+        for (LicenseNamingMapping mapping : mappings) {
+            try {
+                compiledMappings.add(new CompiledMapping(Pattern.compile(mapping.getRegex()), mapping.getUniformShortIdentifier()));
+            } catch (PatternSyntaxException | IllegalArgumentException e) {
+                log.warn("License naming mapping {} has an invalid regex and is skipped : {}", mapping.getId(), e.getMessage());
+            }
+        }
+        this.mappings = Collections.unmodifiableList(compiledMappings);
+        this.licenseIds =
+            Collections.synchronizedMap(
+                new LinkedHashMap<String, Long>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                        return size() > memoSize;
+                    }
+                }
+            );
+    }
+
+    /**
+     * Map a license name to its uniform short identifier. The first mapping whose regex replaces the whole name by the
+     * uniform short identifier is used.
+     *
+     * @param license the license name.
+     * @return the uniform short identifier, or the license name if no mapping matches.
+     */
+    public String match(String license) {
+        for (CompiledMapping mapping : mappings) {
+            if (mapping.matches(license)) {
+                return mapping.uniformShortIdentifier;
+            }
+        }
+        return license;
+    }
+
+    /**
+     * Get the id of the license a license name was resolved to.
+     *
+     * @return the id, or null if the name wasn't resolved yet.
+     */
+    public Long getLicenseId(String license) {
+        return licenseIds.get(license);
+    }
+
+    public void putLicenseId(String license, Long licenseId) {
+        licenseIds.put(license, licenseId);
+    }
+
+    public int size() {
+        return mappings.size();
+    }
+
+    private static final class CompiledMapping {
+
+        private final Pattern pattern;
+        private final String uniformShortIdentifier;
+
+        private CompiledMapping(Pattern pattern, String uniformShortIdentifier) {
+            this.pattern = pattern;
+            this.uniformShortIdentifier = uniformShortIdentifier;
+        }
+
+        /**
+         * Same check as {@code license.replaceAll(regex, uniformShortIdentifier).equals(uniformShortIdentifier)}, but
+         * with the precompiled pattern.
+         */
+        private boolean matches(String license) {
+            if (uniformShortIdentifier == null) {
+                return false;
+            }
+            try {
+                return pattern.matcher(license).replaceAll(uniformShortIdentifier).equals(uniformShortIdentifier);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                // The uniform short identifier references a group which the regex doesn't have
+                return false;
+            }
+        }
+    }
+}
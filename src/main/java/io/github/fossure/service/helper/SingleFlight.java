@@ -0,0 +1,86 @@
+package io.github.fossure.service.helper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces concurrent identical lookups. While a lookup for a key is in flight, further callers with the same key don't
+ * repeat it, but wait for the running lookup and share its result or exception. Nothing is cached: as soon as the lookup
+ * finished, the next call for the key starts a new one.
+ * <p>
+ * Used around the enrichment calls (URL parsers, registry lookups, license text downloads, copyright analysis), as
+ * parallel uploads and multi-module projects often enrich the same coordinates at the same moment.
+ *
+ * @param <V> the type of the result.
+ * @param <E> the type of the checked exception thrown by the lookups.
+ */
+public class SingleFlight<V, E extends Exception> {
+
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E, InterruptedException;
+    }
+
+    private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Class<E> exceptionType;
+
+    public SingleFlight(Class<E> exceptionType) {
+        this.exceptionType = exceptionType;
+    }
+
+    /**
+     * Execute a lookup, or wait for the identical lookup which is already in flight.
+     *
+     * @param key the coordinate or URL which identifies the lookup.
+     * @param loader the lookup, only called if no lookup for the key is in flight.
+     * @return the result of the lookup, may be null.
+     * @throws E if the lookup failed.
+     * @throws InterruptedException if the calling thread is interrupted.
+     */
+    public V execute(String key, Loader<V, E> loader) throws E, InterruptedException {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return await(key, running, loader);
+        }
+
+        try {
+            V value = loader.load();
+            flight.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Number of lookups which are currently in flight.
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private V await(String key, CompletableFuture<V> running, Loader<V, E> loader) throws E, InterruptedException {
+        try {
+            return running.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InterruptedException) {
+                // Only the thread of the running lookup was interrupted, the waiting caller does the lookup itself
+                return execute(key, loader);
+            } else if (exceptionType.isInstance(cause)) {
+                throw exceptionType.cast(cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
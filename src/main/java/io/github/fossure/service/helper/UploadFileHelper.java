@@ -0,0 +1,175 @@
+package io.github.fossure.service.helper;
+
+import io.github.fossure.service.exceptions.UploadException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Helper class to spool uploaded or downloaded files to a temporary file, so the content is never kept in memory.
+ */
+public class UploadFileHelper {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadFileHelper.class);
+
+    private static final String TEMP_FILE_PREFIX = "fossure-upload-";
+    private static final int BUFFER_SIZE = 8192;
+
+    private UploadFileHelper() {}
+
+    /**
+     * Copies the stream to a temporary file. The upload limit is checked while copying, so a file which exceeds the
+     * limit is aborted as soon as the limit is reached.
+     *
+     * @param inputStream Stream of the file
+     * @param uploadLimit Maximum upload limit in megabyte
+     * @return Path to the temporary file. The caller is responsible for deleting the file.
+     * @throws UploadException if the file exceeds the upload limit.
+     * @throws IOException     if an I/O error occurs while reading the stream or writing the temporary file.
+     */
+    public static Path spoolToTempFile(InputStream inputStream, int uploadLimit) throws UploadException, IOException {
+        return spoolToTempFile(inputStream, uploadLimit, null);
+    }
+
+    /**
+     * Copies the stream to a temporary file in the given directory. A file in a persistent directory survives a restart
+     * of the application, so an unfinished upload job can be resumed.
+     *
+     * @param inputStream    Stream of the file
+     * @param uploadLimit    Maximum upload limit in megabyte
+     * @param spoolDirectory Directory for the file, the system temp directory if blank
+     * @return Path to the temporary file. The caller is responsible for deleting the file.
+     * @throws UploadException if the file exceeds the upload limit.
+     * @throws IOException     if an I/O error occurs while reading the stream or writing the temporary file.
+     */
+    public static Path spoolToTempFile(InputStream inputStream, int uploadLimit, String spoolDirectory)
+        throws UploadException, IOException {
+        final long limitInBytes = toBytes(uploadLimit);
+
+        Path tempFile = createTempFile(spoolDirectory);
+        try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long total = 0;
+            int read;
+
+            while ((read = inputStream.read(buffer)) != -1) {
+                total += read;
+                if (total > limitInBytes) {
+                    log.error("File size is too large. Maximum upload limit: {} MB", uploadLimit);
+                    throw new UploadException("File size is too large. Maximum upload limit: " + uploadLimit + " MB");
+                }
+                outputStream.write(buffer, 0, read);
+            }
+        } catch (UploadException | IOException e) {
+            deleteTempFile(tempFile);
+            throw e;
+        }
+
+        return tempFile;
+    }
+
+    /**
+     * Creates an empty temporary file in the given directory.
+     *
+     * @param spoolDirectory Directory for the file, the system temp directory if blank
+     * @return Path to the temporary file. The caller is responsible for deleting the file.
+     * @throws IOException if the directory or the file can't be created.
+     */
+    public static Path createTempFile(String spoolDirectory) throws IOException {
+        if (StringUtils.isBlank(spoolDirectory)) {
+            return Files.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+        }
+        Path directory = Files.createDirectories(Path.of(spoolDirectory));
+        return Files.createTempFile(directory, TEMP_FILE_PREFIX, ".tmp");
+    }
+
+    /**
+     * Wraps a stream, so reading fails as soon as more bytes than the upload limit are read.
+     *
+     * @param inputStream Stream of the file
+     * @param uploadLimit Maximum upload limit in megabyte
+     * @return the limited stream.
+     */
+    public static InputStream limitStream(InputStream inputStream, int uploadLimit) {
+        return new LimitedInputStream(inputStream, uploadLimit);
+    }
+
+    /**
+     * Deletes a temporary file. Errors are only logged.
+     *
+     * @param tempFile Path to the temporary file
+     */
+    public static void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("Temporary file {} could not be deleted : {}", tempFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Converts the upload limit from megabyte to byte. A megabyte is 1024 * 1024 bytes, like in the multipart size limits
+     * of Spring. Used for the stream limits and the check of the 'Content-Length' header.
+     *
+     * @param uploadLimit Upload limit in megabyte
+     * @return Upload limit in byte
+     */
+    public static long toBytes(int uploadLimit) {
+        return DataSize.parse(uploadLimit + "MB").toBytes();
+    }
+
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private final int uploadLimit;
+        private final long limitInBytes;
+        private long total;
+
+        LimitedInputStream(InputStream in, int uploadLimit) {
+            super(in);
+            this.uploadLimit = uploadLimit;
+            this.limitInBytes = toBytes(uploadLimit);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) count(read);
+            return read;
+        }
+
+        @Override
+        public boolean markSupported() {
+            // A reset would count the bytes twice
+            return false;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long bytes) throws IOException {
+            total += bytes;
+            if (total > limitInBytes) {
+                log.error("File size is too large. Maximum upload limit: {} MB", uploadLimit);
+                throw new IOException("File size is too large. Maximum upload limit: " + uploadLimit + " MB");
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.fossure.service.helper.expression;
+
+import io.github.fossure.domain.enumeration.LinkType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable syntax tree of a license expression like {@code "(MIT OR Apache-2.0) AND BSD-3-Clause"}. A tree is either a
+ * {@link Reference} to a single license or a {@link Compound} of operands linked by {@link LinkType#AND} or
+ * {@link LinkType#OR}.
+ * <p>
+ * Instances are shared between all libraries with the same license expression, see {@link LicenseExpressionParser}.
+ */
+public abstract class LicenseExpression {
+
+    LicenseExpression() {}
+
+    /**
+     * All license references of the expression, in the order in which they appear.
+     */
+    public abstract List<Reference> getReferences();
+
+    /**
+     * The link types between consecutive license references, i.e. the operator of the innermost compound which contains
+     * both references. The list has one element less than {@link #getReferences()}.
+     */
+    public abstract List<LinkType> getLinkTypes();
+
+    /**
+     * Build an expression from a flat sequence of licenses and the link types between them, as stored in the
+     * LicensePerLibrary entities. OR binds tighter than AND, this is how linked licenses were evaluated before license
+     * expressions were parsed: an OR only chose between a license and the license before it (e.g.
+     * {@code "MIT OR Apache-2.0 AND ISC"} is {@code "(MIT OR Apache-2.0) AND ISC"}). The sequence ends at the first
+     * missing link type.
+     *
+     * @param identifiers the licenses.
+     * @param linkTypes the link type after each license.
+     * @return the expression, or null if there are no licenses.
+     */
+    public static LicenseExpression ofLegacyLinkedLicenses(List<String> identifiers, List<LinkType> linkTypes) {
+        return ofLinkedLicenses(identifiers, linkTypes, LinkType.OR, LinkType.AND);
+    }
+
+    private static LicenseExpression ofLinkedLicenses(List<String> identifiers, List<LinkType> linkTypes, LinkType inner, LinkType outer) {
+        List<LicenseExpression> outerOperands = new ArrayList<>();
+        List<LicenseExpression> innerOperands = new ArrayList<>();
+        for (int i = 0; i < identifiers.size(); i++) {
+            innerOperands.add(new Reference(identifiers.get(i), null));
+
+            LinkType linkType = i < linkTypes.size() ? linkTypes.get(i) : null;
+            if (linkType != inner) {
+                outerOperands.add(Compound.of(inner, innerOperands));
+                innerOperands = new ArrayList<>();
+            }
+            if (linkType == null) {
+                break;
+            }
+        }
+        return outerOperands.isEmpty() ? null : Compound.of(outer, outerOperands);
+    }
+
+    /**
+     * A single license, optionally with an exception (e.g. {@code "GPL-2.0-only WITH Classpath-exception-2.0"}).
+     */
+    public static final class Reference extends LicenseExpression {
+
+        private final String identifier;
+        private final String exception;
+
+        Reference(String identifier, String exception) {
+            this.identifier = Objects.requireNonNull(identifier);
+            this.exception = exception;
+        }
+
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        /**
+         * @return the exception, or null if the license has none.
+         */
+        public String getException() {
+            return exception;
+        }
+
+        /**
+         * The text to look up the license by. A license with an exception is looked up as a whole, as the exception
+         * changes the terms of the license.
+         */
+        public String getText() {
+            return exception == null ? identifier : identifier + " WITH " + exception;
+        }
+
+        @Override
+        public List<Reference> getReferences() {
+            return Collections.singletonList(this);
+        }
+
+        @Override
+        public List<LinkType> getLinkTypes() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String toString() {
+            return getText();
+        }
+    }
+
+    /**
+     * Operands linked by the same link type.
+     */
+    public static final class Compound extends LicenseExpression {
+
+        private final LinkType linkType;
+        private final List<LicenseExpression> operands;
+        private final List<Reference> references;
+        private final List<LinkType> linkTypes;
+
+        private Compound(LinkType linkType, List<LicenseExpression> operands) {
+            this.linkType = linkType;
+            this.operands = Collections.unmodifiableList(new ArrayList<>(operands));
+
+            List<Reference> allReferences = new ArrayList<>();
+            List<LinkType> allLinkTypes = new ArrayList<>();
+            for (LicenseExpression operand : operands) {
+                if (!allReferences.isEmpty()) {
+                    allLinkTypes.add(linkType);
+                }
+                allReferences.addAll(operand.getReferences());
+                allLinkTypes.addAll(operand.getLinkTypes());
+            }
+            this.references = Collections.unmodifiableList(allReferences);
+            this.linkTypes = Collections.unmodifiableList(allLinkTypes);
+        }
+
+        /**
+         * Link the operands. A single operand is returned as it is.
+         */
+        static LicenseExpression of(LinkType linkType, List<LicenseExpression> operands) {
+            return operands.size() == 1 ? operands.get(0) : new Compound(linkType, operands);
+        }
+
+        public LinkType getLinkType() {
+            return linkType;
+        }
+
+        public List<LicenseExpression> getOperands() {
+            return operands;
+        }
+
+        @Override
+        public List<Reference> getReferences() {
+            return references;
+        }
+
+        @Override
+        public List<LinkType> getLinkTypes() {
+            return linkTypes;
+        }
+
+        @Override
+        public String toString() {
+            return operands
+                .stream()
+                .map(operand -> operand instanceof Compound ? "(" + operand + ")" : operand.toString())
+                .collect(Collectors.joining(" " + linkType.getValue() + " "));
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package io.github.fossure.service.helper.expression;
+
+import io.github.fossure.domain.enumeration.LinkType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses license expressions into {@link LicenseExpression} trees. The grammar follows SPDX license expressions: WITH binds
+ * tighter than AND, AND binds tighter than OR, and parentheses group sub-expressions. Operators are case-insensitive, and
+ * "/" and " + " are read as OR like in the license strings of the package registries.
+ * <p>
+ * License names may contain spaces and parentheses (e.g. {@code "Apache License (Version 2.0)"}). A parenthesis only
+ * opens a group where a license is expected. The parser is lenient: dangling operators are ignored and unclosed groups
+ * are closed at the end of the expression.
+ * <p>
+ * The parsed trees are memoized by expression string, so libraries sharing an expression parse it once.
+ */
+public class LicenseExpressionParser {
+
+    private enum TokenType {
+        LICENSE,
+        AND,
+        OR,
+        WITH,
+        OPEN,
+        CLOSE;
+    }
+
+    private static final class Token {
+
+        private final TokenType type;
+        private final String text;
+
+        private Token(TokenType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+    }
+
+    private final Map<String, LicenseExpression> expressions;
+
+    /**
+     * @param memoSize the number of expressions whose tree is memoized.
+     */
+    public LicenseExpressionParser(int memoSize) {
+        this.expressions =
+            Collections.synchronizedMap(
+                new LinkedHashMap<String, LicenseExpression>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, LicenseExpression> eldest) {
+                        return size() > memoSize;
+                    }
+                }
+            );
+    }
+
+    /**
+     * Parse a license expression.
+     *
+     * @param expression the license expression, e.g. {@code "(MIT OR Apache-2.0) AND BSD-3-Clause"}.
+     * @return the tree of the expression. An empty expression is a single reference to an empty license name.
+     */
+    public LicenseExpression parse(String expression) {
+        String key = expression == null ? "" : expression.trim();
+        LicenseExpression result = expressions.get(key);
+        if (result == null) {
+            result = new Parser(tokenize(key)).parseExpression();
+            expressions.put(key, result);
+        }
+        return result;
+    }
+
+    public int size() {
+        return expressions.size();
+    }
+
+    private static List<Token> tokenize(String expression) {
+        List<Token> tokens = new ArrayList<>();
+        int length = expression.length();
+        int groupDepth = 0;
+        // Span and unclosed parentheses of the license name which is read
+        int nameStart = -1;
+        int nameEnd = -1;
+        int nameDepth = 0;
+
+        int i = 0;
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (c == '/') {
+                addName(tokens, expression, nameStart, nameEnd);
+                nameStart = -1;
+                nameDepth = 0;
+                tokens.add(new Token(TokenType.OR, "/"));
+                i++;
+                continue;
+            }
+            if (c == '(' && nameStart < 0) {
+                tokens.add(new Token(TokenType.OPEN, "("));
+                groupDepth++;
+                i++;
+                continue;
+            }
+            if (c == ')' && nameDepth == 0 && groupDepth > 0) {
+                addName(tokens, expression, nameStart, nameEnd);
+                nameStart = -1;
+                tokens.add(new Token(TokenType.CLOSE, ")"));
+                groupDepth--;
+                i++;
+                continue;
+            }
+
+            int wordStart = i;
+            while (i < length && !Character.isWhitespace(expression.charAt(i)) && expression.charAt(i) != '/') {
+                char d = expression.charAt(i);
+                if (d == '(') {
+                    nameDepth++;
+                } else if (d == ')') {
+                    if (nameDepth > 0) {
+                        nameDepth--;
+                    } else if (groupDepth > 0) {
+                        break;
+                    }
+                }
+                i++;
+            }
+
+            TokenType operator = operatorOf(expression.substring(wordStart, i));
+            if (operator != null) {
+                addName(tokens, expression, nameStart, nameEnd);
+                nameStart = -1;
+                nameDepth = 0;
+                tokens.add(new Token(operator, null));
+            } else {
+                if (nameStart < 0) {
+                    nameStart = wordStart;
+                }
+                nameEnd = i;
+            }
+        }
+        addName(tokens, expression, nameStart, nameEnd);
+
+        return tokens;
+    }
+
+    private static void addName(List<Token> tokens, String expression, int nameStart, int nameEnd) {
+        if (nameStart >= 0) {
+            tokens.add(new Token(TokenType.LICENSE, expression.substring(nameStart, nameEnd)));
+        }
+    }
+
+    private static TokenType operatorOf(String word) {
+        if (word.equals("+") || word.equalsIgnoreCase("or")) {
+            return TokenType.OR;
+        } else if (word.equalsIgnoreCase("and")) {
+            return TokenType.AND;
+        } else if (word.equalsIgnoreCase("with")) {
+            return TokenType.WITH;
+        }
+        return null;
+    }
+
+    /**
+     * Recursive descent parser over the tokens of one expression. Methods return null if there is no operand at the
+     * current position.
+     */
+    private static final class Parser {
+
+        private final List<Token> tokens;
+        private int position;
+
+        private Parser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        private LicenseExpression parseExpression() {
+            List<LicenseExpression> parts = new ArrayList<>();
+            while (position < tokens.size()) {
+                int start = position;
+                LicenseExpression part = parseOr();
+                if (part != null) {
+                    parts.add(part);
+                }
+                if (position == start) {
+                    // Skip the token which doesn't fit, e.g. a WITH without a license before it
+                    position++;
+                }
+            }
+
+            if (parts.isEmpty()) {
+                return new LicenseExpression.Reference("", null);
+            }
+            return LicenseExpression.Compound.of(LinkType.AND, parts);
+        }
+
+        private LicenseExpression parseOr() {
+            return parseLinked(LinkType.OR, TokenType.OR);
+        }
+
+        private LicenseExpression parseAnd() {
+            return parseLinked(LinkType.AND, TokenType.AND);
+        }
+
+        private LicenseExpression parseLinked(LinkType linkType, TokenType operator) {
+            List<LicenseExpression> operands = new ArrayList<>();
+            do {
+                LicenseExpression operand = linkType == LinkType.OR ? parseAnd() : parseWith();
+                if (operand != null) {
+                    operands.add(operand);
+                }
+            } while (accept(operator));
+
+            return operands.isEmpty() ? null : LicenseExpression.Compound.of(linkType, operands);
+        }
+
+        private LicenseExpression parseWith() {
+            LicenseExpression operand = parsePrimary();
+            if (operand != null && accept(TokenType.WITH)) {
+                Token exception = peek();
+                if (exception != null && exception.type == TokenType.LICENSE) {
+                    position++;
+                    if (operand instanceof LicenseExpression.Reference) {
+                        operand = new LicenseExpression.Reference(((LicenseExpression.Reference) operand).getIdentifier(), exception.text);
+                    }
+                }
+            }
+            return operand;
+        }
+
+        private LicenseExpression parsePrimary() {
+            Token token = peek();
+            if (token == null) {
+                return null;
+            }
+            if (token.type == TokenType.LICENSE) {
+                position++;
+                return new LicenseExpression.Reference(token.text, null);
+            }
+            if (token.type == TokenType.OPEN) {
+                position++;
+                LicenseExpression group = parseOr();
+                accept(TokenType.CLOSE);
+                return group;
+            }
+            return null;
+        }
+
+        private boolean accept(TokenType type) {
+            Token token = peek();
+            if (token != null && token.type == type) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private Token peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package io.github.fossure.service.helper.maven;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.service.helper.net.OutboundHttpClient;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Resolves the licenses of a Maven artifact from the {@code <licenses>} element of its POM. If the POM doesn't declare
+ * licenses, the parent POMs are followed. Only the POM files are downloaded from the configured repository, which can be
+ * Maven Central, a repository manager or a local mirror ({@code file://}).
+ * <p>
+ * Parsed POMs are cached by their coordinates (GAV), so the parent POMs shared by many artifacts are only fetched once.
+ */
+@Component
+public class MavenLicenseResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(MavenLicenseResolver.class);
+
+    private static final int MAX_PARENT_DEPTH = 10;
+
+    private final OutboundHttpClient outboundHttpClient;
+    private final String repositoryUrl;
+    private final Map<String, Optional<Pom>> poms;
+
+    public MavenLicenseResolver(ApplicationProperties applicationProperties, OutboundHttpClient outboundHttpClient) {
+        this.outboundHttpClient = outboundHttpClient;
+        ApplicationProperties.Maven properties = applicationProperties.getMaven();
+        this.repositoryUrl = StringUtils.appendIfMissing(properties.getRepositoryUrl().trim(), "/");
+        int pomCacheSize = Math.max(0, properties.getPomCacheSize());
+        this.poms =
+            Collections.synchronizedMap(
+                new LinkedHashMap<String, Optional<Pom>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Optional<Pom>> eldest) {
+                        return size() > pomCacheSize;
+                    }
+                }
+            );
+    }
+
+    public String getRepositoryUrl() {
+        return repositoryUrl;
+    }
+
+    /**
+     * Resolve the licenses of an artifact.
+     *
+     * @param groupId    the group id of the artifact
+     * @param artifactId the artifact id of the artifact
+     * @param version    the version of the artifact
+     * @return the names of the licenses declared by the POM of the artifact or its nearest parent, empty if none are
+     * declared or the POM doesn't exist
+     * @throws IOException          if a POM cannot be fetched or parsed
+     * @throws InterruptedException if the download of a POM is interrupted
+     */
+    public List<String> resolveLicenses(String groupId, String artifactId, String version) throws IOException, InterruptedException {
+        String parentGroupId = groupId;
+        String parentArtifactId = artifactId;
+        String parentVersion = version;
+
+        for (int depth = 0; depth <= MAX_PARENT_DEPTH; depth++) {
+            Optional<Pom> pom = getPom(parentGroupId, parentArtifactId, parentVersion);
+            if (pom.isEmpty()) {
+                return Collections.emptyList();
+            }
+            if (!pom.get().licenses.isEmpty()) {
+                return pom.get().licenses;
+            }
+            if (pom.get().parent == null) {
+                return Collections.emptyList();
+            }
+            parentGroupId = pom.get().parent[0];
+            parentArtifactId = pom.get().parent[1];
+            parentVersion = pom.get().parent[2];
+        }
+        log.debug("Stopped following the parent POMs of {}:{}:{} after {} levels", groupId, artifactId, version, MAX_PARENT_DEPTH);
+        return Collections.emptyList();
+    }
+
+    private Optional<Pom> getPom(String groupId, String artifactId, String version) throws IOException, InterruptedException {
+        String gav = groupId + ":" + artifactId + ":" + version;
+        Optional<Pom> pom = poms.get(gav);
+        if (pom != null) {
+            return pom;
+        }
+
+        String url =
+            repositoryUrl + groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/" + artifactId + "-" + version + ".pom";
+        log.debug("Fetching POM : {}", url);
+        try (InputStream inputStream = open(url)) {
+            pom = Optional.of(parse(inputStream));
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            pom = Optional.empty();
+        }
+        poms.put(gav, pom);
+        return pom;
+    }
+
+    private InputStream open(String url) throws IOException, InterruptedException {
+        URI uri = URI.create(url);
+        if ("file".equalsIgnoreCase(uri.getScheme())) {
+            return Files.newInputStream(Path.of(uri));
+        }
+
+        HttpRequest request = outboundHttpClient.newRequest(uri).GET().build();
+        HttpResponse<InputStream> response = outboundHttpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() == 404 || response.statusCode() == 410) {
+            response.body().close();
+            throw new FileNotFoundException(url);
+        } else if (response.statusCode() >= 400) {
+            response.body().close();
+            throw new IOException("Repository returned status " + response.statusCode() + " for " + url);
+        }
+        return response.body();
+    }
+
+    /**
+     * Parse the licenses and the parent of a POM. External entities are not resolved.
+     */
+    static Pom parse(InputStream inputStream) throws IOException {
+        Document document;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setExpandEntityReferences(false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            document = builder.parse(inputStream);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("POM could not be parsed : " + e.getMessage(), e);
+        }
+
+        Element project = document.getDocumentElement();
+        List<String> licenses = new ArrayList<>();
+        Element licensesElement = child(project, "licenses");
+        if (licensesElement != null) {
+            for (Element license : children(licensesElement, "license")) {
+                String name = text(child(license, "name"));
+                String url = text(child(license, "url"));
+                if (StringUtils.isNotBlank(name)) {
+                    licenses.add(name);
+                } else if (StringUtils.isNotBlank(url)) {
+                    licenses.add(url);
+                }
+            }
+        }
+
+        String[] parent = null;
+        Element parentElement = child(project, "parent");
+        if (parentElement != null) {
+            String groupId = text(child(parentElement, "groupId"));
+            String artifactId = text(child(parentElement, "artifactId"));
+            String version = text(child(parentElement, "version"));
+            // Parents with unresolved properties (e.g. ${revision}) cannot be located
+            if (StringUtils.isNoneBlank(groupId, artifactId, version) && !(groupId + artifactId + version).contains("${")) {
+                parent = new String[] { groupId, artifactId, version };
+            }
+        }
+        return new Pom(Collections.unmodifiableList(licenses), parent);
+    }
+
+    private static Element child(Element parent, String name) {
+        List<Element> children = children(parent, name);
+        return children.isEmpty() ? null : children.get(0);
+    }
+
+    private static List<Element> children(Element parent, String name) {
+        List<Element> children = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeType() == Node.ELEMENT_NODE && name.equals(localName(node))) {
+                children.add((Element) node);
+            }
+        }
+        return children;
+    }
+
+    private static String localName(Node node) {
+        String name = node.getNodeName();
+        return name.substring(name.indexOf(':') + 1);
+    }
+
+    private static String text(Element element) {
+        return element != null ? StringUtils.normalizeSpace(element.getTextContent()) : null;
+    }
+
+    static final class Pom {
+
+        final List<String> licenses;
+        final String[] parent;
+
+        private Pom(List<String> licenses, String[] parent) {
+            this.licenses = licenses;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.fossure.service.helper.net;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.service.exceptions.GithubRateLimitException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scheduler for requests to the GitHub REST API, which allows 60 requests per hour without and 5000 requests per hour
+ * with a token.
+ * <p>
+ * The budget of the current window is read from the X-RateLimit-Remaining and X-RateLimit-Reset headers of every
+ * response. Requests are paced so that the remaining budget is spread over the rest of the window. A request which would
+ * have to wait longer than the configured maximum, or which is sent while the budget is exhausted, fails immediately with
+ * a {@link GithubRateLimitException}, so the caller can park the lookup and retry it after {@link #getReset()}.
+ * <p>
+ * The budget is tracked per instance, so all requests to GitHub have to share the bean configured from the
+ * {@link ApplicationProperties.Github} properties.
+ */
+public class GithubRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(GithubRateLimiter.class);
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String RESET_HEADER = "X-RateLimit-Reset";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private final OutboundHttpClient outboundHttpClient;
+    private final String token;
+    private final long maxWait;
+
+    // Unknown until the first response was received
+    private long remaining = -1;
+    private long reset;
+    private long nextRequest;
+
+    public GithubRateLimiter(ApplicationProperties.Github properties, OutboundHttpClient outboundHttpClient) {
+        this.outboundHttpClient = outboundHttpClient;
+        this.token = properties.getToken();
+        this.maxWait = Math.max(0, properties.getMaxWait());
+    }
+
+    /**
+     * Create a request builder for the GitHub API, authenticated with the configured token (if any).
+     *
+     * @param uri the URI of the request
+     * @return a request builder
+     */
+    public HttpRequest.Builder newRequest(URI uri) {
+        HttpRequest.Builder builder = outboundHttpClient.newRequest(uri).header("Accept", "application/vnd.github+json");
+        if (StringUtils.isNotBlank(token)) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    /**
+     * Send a request to the GitHub API within the rate limit and update the budget from the response.
+     *
+     * @param request     the request
+     * @param bodyHandler the handler for the response body
+     * @param <T>         the type of the response body
+     * @return the response
+     * @throws GithubRateLimitException if the budget is exhausted or GitHub rejected the request because of the rate limit
+     * @throws IOException              if an I/O error occurs
+     * @throws InterruptedException     if the request is interrupted
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        long wait = acquire();
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+
+        HttpResponse<T> response = outboundHttpClient.send(request, bodyHandler);
+        if (update(response.statusCode(), response.headers())) {
+            log.info("GitHub rate limit reached, the budget resets at {}", Instant.ofEpochMilli(getReset()));
+            throw new GithubRateLimitException();
+        }
+        return response;
+    }
+
+    /**
+     * Check whether requests can be sent, i.e. the budget of the current window isn't exhausted or the window was reset.
+     *
+     * @return true if a request can be sent now
+     */
+    public synchronized boolean isAvailable() {
+        return remaining != 0 || System.currentTimeMillis() >= reset;
+    }
+
+    /**
+     * @return the time in epoch milliseconds when the budget of the current window is reset, 0 if unknown
+     */
+    public synchronized long getReset() {
+        return reset;
+    }
+
+    /**
+     * Reserve the slot of the next request.
+     *
+     * @return the delay in milliseconds until the request may be sent
+     */
+    synchronized long acquire() throws GithubRateLimitException {
+        long now = System.currentTimeMillis();
+        if (now >= reset) {
+            // New window, the budget is unknown until the next response
+            remaining = -1;
+            nextRequest = now;
+        }
+        if (remaining == 0) {
+            throw new GithubRateLimitException();
+        }
+
+        long start = Math.max(now, nextRequest);
+        if (start - now > maxWait) {
+            throw new GithubRateLimitException();
+        }
+
+        // The remaining budget is spread evenly over the rest of the window
+        long interval = remaining > 0 ? (reset - now) / remaining : 0;
+        nextRequest = start + interval;
+        if (remaining > 0) {
+            remaining--;
+        }
+        return start - now;
+    }
+
+    /**
+     * Update the budget from the headers of a response.
+     *
+     * @return true if the request was rejected because of the rate limit
+     */
+    synchronized boolean update(int statusCode, HttpHeaders headers) {
+        long now = System.currentTimeMillis();
+        headers.firstValueAsLong(REMAINING_HEADER).ifPresent(value -> remaining = value);
+        headers.firstValueAsLong(RESET_HEADER).ifPresent(value -> reset = value * 1000);
+
+        if (statusCode != 403 && statusCode != 429) {
+            return false;
+        }
+
+        // Secondary rate limits are announced with a Retry-After header instead
+        var retryAfter = headers.firstValueAsLong(RETRY_AFTER_HEADER);
+        if (retryAfter.isPresent()) {
+            remaining = 0;
+            reset = Math.max(reset, now + retryAfter.getAsLong() * 1000);
+        }
+        if (remaining == 0 && reset <= now) {
+            reset = now + 60_000;
+        }
+        return remaining == 0;
+    }
+}
@@ -5,24 +5,32 @@ import java.net.*;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Base64;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
 
+/**
+ * Helper for the requests to external services which need more than a single call of the {@link OutboundHttpClient},
+ * like downloads to files, uploads and basic authentication.
+ */
+@Component
 public class HttpHelper {
 
     private static final Logger log = LoggerFactory.getLogger(HttpHelper.class);
-    private static final int CLIENT_TIMEOUT = 60;
 
-    public static final int REQUEST_TIMEOUT = 30;
+    private final OutboundHttpClient outboundHttpClient;
+
+    public HttpHelper(OutboundHttpClient outboundHttpClient) {
+        this.outboundHttpClient = outboundHttpClient;
+    }
 
     /**
      * Transfer a file to a specific URL.
@@ -31,7 +39,7 @@ public class HttpHelper {
      * @param data     file that will be transferred. If data is null, then an empty file will be transferred
      * @param fileName this is the name under which the file is saved at the target
      */
-    public static void transferToTarget(String url, byte[] data, String fileName) {
+    public void transferToTarget(String url, byte[] data, String fileName) {
         log.debug("Transfer file to target : {} -> {}", fileName, url);
 
         // Create empty byte array for data if it is null, otherwise a NullPointerException would be thrown
@@ -41,17 +49,16 @@ public class HttpHelper {
 
         url = url.endsWith("/") ? url : url + "/";
 
-        HttpClient client = createDefaultHttpClient();
-
         try {
-            HttpRequest request = HttpRequest
-                .newBuilder()
-                .timeout(Duration.ofSeconds(REQUEST_TIMEOUT))
-                .uri(URI.create(url + fileName))
+            HttpRequest request = outboundHttpClient
+                .newRequest(URI.create(url + fileName))
                 .PUT(HttpRequest.BodyPublishers.ofByteArray(data))
                 .build();
-            client.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (IOException | InterruptedException e) {
+            outboundHttpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Transfer of file to URL interrupted : {}", url);
+        } catch (IOException e) {
             log.error("Can't transfer file to URL : {} : {}", url, e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("URL contains illegal characters : {} : {}", url, e.getMessage());
@@ -67,96 +74,57 @@ public class HttpHelper {
      * @param zipFile        file to transfer
      * @throws IOException if the ZIP cannot be transferred to the remote platform
      */
-    public static void transferZipToTargetWithCredentials(String remotePlatform, String user, String password, java.io.File zipFile)
+    public void transferZipToTargetWithCredentials(String remotePlatform, String user, String password, java.io.File zipFile)
         throws IOException {
-        var fullUrl = remotePlatform + zipFile.getName();
-        var url = new URL(fullUrl);
-
-        //Parses the authentication header (base64-encoded)
-        String auth = user + ":" + password;
-        byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
-        String authorizationHeader = "Basic " + new String(encodedAuth);
-
-        //Creates new HTTP connection with chunked communication
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setConnectTimeout(CLIENT_TIMEOUT * 1000);
-        connection.setReadTimeout(60 * 1000);
-        connection.setRequestMethod("PUT");
-        connection.setDoOutput(true);
-        connection.setDoInput(true);
-        connection.setUseCaches(false);
-        connection.setRequestProperty("Authorization", authorizationHeader);
-        connection.setChunkedStreamingMode(65536);
-        connection.setRequestProperty("Content-Type", "application/zip");
-        connection.connect();
-
-        //File content is read from the input-stream and written via the output-stream
-        int status;
-        byte[] bufferedByte;
-        try (OutputStream output = connection.getOutputStream(); InputStream input = new FileInputStream(zipFile)) {
-            do {
-                bufferedByte = new byte[65536];
-                status = input.read(bufferedByte);
-                //While-Do loop creates unnecessary padding which makes the ZIP file unreadable by the Windows Explorer
-                //If bufferedByte is completely empty, the loop is broken
-                if (isAllEmpty(bufferedByte)) {
-                    break;
-                }
-                output.write(bufferedByte);
-            } while (status != -1);
-            output.flush();
+        //The file is streamed from the disk, the upload of large archives is not limited by the request timeout
+        HttpRequest request = HttpRequest
+            .newBuilder()
+            .uri(toURI(remotePlatform + zipFile.getName()))
+            .header("Authorization", getBasicAuthenticationHeader(user, password))
+            .header("Content-Type", "application/zip")
+            .PUT(HttpRequest.BodyPublishers.ofFile(zipFile.toPath()))
+            .build();
+
+        HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+        if (!isSuccessful(response)) {
+            throw new IOException(
+                String.format("Server returned HTTP response code: %d for URL: %s", response.statusCode(), request.uri())
+            );
         }
     }
 
     /**
-     * Download a file to the local storage system.
+     * Download a file to the local storage system. Nothing is saved if the server does not respond with status 200.
      *
      * @param source      URL to the source that will be downloaded
      * @param destination path to the file on the local system
      * @throws IOException if no connection can be established or the source cannot be saved
      */
-    public static void downloadResource(String source, java.io.File destination) throws IOException {
-        var url = new URL(source);
-
-        //Creates new HTTP connection
-        HttpURLConnection huc = (HttpURLConnection) url.openConnection();
-        int responseCode = huc.getResponseCode();
-        if (responseCode == HttpURLConnection.HTTP_OK) {
-            //Input stream the file is read into
-            var inputStream = huc.getInputStream();
-
-            //Output stream the file is saved into
-            try (var outputStream = new FileOutputStream(destination)) {
-                int bytesRead;
-                var buffer = new byte[1024];
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
+    public void downloadResource(String source, java.io.File destination) throws IOException {
+        HttpResponse<InputStream> response = send(outboundHttpClient.newRequest(toURI(source)).GET().build());
+
+        try (InputStream inputStream = response.body()) {
+            if (response.statusCode() == 200) {
+                Files.copy(inputStream, destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
-            inputStream.close();
-            huc.disconnect();
         }
     }
 
     /**
-     * Download a file to the local storage system. This method is more efficient because
-     * depending on the underlying operating system, the data can be transferred directly from the filesystem cache
-     * to our file without copying any bytes into the application memory.
+     * Download a file to the local storage system. The body is streamed from the connection to the file without
+     * holding it in memory.
      *
      * @param source      URL to the source that will be downloaded
      * @param destination folder where the source will be saved.
      *                    File will have the same name as the file on the source side
      * @throws IOException if some I/O error occurs while downloading or saving to the file system
      */
-    public static void downloadResource(String source, String destination) throws IOException {
-        try (ReadableByteChannel readableByteChannel = Channels.newChannel(new URL(source).openStream())) {
-            // Add trailing slash if missing
-            destination = destination.endsWith("/") ? destination : destination + "/";
+    public void downloadResource(String source, String destination) throws IOException {
+        // Add trailing slash if missing
+        destination = destination.endsWith("/") ? destination : destination + "/";
 
-            FileOutputStream fileOutputStream = new FileOutputStream(destination + FilenameUtils.getName(source));
-            fileOutputStream.getChannel().transferFrom(readableByteChannel, 0, Long.MAX_VALUE);
-
-            fileOutputStream.close();
+        try (InputStream inputStream = downloadResource(source)) {
+            Files.copy(inputStream, Path.of(destination + FilenameUtils.getName(source)), StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -167,16 +135,8 @@ public class HttpHelper {
      * @return the file as an input stream
      * @throws IOException if no connection can be established or other connection problems occur
      */
-    public static InputStream downloadResource(String source) throws IOException {
-        URL url = new URL(source);
-        return new BufferedInputStream(url.openStream());
-    }
-
-    public static Pair<HttpURLConnection, InputStream> downloadResource2(String source) throws IOException {
-        URL url = new URL(source);
-        HttpURLConnection urlConnection = (HttpURLConnection) url.openConnection();
-
-        return Pair.of(urlConnection, new BufferedInputStream(urlConnection.getInputStream()));
+    public InputStream downloadResource(String source) throws IOException {
+        return bodyOf(send(outboundHttpClient.newRequest(toURI(source)).GET().build()));
     }
 
     /**
@@ -186,17 +146,19 @@ public class HttpHelper {
      * @return the file as an input stream
      * @throws IOException if no connection can be established or other connection problems occur
      */
-    public static InputStream downloadResourceWithAuthentication(String source, String username, String password) throws IOException {
-        URL url = new URL(source);
-        HttpURLConnection urlConnection = (HttpURLConnection) url.openConnection();
-        urlConnection.setRequestProperty("Authorization", getBasicAuthenticationHeader(username, password));
+    public InputStream downloadResourceWithAuthentication(String source, String username, String password) throws IOException {
+        HttpRequest request = outboundHttpClient
+            .newRequest(toURI(source))
+            .header("Authorization", getBasicAuthenticationHeader(username, password))
+            .GET()
+            .build();
 
-        return new BufferedInputStream(urlConnection.getInputStream());
+        return bodyOf(send(request));
     }
 
     /**
      * Send a HEAD request to the specified URI.
-     * Creates a new HTTP client.
+     * Uses the shared outbound HTTP client.
      *
      * @param uri the URI to send the GET request
      * @return a HTTP response
@@ -204,20 +166,18 @@ public class HttpHelper {
      * @throws IOException          if an I/O error occurs when sending or receiving
      * @throws InterruptedException if the GET request gets interrupted
      */
-    public static HttpResponse<String> httpHeadRequest(String uri) throws URISyntaxException, IOException, InterruptedException {
-        HttpRequest request = HttpRequest
-            .newBuilder()
-            .timeout(Duration.ofSeconds(REQUEST_TIMEOUT))
-            .uri(new URI(uri))
+    public HttpResponse<String> httpHeadRequest(String uri) throws URISyntaxException, IOException, InterruptedException {
+        HttpRequest request = outboundHttpClient
+            .newRequest(new URI(uri))
             .method("HEAD", HttpRequest.BodyPublishers.noBody())
             .build();
 
-        return createDefaultHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        return outboundHttpClient.send(request, HttpResponse.BodyHandlers.ofString());
     }
 
     /**
      * Send a HEAD request to the specified URI with an authorization.
-     * Creates a new HTTP client.
+     * Uses the shared outbound HTTP client.
      *
      * @param uri the URI to send the GET request
      * @return a HTTP response
@@ -225,21 +185,43 @@ public class HttpHelper {
      * @throws IOException          if an I/O error occurs when sending or receiving
      * @throws InterruptedException if the GET request gets interrupted
      */
-    public static HttpResponse<String> httpHeadRequestWithAuthorization(String uri, String username, String password)
+    public HttpResponse<String> httpHeadRequestWithAuthorization(String uri, String username, String password)
         throws URISyntaxException, IOException, InterruptedException {
-        HttpRequest request = HttpRequest
-            .newBuilder()
-            .timeout(Duration.ofSeconds(REQUEST_TIMEOUT))
-            .uri(new URI(uri))
+        HttpRequest request = outboundHttpClient
+            .newRequest(new URI(uri))
             .header("Authorization", getBasicAuthenticationHeader(username, password))
             .method("HEAD", HttpRequest.BodyPublishers.noBody())
             .build();
 
-        return createDefaultHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        return outboundHttpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Send a GET request to the specified URI and return the body as a stream. The body is not read by this method,
+     * the caller is responsible for closing the stream. A basic authentication is used if username and password are set.
+     * Uses the shared outbound HTTP client.
+     *
+     * @param uri      the URI to send the GET request
+     * @param username username for the basic authentication (optional)
+     * @param password password for the basic authentication (optional)
+     * @return a HTTP response with the body as a stream
+     * @throws URISyntaxException   if the given string violates RFC 2396
+     * @throws IOException          if an I/O error occurs when sending or receiving
+     * @throws InterruptedException if the GET request gets interrupted
+     */
+    public HttpResponse<InputStream> httpGetStreamRequest(String uri, String username, String password)
+        throws URISyntaxException, IOException, InterruptedException {
+        HttpRequest.Builder builder = outboundHttpClient.newRequest(new URI(uri)).GET();
+
+        if (username != null && !username.isBlank() && password != null && !password.isBlank()) {
+            builder.header("Authorization", getBasicAuthenticationHeader(username, password));
+        }
+
+        return outboundHttpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
     }
 
     /**
-     * Send a GET request to the specified URI. Creates a new HTTP client.
+     * Send a GET request to the specified URI. Uses the shared outbound HTTP client.
      *
      * @param uri the URI to send the GET request
      * @return a HTTP response
@@ -247,15 +229,15 @@ public class HttpHelper {
      * @throws IOException          if an I/O error occurs when sending or receiving
      * @throws InterruptedException if the GET request gets interrupted
      */
-    public static HttpResponse<String> httpGetRequest(String uri) throws URISyntaxException, IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(REQUEST_TIMEOUT)).uri(new URI(uri)).GET().build();
+    public HttpResponse<String> httpGetRequest(String uri) throws URISyntaxException, IOException, InterruptedException {
+        HttpRequest request = outboundHttpClient.newRequest(new URI(uri)).GET().build();
 
-        return createDefaultHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        return outboundHttpClient.send(request, HttpResponse.BodyHandlers.ofString());
     }
 
     /**
      * Send a GET request to the specified URI with an authorization.
-     * Creates a new HTTP client.
+     * Uses the shared outbound HTTP client.
      *
      * @param uri the URI to send the GET request
      * @return a HTTP response
@@ -263,33 +245,31 @@ public class HttpHelper {
      * @throws IOException          if an I/O error occurs when sending or receiving
      * @throws InterruptedException if the GET request gets interrupted
      */
-    public static HttpResponse<String> httpGetRequestWithAuthorization(String uri, String username, String password)
+    public HttpResponse<String> httpGetRequestWithAuthorization(String uri, String username, String password)
         throws URISyntaxException, IOException, InterruptedException {
-        HttpRequest request = HttpRequest
-            .newBuilder()
-            .timeout(Duration.ofSeconds(REQUEST_TIMEOUT))
-            .uri(new URI(uri))
+        HttpRequest request = outboundHttpClient
+            .newRequest(new URI(uri))
             .GET()
             .header("Content-Type", "application/json")
             .header("Authorization", getBasicAuthenticationHeader(username, password))
             .build();
 
-        return createDefaultHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        return outboundHttpClient.send(request, HttpResponse.BodyHandlers.ofString());
     }
 
     /**
-     * Send a GET request asynchronously to the specified URI. Creates a new HTTP client
+     * Send a GET request asynchronously to the specified URI. Uses the shared outbound HTTP client.
      *
      * @param uri             the URI to send the GET request
      * @param responseHandler handler for the response
      * @return a CompletableFuture<Void>
      * @throws URISyntaxException if the given uri violates RFC 2396
      */
-    public static CompletableFuture<Void> asyncHttpGetRequest(String uri, Consumer<? super HttpResponse<String>> responseHandler)
+    public CompletableFuture<Void> asyncHttpGetRequest(String uri, Consumer<? super HttpResponse<String>> responseHandler)
         throws URISyntaxException {
-        HttpRequest request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(REQUEST_TIMEOUT)).uri(new URI(uri)).GET().build();
+        HttpRequest request = outboundHttpClient.newRequest(new URI(uri)).GET().build();
 
-        return createDefaultHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenAccept(responseHandler);
+        return outboundHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenAccept(responseHandler);
     }
 
     /**
@@ -303,60 +283,69 @@ public class HttpHelper {
      * @throws IOException          if an I/O error occurs when sending or receiving
      * @throws InterruptedException if the GET request is interrupted
      */
-    public static HttpResponse<String> httpGetRequest(String uri, HttpClient client)
+    public HttpResponse<String> httpGetRequest(String uri, HttpClient client)
         throws URISyntaxException, IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(REQUEST_TIMEOUT)).uri(new URI(uri)).GET().build();
+        HttpRequest request = outboundHttpClient.newRequest(new URI(uri)).GET().build();
 
         return client.send(request, HttpResponse.BodyHandlers.ofString());
     }
 
     /**
-     * Create a default HTTP client with the following configuration: <br>
-     * Connection timeout: <b>60 seconds</b><br>
+     * Get the pooled HTTP client of the shared outbound HTTP client with the following configuration: <br>
+     * Connection timeout: <b>application.http.connect-timeout</b> (60 seconds by default)<br>
      * Follow redirects: <b>ALWAYS</b>
      *
      * @return a HTTP client
      */
-    public static HttpClient createDefaultHttpClient() {
-        return HttpClient
-            .newBuilder()
-            .connectTimeout(Duration.ofSeconds(CLIENT_TIMEOUT))
-            .followRedirects(HttpClient.Redirect.ALWAYS)
-            .build();
+    public HttpClient createDefaultHttpClient() {
+        return outboundHttpClient.getClient();
+    }
+
+    protected static String getBasicAuthenticationHeader(String username, String password) {
+        String userPass = username + ":" + password;
+        return "Basic " + Base64.getEncoder().encodeToString(userPass.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
-     * Create a default HTTP client with a custom connection timeout and the following configuration: <br>
-     * Follow redirects: <b>ALWAYS</b>
-     *
-     * @param connectionTimeout timeout in seconds
-     * @return a HTTP client
+     * Send a GET request through the shared outbound HTTP client and return the body as a stream.
+     * An interruption is reported as an {@link InterruptedIOException}, the interrupt flag stays set.
      */
-    public static HttpClient createDefaultHttpClient(int connectionTimeout) {
-        return HttpClient
-            .newBuilder()
-            .connectTimeout(Duration.ofSeconds(connectionTimeout))
-            .followRedirects(HttpClient.Redirect.ALWAYS)
-            .build();
+    private HttpResponse<InputStream> send(HttpRequest request) throws IOException {
+        return send(request, HttpResponse.BodyHandlers.ofInputStream());
     }
 
-    protected static String getBasicAuthenticationHeader(String username, String password) {
-        String userPass = username + ":" + password;
-        return "Basic " + Base64.getEncoder().encodeToString(userPass.getBytes(StandardCharsets.UTF_8));
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException {
+        try {
+            return outboundHttpClient.send(request, bodyHandler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request to " + request.uri() + " was interrupted");
+        }
     }
 
     /**
-     * Checks if all entries in a byte array are zero
-     *
-     * @param bytes byte array
-     * @return true if all bytes are zero, otherwise false
+     * Return the buffered body of a successful response. Otherwise the body is closed and an IOException is thrown,
+     * like {@link URL#openStream()} does.
      */
-    private static boolean isAllEmpty(byte[] bytes) {
-        for (var entry : bytes) {
-            if (entry != 0) {
-                return false;
-            }
+    private static InputStream bodyOf(HttpResponse<InputStream> response) throws IOException {
+        if (!isSuccessful(response)) {
+            response.body().close();
+            throw new IOException(
+                String.format("Server returned HTTP response code: %d for URL: %s", response.statusCode(), response.uri())
+            );
+        }
+        return new BufferedInputStream(response.body());
+    }
+
+    private static boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static URI toURI(String url) throws MalformedURLException {
+        try {
+            return new URI(url);
+        } catch (URISyntaxException e) {
+            throw new MalformedURLException(e.getMessage());
         }
-        return true;
     }
 }
@@ -0,0 +1,275 @@
+package io.github.fossure.service.helper.net;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.service.helper.SingleFlight;
+import io.github.fossure.service.helper.net.NegativeResultCache.Failure;
+import io.github.fossure.service.helper.net.NegativeResultCache.LookupType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.regex.Pattern;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.jsoup.Jsoup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persistent cache of downloaded license texts.
+ * <p>
+ * The texts are stored already sanitized (plain texts wrapped in a &lt;pre&gt; tag, the body of HTML pages) and content
+ * addressed: a text is saved once under its SHA-256 hash in {@code texts/}, no matter how many URLs point to it. For every
+ * normalized URL a small entry in {@code entries/} references the text together with the ETag and Last-Modified headers
+ * of the last response. After the time to live the entry is revalidated with a conditional request, a 304 response only
+ * refreshes the entry. If the server cannot be reached, the outdated text is served.
+ * <p>
+ * URLs which could not be downloaded recently (e.g. because of a timeout) are not requested again until their backoff
+ * expired, see {@link NegativeResultCache}.
+ */
+@Component
+public class LicenseTextCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LicenseTextCache.class);
+
+    private static final Pattern HTML_PATTERN = Pattern.compile(
+        "<!doctype html(>| [^>]*>)|<html(>| [^>]*>)",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    private static final String URL = "url";
+    private static final String CONTENT_HASH = "contentHash";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String VALIDATED = "validated";
+
+    private final OutboundHttpClient outboundHttpClient;
+    private final NegativeResultCache negativeResultCache;
+    private final Path entryDirectory;
+    private final Path textDirectory;
+    private final Duration timeToLive;
+    private final SingleFlight<String, IOException> downloads = new SingleFlight<>(IOException.class);
+
+    public LicenseTextCache(
+        ApplicationProperties applicationProperties,
+        OutboundHttpClient outboundHttpClient,
+        NegativeResultCache negativeResultCache
+    ) {
+        ApplicationProperties.LicenseTextCache properties = applicationProperties.getLicenseTextCache();
+        Path directory = StringUtils.isBlank(properties.getDirectory())
+            ? Path.of(System.getProperty("java.io.tmpdir"), "fossure-license-texts")
+            : Path.of(properties.getDirectory());
+
+        this.outboundHttpClient = outboundHttpClient;
+        this.negativeResultCache = negativeResultCache;
+        this.entryDirectory = directory.resolve("entries");
+        this.textDirectory = directory.resolve("texts");
+        this.timeToLive = Duration.ofHours(properties.getTimeToLive());
+    }
+
+    /**
+     * Get the sanitized license text of an URL. The text is read from the cache if it is still valid, otherwise it is
+     * (re-)validated or downloaded.
+     *
+     * @param url URL of the license text
+     * @return the body of the HTML page, or the escaped plain text in a &lt;pre&gt; tag
+     * @throws URISyntaxException   if the url is not valid
+     * @throws IOException          if the license text is neither cached nor can be downloaded
+     * @throws InterruptedException if the download gets interrupted
+     */
+    public String getLicenseText(String url) throws URISyntaxException, IOException, InterruptedException {
+        URI uri = normalize(url);
+        Path entryFile = entryDirectory.resolve(DigestUtils.sha256Hex(uri.toString()) + ".properties");
+
+        Properties cachedEntry = readEntry(entryFile);
+        String cachedText = cachedEntry != null ? readText(cachedEntry.getProperty(CONTENT_HASH)) : null;
+        if (cachedText != null && isFresh(cachedEntry)) {
+            log.debug("License text of {} read from cache", uri);
+            return cachedText;
+        }
+
+        // Concurrent downloads of the same URL share one request
+        Properties entry = cachedText != null ? cachedEntry : null;
+        return downloads.execute(uri.toString(), () -> download(uri, entryFile, entry, cachedText));
+    }
+
+    /**
+     * Download the license text of an URL, or revalidate the cached text if an entry exists.
+     */
+    private String download(URI uri, Path entryFile, Properties entry, String cachedText) throws IOException, InterruptedException {
+        Failure failure = negativeResultCache.getFailure(LookupType.LICENSE_TEXT, uri.toString());
+        if (failure != null) {
+            if (cachedText != null) return cachedText;
+            throw new IOException("Download of " + uri + " is skipped after a recent failure (" + failure + ")");
+        }
+
+        HttpRequest.Builder request = outboundHttpClient.newRequest(uri).GET();
+        if (entry != null) {
+            if (entry.containsKey(ETAG)) request.header("If-None-Match", entry.getProperty(ETAG));
+            if (entry.containsKey(LAST_MODIFIED)) request.header("If-Modified-Since", entry.getProperty(LAST_MODIFIED));
+        }
+
+        HttpResponse<String> response;
+        try {
+            response = outboundHttpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            negativeResultCache.recordFailure(LookupType.LICENSE_TEXT, uri.toString(), Failure.of(e));
+            if (cachedText == null) throw e;
+            log.debug("License text of {} cannot be revalidated, the cached text is used : {}", uri, e.getMessage());
+            return cachedText;
+        }
+
+        if (response.statusCode() == 304 && entry != null) {
+            writeEntry(entryFile, entry, response);
+            return cachedText;
+        }
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            if (cachedText != null) {
+                log.debug("License text of {} cannot be revalidated (HTTP {}), the cached text is used", uri, response.statusCode());
+                return cachedText;
+            }
+            // Error pages are returned like before, but they are not cached
+            return sanitize(response.body());
+        }
+
+        String licenseText = sanitize(response.body());
+        String contentHash = writeText(licenseText);
+
+        Properties newEntry = new Properties();
+        newEntry.setProperty(URL, uri.toString());
+        newEntry.setProperty(CONTENT_HASH, contentHash);
+        writeEntry(entryFile, newEntry, response);
+
+        return licenseText;
+    }
+
+    /**
+     * Normalize an URL, so that different spellings of the same resource share a cache entry. GitHub blob pages are
+     * replaced by the raw file.
+     */
+    static URI normalize(String url) throws URISyntaxException {
+        url = url.trim();
+        if (url.contains("github.com") && url.contains("/blob/")) {
+            url = url.replace("github.com", "raw.githubusercontent.com").replace("raw.raw.", "raw.").replace("/blob/", "/");
+        }
+
+        URI uri = new URI(url).normalize();
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : null;
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : null;
+        int port = uri.getPort();
+        if (("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443)) {
+            port = -1;
+        }
+        if (host == null) {
+            return uri;
+        }
+
+        String authority = port != -1 ? host + ":" + port : host;
+        String path = StringUtils.isEmpty(uri.getRawPath()) ? "/" : uri.getRawPath();
+        String query = uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "";
+        return new URI(scheme + "://" + authority + path + query);
+    }
+
+    /**
+     * Sanitize a downloaded license text: plain texts are escaped and wrapped in a &lt;pre&gt; tag, of HTML pages only
+     * the body is kept.
+     */
+    static String sanitize(String licenseText) {
+        if (!HTML_PATTERN.matcher(licenseText).find()) {
+            licenseText = "<pre>\n" + StringEscapeUtils.escapeHtml4(licenseText.stripTrailing()) + "\n</pre>";
+        }
+
+        return Jsoup.parse(licenseText).body().html();
+    }
+
+    private boolean isFresh(Properties entry) {
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(entry.getProperty(VALIDATED, "0"))).plus(timeToLive).isAfter(Instant.now());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private Properties readEntry(Path entryFile) {
+        if (!Files.isRegularFile(entryFile)) return null;
+
+        Properties entry = new Properties();
+        try (InputStream inputStream = Files.newInputStream(entryFile)) {
+            entry.load(inputStream);
+            return entry.containsKey(CONTENT_HASH) ? entry : null;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Cache entry {} cannot be read : {}", entryFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private String readText(String contentHash) {
+        Path textFile = textDirectory.resolve(contentHash + ".html");
+        try {
+            return Files.isRegularFile(textFile) ? Files.readString(textFile, StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            log.warn("Cached license text {} cannot be read : {}", textFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Save a license text under its hash, if no identical text is saved yet.
+     *
+     * @return the hash of the license text
+     */
+    private String writeText(String licenseText) {
+        String contentHash = DigestUtils.sha256Hex(licenseText);
+        Path textFile = textDirectory.resolve(contentHash + ".html");
+        if (!Files.exists(textFile)) {
+            try {
+                Files.createDirectories(textDirectory);
+                Path temp = Files.createTempFile(textDirectory, contentHash, ".tmp");
+                Files.writeString(temp, licenseText, StandardCharsets.UTF_8);
+                move(temp, textFile);
+            } catch (IOException e) {
+                log.warn("License text cannot be cached in {} : {}", textDirectory, e.getMessage());
+            }
+        }
+        return contentHash;
+    }
+
+    private void writeEntry(Path entryFile, Properties entry, HttpResponse<?> response) {
+        response.headers().firstValue("ETag").ifPresent(etag -> entry.setProperty(ETAG, etag));
+        response.headers().firstValue("Last-Modified").ifPresent(lastModified -> entry.setProperty(LAST_MODIFIED, lastModified));
+        entry.setProperty(VALIDATED, String.valueOf(Instant.now().toEpochMilli()));
+
+        try {
+            Files.createDirectories(entryDirectory);
+            Path temp = Files.createTempFile(entryDirectory, "entry", ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(temp)) {
+                entry.store(outputStream, null);
+            }
+            move(temp, entryFile);
+        } catch (IOException e) {
+            log.warn("Cache entry {} cannot be written : {}", entryFile, e.getMessage());
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
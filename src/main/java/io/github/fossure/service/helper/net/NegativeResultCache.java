@@ -0,0 +1,204 @@
+package io.github.fossure.service.helper.net;
+
+import io.github.fossure.config.ApplicationProperties;
+import java.io.FileNotFoundException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory store of failed metadata lookups (license and source code URLs, licenses from the registries, license texts,
+ * URL checks). A failed lookup is skipped until its next allowed retry, so the enrichment doesn't wait for the same
+ * timeouts and 404s of dead endpoints again for every library and every re-evaluation.
+ * <p>
+ * The backoff starts with the initial backoff and is doubled with every further failure of the same lookup, up to the
+ * maximum backoff. A successful lookup removes the entry.
+ * <p>
+ * The pipeline steps, URL parsers and license text downloads share the bean configured from the
+ * {@link ApplicationProperties.NegativeResultCache} properties.
+ */
+public class NegativeResultCache {
+
+    /**
+     * The kind of lookup, lookups of different kinds with the same key are independent.
+     */
+    public enum LookupType {
+        /** Source code URL of a library, keyed by purl or coordinates. */
+        SOURCE_CODE_URL,
+        /** License URL of a library, keyed by purl or coordinates. */
+        LICENSE_URL,
+        /** License of a npm package from the registry, keyed by its identifier. */
+        NPM_LICENSE,
+        /** License of a Maven artifact from its POM, keyed by GAV. */
+        MAVEN_LICENSE,
+        /** Download of a license text, keyed by URL. */
+        LICENSE_TEXT,
+        /** Reachability check of an URL, keyed by URL. */
+        URL_CHECK,
+    }
+
+    /**
+     * The class of a failure.
+     */
+    public enum Failure {
+        /** The lookup was answered, but without a result. */
+        EMPTY,
+        /** The resource doesn't exist (e.g. HTTP 404). */
+        NOT_FOUND,
+        /** The server didn't answer in time. */
+        TIMEOUT,
+        /** Any other error, e.g. a refused connection or an unexpected response. */
+        ERROR;
+
+        /**
+         * Classify the exception of a failed lookup.
+         *
+         * @param throwable the exception thrown by the lookup.
+         * @return the failure class of the exception.
+         */
+        public static Failure of(Throwable throwable) {
+            if (throwable instanceof FileNotFoundException || throwable instanceof NoSuchFileException) {
+                return NOT_FOUND;
+            }
+            if (
+                throwable instanceof HttpTimeoutException ||
+                throwable instanceof SocketTimeoutException ||
+                throwable instanceof InterruptedIOException
+            ) {
+                return TIMEOUT;
+            }
+            return ERROR;
+        }
+    }
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final int maxEntries;
+
+    public NegativeResultCache(ApplicationProperties.NegativeResultCache properties) {
+        this.initialBackoff = Duration.ofMinutes(Math.max(0, properties.getInitialBackoff())).toMillis();
+        this.maxBackoff = Math.max(initialBackoff, Duration.ofMinutes(Math.max(0, properties.getMaxBackoff())).toMillis());
+        this.maxEntries = Math.max(0, properties.getMaxEntries());
+    }
+
+    /**
+     * Get the failure of a lookup which must not be retried yet.
+     *
+     * @param type the kind of lookup.
+     * @param key the coordinate or URL of the lookup.
+     * @return the class of the last failure, or null if the lookup may be executed.
+     */
+    public Failure getFailure(LookupType type, String key) {
+        Entry entry = entries.get(new Key(type, key));
+        return entry != null && !entry.isRetryAllowed() ? entry.failure : null;
+    }
+
+    /**
+     * Check if a lookup failed recently and must not be retried yet.
+     */
+    public boolean isBackedOff(LookupType type, String key) {
+        return getFailure(type, key) != null;
+    }
+
+    /**
+     * Record a failed lookup. The next retry is allowed after the backoff, which is doubled with every consecutive
+     * failure.
+     *
+     * @param type the kind of lookup.
+     * @param key the coordinate or URL of the lookup.
+     * @param failure the class of the failure.
+     */
+    public void recordFailure(LookupType type, String key, Failure failure) {
+        if (initialBackoff == 0) {
+            return;
+        }
+        Key entryKey = new Key(type, key);
+        if (entries.size() >= maxEntries && !entries.containsKey(entryKey)) {
+            entries.values().removeIf(Entry::isRetryAllowed);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.compute(
+            entryKey,
+            (k, previous) -> {
+                int failures = previous != null ? previous.failures + 1 : 1;
+                return new Entry(failure, failures, System.currentTimeMillis() + backoff(failures));
+            }
+        );
+    }
+
+    /**
+     * Record a successful lookup, a previous failure is forgotten.
+     */
+    public void recordSuccess(LookupType type, String key) {
+        entries.remove(new Key(type, key));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * The backoff after a number of consecutive failures: the initial backoff doubled for every further failure, limited
+     * by the maximum backoff.
+     */
+    long backoff(int failures) {
+        long backoff = initialBackoff;
+        for (int i = 1; i < failures && backoff < maxBackoff; i++) {
+            backoff *= 2;
+        }
+        return Math.min(backoff, maxBackoff);
+    }
+
+    private static final class Key {
+
+        private final LookupType type;
+        private final String key;
+
+        private Key(LookupType type, String key) {
+            this.type = type;
+            this.key = key == null ? "" : key.trim();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return type == other.type && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, key);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Failure failure;
+        private final int failures;
+        private final long nextRetry;
+
+        private Entry(Failure failure, int failures, long nextRetry) {
+            this.failure = failure;
+            this.failures = failures;
+            this.nextRetry = nextRetry;
+        }
+
+        private boolean isRetryAllowed() {
+            return System.currentTimeMillis() >= nextRetry;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package io.github.fossure.service.helper.net;
+
+import io.github.fossure.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Outbound HTTP component shared by all calls to external services (package registries, GitHub, the source code archive,
+ * Fossology, ...). It wraps one {@link HttpClient}, so connections, TLS sessions and HTTP/2 streams are pooled and reused
+ * instead of being opened for every request.
+ * <p>
+ * The number of requests in flight to the same host is limited, so a large enrichment run cannot flood a single registry.
+ * Idempotent requests (GET and HEAD) are retried after connection errors and 429/502/503/504 responses with an
+ * exponential backoff with full jitter.
+ * <p>
+ * One instance is configured from the {@link ApplicationProperties.Http} properties and injected into all components
+ * which call external services, e.g. {@link HttpHelper}.
+ */
+public class OutboundHttpClient {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundHttpClient.class);
+
+    private static final Set<Integer> RETRYABLE_STATUS_CODES = Set.of(429, 502, 503, 504);
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD");
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxConcurrentRequestsPerHost;
+    private final int maxRetries;
+    private final long retryBackoff;
+    private final ConcurrentMap<String, HostPermits> hostPermits = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(ApplicationProperties.Http properties) {
+        this.client =
+            HttpClient
+                .newBuilder()
+                .connectTimeout(Duration.ofSeconds(properties.getConnectTimeout()))
+                .followRedirects(HttpClient.Redirect.ALWAYS)
+                .build();
+        this.requestTimeout = Duration.ofSeconds(properties.getRequestTimeout());
+        this.maxConcurrentRequestsPerHost = Math.max(1, properties.getMaxConcurrentRequestsPerHost());
+        this.maxRetries = Math.max(0, properties.getMaxRetries());
+        this.retryBackoff = Math.max(0, properties.getRetryBackoff());
+    }
+
+    /**
+     * Get the underlying pooled HTTP client. Requests sent directly with it bypass the per-host limit and the retries.
+     *
+     * @return the pooled HTTP client
+     */
+    public HttpClient getClient() {
+        return client;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Create a request builder for the URI with the configured request timeout.
+     *
+     * @param uri the URI of the request
+     * @return a request builder
+     */
+    public HttpRequest.Builder newRequest(URI uri) {
+        return HttpRequest.newBuilder().timeout(requestTimeout).uri(uri);
+    }
+
+    /**
+     * Send a request and wait for the response. The request waits for a free slot of its host first. GET and HEAD requests
+     * are retried after connection errors and retryable status codes, the response of the last attempt is returned.
+     * <p>
+     * For streaming body handlers the slot is released as soon as the response headers are received.
+     *
+     * @param request     the request
+     * @param bodyHandler the handler for the response body
+     * @param <T>         the type of the response body
+     * @return the response
+     * @throws IOException          if an I/O error occurs in the last attempt
+     * @throws InterruptedException if the request is interrupted
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+        throws IOException, InterruptedException {
+        int retries = IDEMPOTENT_METHODS.contains(request.method()) ? maxRetries : 0;
+        HostPermits permits = permitsFor(request.uri());
+
+        for (int attempt = 0;; attempt++) {
+            HttpResponse<T> response;
+            permits.acquire();
+            try {
+                response = client.send(request, bodyHandler);
+            } catch (IOException e) {
+                if (attempt >= retries) {
+                    throw e;
+                }
+                log.debug("Request {} {} failed, retrying : {}", request.method(), request.uri(), e.getMessage());
+                Thread.sleep(backoff(attempt, null));
+                continue;
+            } finally {
+                permits.release();
+            }
+
+            if (attempt >= retries || !RETRYABLE_STATUS_CODES.contains(response.statusCode())) {
+                return response;
+            }
+            log.debug("Request {} {} returned status {}, retrying", request.method(), request.uri(), response.statusCode());
+            discard(response);
+            Thread.sleep(backoff(attempt, response));
+        }
+    }
+
+    /**
+     * Send a request asynchronously. The request is sent once a slot of its host is free, it is not retried. No thread
+     * waits for the slot, the request is queued and sent by the request which frees the slot.
+     *
+     * @param request     the request
+     * @param bodyHandler the handler for the response body
+     * @param <T>         the type of the response body
+     * @return a future of the response
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        HostPermits permits = permitsFor(request.uri());
+        return permits
+            .acquireAsync()
+            .thenCompose(ignored -> client.sendAsync(request, bodyHandler))
+            .whenComplete((response, throwable) -> permits.release());
+    }
+
+    private HostPermits permitsFor(URI uri) {
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+        return hostPermits.computeIfAbsent(host + ":" + uri.getPort(), key -> new HostPermits(maxConcurrentRequestsPerHost));
+    }
+
+    /**
+     * Calculate the delay before the next attempt: a random value between zero and the exponentially growing backoff,
+     * but at least the delay requested by a Retry-After header.
+     */
+    private long backoff(int attempt, HttpResponse<?> response) {
+        long ceiling = retryBackoff << Math.min(attempt, 16);
+        long delay = ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+
+        if (response != null) {
+            var retryAfter = response.headers().firstValue("Retry-After");
+            if (retryAfter.isPresent()) {
+                try {
+                    long seconds = Math.min(Long.parseLong(retryAfter.get().trim()), MAX_RETRY_AFTER_SECONDS);
+                    delay = Math.max(delay, seconds * 1000);
+                } catch (NumberFormatException e) {
+                    // HTTP dates are not supported, the calculated backoff is used
+                }
+            }
+        }
+        return delay;
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof InputStream) {
+            try {
+                ((InputStream) response.body()).close();
+            } catch (IOException e) {
+                log.debug("Could not close response body of {} : {}", response.uri(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Slots for the requests in flight to one host. Requests wait for a free slot in the order they asked for one, either
+     * blocking or with a future which is completed when a slot is released.
+     */
+    private static final class HostPermits {
+
+        private final int limit;
+        private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private int inUse;
+
+        private HostPermits(int limit) {
+            this.limit = limit;
+        }
+
+        private synchronized CompletableFuture<Void> acquireAsync() {
+            if (inUse < limit && waiting.isEmpty()) {
+                inUse++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> slot = new CompletableFuture<>();
+            waiting.add(slot);
+            return slot;
+        }
+
+        private void acquire() throws InterruptedException {
+            CompletableFuture<Void> slot = acquireAsync();
+            try {
+                slot.get();
+            } catch (InterruptedException e) {
+                // The slot may have been handed over in the meantime
+                if (!slot.cancel(false)) {
+                    release();
+                }
+                throw e;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        /**
+         * Hand the slot over to the next waiting request, or free it if no request is waiting.
+         */
+        private void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                do {
+                    next = waiting.poll();
+                } while (next != null && next.isCancelled());
+                if (next == null) {
+                    inUse--;
+                    return;
+                }
+            }
+            // Completed outside of the lock, a queued asynchronous request is sent by this thread
+            if (!next.complete(null)) {
+                release();
+            }
+        }
+    }
+}
@@ -38,13 +38,16 @@ public class SourceCodeHelper {
 
     private final ApplicationProperties applicationProperties;
 
+    private final HttpHelper httpHelper;
+
     private String remoteIndexFilePath;
     private String remoteIndexFileName;
     private String remoteIndexPath;
     private String remoteArchivePath;
 
-    public SourceCodeHelper(ApplicationProperties applicationProperties) {
+    public SourceCodeHelper(ApplicationProperties applicationProperties, HttpHelper httpHelper) {
         this.applicationProperties = applicationProperties;
+        this.httpHelper = httpHelper;
     }
 
     @PostConstruct
@@ -148,7 +151,7 @@ public class SourceCodeHelper {
      * @throws IOException if the source code URL from the library cannot be downloaded,
      *                     the transfer of the downloaded file fails or it cannot be written to the local index file.
      */
-    public static void updateRepository(
+    public void updateRepository(
         String label,
         Library library,
         java.io.File indexFile,
@@ -164,10 +167,10 @@ public class SourceCodeHelper {
         String fileExtension = library.getSourceCodeUrl().replaceAll("^.*\\.", ".");
         String fileName = label + fileExtension;
         var libraryPackage = new java.io.File(localArchivePath + fileName);
-        HttpHelper.downloadResource(library.getSourceCodeUrl(), libraryPackage);
+        httpHelper.downloadResource(library.getSourceCodeUrl(), libraryPackage);
 
         //Uploads the library to the external repository
-        HttpHelper.transferToTarget(remoteArchivePath, Files.readAllBytes(libraryPackage.toPath()), fileName);
+        httpHelper.transferToTarget(remoteArchivePath, Files.readAllBytes(libraryPackage.toPath()), fileName);
 
         //Updates the local index file
         try (var writer = new FileWriter(indexFile, StandardCharsets.UTF_8, true)) {
@@ -250,7 +253,7 @@ public class SourceCodeHelper {
 
             //Downloads the up-to-date index.csv file of the remote 3rd-party repository, throws a RemoteRepositoryException if the file is not available
             try {
-                HttpHelper.downloadResource(remoteIndexFilePath, localIndexFile);
+                httpHelper.downloadResource(remoteIndexFilePath, localIndexFile);
             } catch (IOException e) {
                 log.error("Could not download index.csv file from {} : {}", remoteIndexFilePath, e.getMessage());
                 return;
@@ -2,6 +2,7 @@ package io.github.fossure.service.helper.urlparsing;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,10 +39,17 @@ public class LicenseURLparser implements URLparser {
         "copyright.txt",
         "copyright.md",
     };
-    private static final URLparserHelper helper = new URLparserHelper();
+
+    private final URLparserHelper helper;
+    private final RegistryMetadataCache registryMetadataCache;
 
     //Map containing the logic for each repository host with the host's name as key
-    private static final Map<String, ParserCommand> commands = new HashMap<>();
+    private final Map<String, ParserCommand> commands = new HashMap<>();
+
+    public LicenseURLparser(URLparserHelper helper, RegistryMetadataCache registryMetadataCache) {
+        this.helper = helper;
+        this.registryMetadataCache = registryMetadataCache;
+    }
 
     /**
      * Method initializing the map with the commands (as lambdas) for each host repository
@@ -54,8 +62,18 @@ public class LicenseURLparser implements URLparser {
         commands.put(
             "github",
             (groupID, artifactID, version) -> {
-                String url = "https://github.com/" + groupID + "/" + artifactID;
-                if (helper.checkURL(url)) {
+                //The existence of the repository is checked once for all versions
+                String url = registryMetadataCache.get(
+                    GITHUB,
+                    groupID,
+                    artifactID,
+                    RegistryMetadataCache.Attribute.REPOSITORY_URL,
+                    () -> {
+                        String repositoryURL = "https://github.com/" + groupID + "/" + artifactID;
+                        return helper.checkURL(repositoryURL) ? repositoryURL : null;
+                    }
+                );
+                if (url != null) {
                     return githubURL(url, version);
                 }
                 return Constants.NO_URL;
@@ -75,24 +93,32 @@ public class LicenseURLparser implements URLparser {
         commands.put(
             "npm",
             (groupID, artifactID, version) -> {
-                var url = "";
-
-                //Identifier for the NPM package is constructed
-                String npmIdentifier = groupID.equals("") ? artifactID + "/" + version : groupID + "/" + artifactID + "/" + version;
-                String npmURL = "https://registry.npmjs.org/" + npmIdentifier;
-
-                //JSON data is requested from the NPM API
-                var npmBody = helper.downloadFileToString(npmURL);
-
-                //JSONparser is initialized for the reading of the string generated with the NPM command
-                var jsonparser = new JSONParser();
-                JSONObject npmResponse;
-                npmResponse = (JSONObject) jsonparser.parse(npmBody);
-
-                //If the field repository is defined, the url of this repository is used
-                //Else, the homepage field is used instead (if available)
-                JSONObject repository = (JSONObject) npmResponse.get("repository");
-                url = repository == null ? (String) npmResponse.get("homepage") : (String) repository.get("url");
+                //The repository is requested from the NPM API for the first version, the other versions reuse it
+                String url = registryMetadataCache.get(
+                    "npm",
+                    groupID,
+                    artifactID,
+                    RegistryMetadataCache.Attribute.REPOSITORY_URL,
+                    () -> {
+                        //Identifier for the NPM package is constructed
+                        String npmIdentifier = groupID.equals("")
+                            ? artifactID + "/" + version
+                            : groupID + "/" + artifactID + "/" + version;
+                        String npmURL = "https://registry.npmjs.org/" + npmIdentifier;
+
+                        //JSON data is requested from the NPM API
+                        var npmBody = helper.downloadFileToString(npmURL);
+
+                        //JSONparser is initialized for the reading of the string generated with the NPM command
+                        var jsonparser = new JSONParser();
+                        JSONObject npmResponse = (JSONObject) jsonparser.parse(npmBody);
+
+                        //If the field repository is defined, the url of this repository is used
+                        //Else, the homepage field is used instead (if available)
+                        JSONObject repository = (JSONObject) npmResponse.get("repository");
+                        return repository == null ? (String) npmResponse.get("homepage") : (String) repository.get("url");
+                    }
+                );
 
                 //If the package is hosted via GitHub, the respective method is called
                 if (url != null && url.contains(GITHUB)) {
@@ -109,12 +135,19 @@ public class LicenseURLparser implements URLparser {
         commands.put(
             "nuget",
             (groupID, artifactID, version) -> {
-                //URL is parsed from the website
-                String url = helper.scrapWebsite(
-                    "https://www.nuget.org/packages/" + artifactID,
-                    "a[data-track=outbound-repository-url]",
-                    "Source repository",
-                    "href"
+                //URL is parsed from the website once for all versions
+                String url = registryMetadataCache.get(
+                    "nuget",
+                    "",
+                    artifactID,
+                    RegistryMetadataCache.Attribute.REPOSITORY_URL,
+                    () ->
+                        helper.scrapWebsite(
+                            "https://www.nuget.org/packages/" + artifactID,
+                            "a[data-track=outbound-repository-url]",
+                            "Source repository",
+                            "href"
+                        )
                 );
 
                 //If the package is hosted via GitHub, the respective method is called
@@ -132,12 +165,19 @@ public class LicenseURLparser implements URLparser {
         commands.put(
             "pypi",
             (groupID, artifactID, version) -> {
-                //URL is parsed from the website
-                String rawURL = helper.scrapWebsite(
-                    "https://pypi.org/project/" + artifactID,
-                    "div[class^=\"github-repo-info\"]",
-                    "GitHub statistics:",
-                    "data-url"
+                //URL is parsed from the website once for all versions
+                String rawURL = registryMetadataCache.get(
+                    "pypi",
+                    "",
+                    artifactID,
+                    RegistryMetadataCache.Attribute.REPOSITORY_URL,
+                    () ->
+                        helper.scrapWebsite(
+                            "https://pypi.org/project/" + artifactID,
+                            "div[class^=\"github-repo-info\"]",
+                            "GitHub statistics:",
+                            "data-url"
+                        )
                 );
 
                 //If the package is hosted via GitHub, the respective method is called
@@ -253,10 +293,32 @@ public class LicenseURLparser implements URLparser {
         //Protocol is set to https and eventual .git TLD is dropped
         String baseURL = url.replaceAll(".*github\\.com", "https://github\\.com").replace(".git", "");
 
+        //Tag scheme and license file of a previous version of the repository are tried first
+        String[] repository = URLparserHelper.githubRepository(baseURL);
+        String tagScheme = registryMetadataCache.getIfPresent(
+            GITHUB,
+            repository[0],
+            repository[1],
+            RegistryMetadataCache.Attribute.TAG_SCHEME
+        );
+        String licenseFile = registryMetadataCache.getIfPresent(
+            GITHUB,
+            repository[0],
+            repository[1],
+            RegistryMetadataCache.Attribute.LICENSE_FILE
+        );
+        List<String> schemes = new ArrayList<>();
+        for (int i = 0; i < endings.size(); i++) {
+            schemes.add(String.valueOf(i));
+        }
+        List<String> filenames = URLparserHelper.preferred(Arrays.asList(FILENAMES), licenseFile);
+
         //Each versioning is tested
-        for (String ending : endings) {
+        for (String scheme : URLparserHelper.preferred(schemes, tagScheme)) {
+            String ending = endings.get(Integer.parseInt(scheme));
             String treeURL = baseURL + "/tree/" + ending;
             if (helper.checkURL(treeURL)) {
+                registryMetadataCache.put(GITHUB, repository[0], repository[1], RegistryMetadataCache.Attribute.TAG_SCHEME, scheme);
                 correctVersion = ending;
                 break;
             }
@@ -264,12 +326,9 @@ public class LicenseURLparser implements URLparser {
 
         //Each filename is tested for the correct versioning
         if (correctVersion != null) {
-            String repoURL = baseURL + "/blob/" + correctVersion;
-            for (String filename : FILENAMES) {
-                String gitHubURL = repoURL + "/" + filename;
-                if (helper.checkURL(gitHubURL)) {
-                    return gitHubURL;
-                }
+            String gitHubURL = findLicenseFile(baseURL + "/blob/" + correctVersion, filenames, repository);
+            if (gitHubURL != null) {
+                return gitHubURL;
             }
         }
         log.debug("License could not be found for a specific version");
@@ -284,12 +343,27 @@ public class LicenseURLparser implements URLparser {
         String defaultURL = baseURL + "/blob/" + defaultBranch;
         log.debug("DefaultURL : {}", defaultURL);
         //Each filename is tested for the default branch
-        for (String filename : FILENAMES) {
-            String gitHubURL = defaultURL + "/" + filename;
+        String gitHubURL = findLicenseFile(defaultURL, filenames, repository);
+        return gitHubURL != null ? gitHubURL : Constants.NO_URL;
+    }
+
+    /**
+     * Method testing the license filenames in a GitHub tree, remembering the found filename for the other versions
+     *
+     * @param treeURL
+     * @param filenames
+     * @param repository owner and name of the repository
+     * @return the URL of the license file or null if none exists
+     * @throws IOException
+     */
+    private String findLicenseFile(String treeURL, List<String> filenames, String[] repository) throws IOException {
+        for (String filename : filenames) {
+            String gitHubURL = treeURL + "/" + filename;
             if (helper.checkURL(gitHubURL)) {
+                registryMetadataCache.put(GITHUB, repository[0], repository[1], RegistryMetadataCache.Attribute.LICENSE_FILE, filename);
                 return gitHubURL;
             }
         }
-        return Constants.NO_URL;
+        return null;
     }
 }
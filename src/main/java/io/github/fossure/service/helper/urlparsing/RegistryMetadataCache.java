@@ -0,0 +1,161 @@
+package io.github.fossure.service.helper.urlparsing;
+
+import io.github.fossure.config.ApplicationProperties;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.json.simple.parser.ParseException;
+
+/**
+ * In-memory cache for metadata of a package which does not change between its versions, like the repository URL from
+ * the registry, the default branch of the GitHub repository or the name of its license file. The URL parsers resolve
+ * every version of a package separately, so the registries and GitHub are only asked for the first version within the
+ * time to live and the other versions reuse the result.
+ * <p>
+ * Entries are keyed by ecosystem, namespace and name of the package. Results without a value (e.g. a package without
+ * repository) are cached as well, failed lookups are not.
+ * <p>
+ * The source and license URL parsers share the bean configured from the {@link ApplicationProperties.RegistryMetadataCache}
+ * properties, so a package resolved by one of them is known to the other.
+ */
+public class RegistryMetadataCache {
+
+    /**
+     * The metadata which is stored for a package.
+     */
+    public enum Attribute {
+        /** URL of the source repository, as announced by the registry. */
+        REPOSITORY_URL,
+        /** Default branch of a GitHub repository. */
+        DEFAULT_BRANCH,
+        /** Version in the package.json on the default branch of a GitHub repository. */
+        DEFAULT_BRANCH_VERSION,
+        /** Position of the tag naming scheme (e.g. "v" + version) which matched a previous version. */
+        TAG_SCHEME,
+        /** Name of the license file in the repository. */
+        LICENSE_FILE,
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        String load() throws IOException, ParseException, InterruptedException;
+    }
+
+    private final ConcurrentMap<Key, Value> entries = new ConcurrentHashMap<>();
+    private final long timeToLive;
+    private final int maxEntries;
+
+    public RegistryMetadataCache(ApplicationProperties.RegistryMetadataCache properties) {
+        this.timeToLive = Duration.ofHours(Math.max(0, properties.getTimeToLive())).toMillis();
+        this.maxEntries = Math.max(0, properties.getMaxEntries());
+    }
+
+    /**
+     * Get a cached attribute of a package or load and cache it if it's missing or expired.
+     *
+     * @param ecosystem the ecosystem of the package, e.g. "npm" or "github".
+     * @param namespace the namespace of the package, may be empty.
+     * @param name the name of the package.
+     * @param attribute the attribute to get.
+     * @param loader the lookup of the attribute, called on a cache miss; may return null.
+     * @return the cached or loaded attribute, may be null.
+     */
+    public String get(String ecosystem, String namespace, String name, Attribute attribute, Loader loader)
+        throws IOException, ParseException, InterruptedException {
+        Key key = new Key(ecosystem, namespace, name, attribute);
+        Value value = entries.get(key);
+        if (value != null && !value.isExpired()) {
+            return value.value;
+        }
+
+        String loaded = loader.load();
+        put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Get a cached attribute of a package without loading it.
+     *
+     * @return the cached attribute, or null if it's missing, expired or was cached without a value.
+     */
+    public String getIfPresent(String ecosystem, String namespace, String name, Attribute attribute) {
+        Value value = entries.get(new Key(ecosystem, namespace, name, attribute));
+        return value != null && !value.isExpired() ? value.value : null;
+    }
+
+    /**
+     * Cache an attribute of a package, e.g. when it was found as a by-product of another lookup.
+     */
+    public void put(String ecosystem, String namespace, String name, Attribute attribute, String value) {
+        put(new Key(ecosystem, namespace, name, attribute), value);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void put(Key key, String value) {
+        if (timeToLive == 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(Value::isExpired);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, new Value(value, System.currentTimeMillis() + timeToLive));
+    }
+
+    private static final class Key {
+
+        private final String ecosystem;
+        private final String namespace;
+        private final String name;
+        private final Attribute attribute;
+
+        private Key(String ecosystem, String namespace, String name, Attribute attribute) {
+            this.ecosystem = ecosystem.toLowerCase(Locale.ROOT);
+            this.namespace = namespace == null ? "" : namespace.toLowerCase(Locale.ROOT);
+            this.name = name.toLowerCase(Locale.ROOT);
+            this.attribute = attribute;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return (
+                ecosystem.equals(key.ecosystem) && namespace.equals(key.namespace) && name.equals(key.name) && attribute == key.attribute
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ecosystem, namespace, name, attribute);
+        }
+    }
+
+    private static final class Value {
+
+        private final String value;
+        private final long expires;
+
+        private Value(String value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expires;
+        }
+    }
+}
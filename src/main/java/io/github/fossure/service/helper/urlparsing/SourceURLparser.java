@@ -19,10 +19,17 @@ public class SourceURLparser implements URLparser {
     //Constants
     private static final String GITHUB = "github";
     private static final String VERSION = "version";
-    private static final URLparserHelper helper = new URLparserHelper();
+
+    private final URLparserHelper helper;
+    private final RegistryMetadataCache registryMetadataCache;
 
     //Map containing the logic for each repository host with the host's name as key
-    private static final Map<String, ParserCommand> commands = new HashMap<>();
+    private final Map<String, ParserCommand> commands = new HashMap<>();
+
+    public SourceURLparser(URLparserHelper helper, RegistryMetadataCache registryMetadataCache) {
+        this.helper = helper;
+        this.registryMetadataCache = registryMetadataCache;
+    }
 
     /**
      * Method initializing the map with the commands (as lambdas) for each host repository
@@ -91,6 +98,8 @@ public class SourceURLparser implements URLparser {
                 //If both are not defined, the tarball distribution is used
                 JSONObject repository = (JSONObject) npmResponse.get("repository");
                 url = repository == null ? (String) npmResponse.get("homepage") : (String) repository.get("url");
+                //The repository is shared with the license parser, so it doesn't request the NPM API again
+                registryMetadataCache.put("npm", groupID, artifactID, RegistryMetadataCache.Attribute.REPOSITORY_URL, url);
                 JSONObject distribution = (JSONObject) npmResponse.get("dist");
                 fallback = (String) distribution.get("tarball");
 
@@ -110,12 +119,19 @@ public class SourceURLparser implements URLparser {
         commands.put(
             "nuget",
             (groupID, artifactID, version) -> {
-                //URL is parsed from the website
-                String url = helper.scrapWebsite(
-                    "https://www.nuget.org/packages/" + artifactID,
-                    "a[data-track=outbound-repository-url]",
-                    "Source repository",
-                    "href"
+                //URL is parsed from the website once for all versions
+                String url = registryMetadataCache.get(
+                    "nuget",
+                    "",
+                    artifactID,
+                    RegistryMetadataCache.Attribute.REPOSITORY_URL,
+                    () ->
+                        helper.scrapWebsite(
+                            "https://www.nuget.org/packages/" + artifactID,
+                            "a[data-track=outbound-repository-url]",
+                            "Source repository",
+                            "href"
+                        )
                 );
 
                 //If the package is hosted via GitHub, the respective method is called
@@ -235,10 +251,24 @@ public class SourceURLparser implements URLparser {
         //Protocol is set to https and eventual .git TLD is dropped
         String baseURL = url.replaceAll(".*github\\.com", "https://github\\.com").replace(".git", "");
 
+        //The tag scheme of a previous version of the repository is tried first
+        String[] repository = URLparserHelper.githubRepository(baseURL);
+        String tagScheme = registryMetadataCache.getIfPresent(
+            GITHUB,
+            repository[0],
+            repository[1],
+            RegistryMetadataCache.Attribute.TAG_SCHEME
+        );
+        List<String> schemes = new ArrayList<>();
+        for (int i = 0; i < endings.size(); i++) {
+            schemes.add(String.valueOf(i));
+        }
+
         //Each versioning is tested
-        for (String ending : endings) {
-            String gitHubURL = baseURL + "/archive/refs/tags/" + ending + ".zip";
+        for (String scheme : URLparserHelper.preferred(schemes, tagScheme)) {
+            String gitHubURL = baseURL + "/archive/refs/tags/" + endings.get(Integer.parseInt(scheme)) + ".zip";
             if (helper.checkURL(gitHubURL)) {
+                registryMetadataCache.put(GITHUB, repository[0], repository[1], RegistryMetadataCache.Attribute.TAG_SCHEME, scheme);
                 return gitHubURL;
             }
         }
@@ -1,13 +1,15 @@
 package io.github.fossure.service.helper.urlparsing;
 
 import java.io.IOException;
-import java.net.HttpURLConnection;
+import java.io.InterruptedIOException;
+import java.net.MalformedURLException;
 import java.net.URI;
-import java.net.URL;
-import java.net.http.HttpClient;
+import java.net.URISyntaxException;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -18,7 +20,13 @@ import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
 import io.github.fossure.service.exceptions.GithubRateLimitException;
+import io.github.fossure.service.helper.net.GithubRateLimiter;
+import io.github.fossure.service.helper.net.HttpHelper;
+import io.github.fossure.service.helper.net.NegativeResultCache;
+import io.github.fossure.service.helper.net.OutboundHttpClient;
+import org.springframework.stereotype.Component;
 
+@Component
 public class URLparserHelper {
 
     public enum paserType {
@@ -27,11 +35,30 @@ public class URLparserHelper {
     }
 
     //Constants
-    SourceURLparser sourceParser = new SourceURLparser();
-    LicenseURLparser licenseParser = new LicenseURLparser();
-    HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).followRedirects(HttpClient.Redirect.ALWAYS).build();
+    private static final String GITHUB = "github";
+    private final HttpHelper httpHelper;
+    private final OutboundHttpClient outboundHttpClient;
+    private final NegativeResultCache negativeResultCache;
+    private final RegistryMetadataCache registryMetadataCache;
+    private final GithubRateLimiter githubRateLimiter;
+    private final SourceURLparser sourceParser;
+    private final LicenseURLparser licenseParser;
 
-    public URLparserHelper() {}
+    public URLparserHelper(
+        HttpHelper httpHelper,
+        OutboundHttpClient outboundHttpClient,
+        NegativeResultCache negativeResultCache,
+        RegistryMetadataCache registryMetadataCache,
+        GithubRateLimiter githubRateLimiter
+    ) {
+        this.httpHelper = httpHelper;
+        this.outboundHttpClient = outboundHttpClient;
+        this.negativeResultCache = negativeResultCache;
+        this.registryMetadataCache = registryMetadataCache;
+        this.githubRateLimiter = githubRateLimiter;
+        this.sourceParser = new SourceURLparser(this, registryMetadataCache);
+        this.licenseParser = new LicenseURLparser(this, registryMetadataCache);
+    }
 
     /**
      * Method updating an existing GitHub URL
@@ -61,22 +88,32 @@ public class URLparserHelper {
     }
 
     /**
-     * Method checking if an URL is reachable
+     * Method checking if an URL is reachable. URLs which could not be requested recently (e.g. because of a timeout) are
+     * not requested again until their backoff expired.
      *
      * @param url URL
      * @return True if response code is 200. Otherwise false.
+     * @throws IOException if the URL cannot be requested or was skipped after a recent failure
      */
     public boolean checkURL(String url) throws IOException {
         if (url == null) return false;
 
-        Integer responseCode = 1;
-        var parsedURL = new URL(url);
-        HttpURLConnection huc = (HttpURLConnection) parsedURL.openConnection();
-        huc.setRequestMethod("HEAD");
-
-        responseCode = huc.getResponseCode();
+        NegativeResultCache.Failure failure = negativeResultCache.getFailure(NegativeResultCache.LookupType.URL_CHECK, url);
+        if (failure != null) {
+            throw new IOException("HEAD request to " + url + " is skipped after a recent failure (" + failure + ")");
+        }
 
-        return responseCode.equals(200);
+        try {
+            return httpHelper.httpHeadRequest(url).statusCode() == 200;
+        } catch (IOException e) {
+            negativeResultCache.recordFailure(NegativeResultCache.LookupType.URL_CHECK, url, NegativeResultCache.Failure.of(e));
+            throw e;
+        } catch (URISyntaxException e) {
+            throw new MalformedURLException(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("HEAD request to " + url + " was interrupted");
+        }
     }
 
     /**
@@ -87,7 +124,7 @@ public class URLparserHelper {
      */
     public String downloadFileToString(String url) throws IOException, InterruptedException {
         HttpRequest request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(2)).uri(URI.create(url)).GET().build();
-        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return outboundHttpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
     }
 
     /**
@@ -127,53 +164,104 @@ public class URLparserHelper {
         //JSONparser is initialized for the reading of the package.json file
         var jsonparser = new JSONParser();
 
+        //Default branch and its version are the same for all versions of a package, so they are taken from the cache
+        String[] repository = githubRepository(url);
+
         //Default branch is retrieved
-        String mainBranch = getDefaultBranch(url, jsonparser);
-
-        String jsonURL = url.replace("github.com", "raw.githubusercontent.com") + "/" + mainBranch + "/package.json";
-        if (checkURL(jsonURL)) {
-            //Package.json file is stored in a string (if available)
-            var githubBody = downloadFileToString(jsonURL);
-
-            //Version field is read from the package.json string
-            //If the versions match, the main branch is returned
-            JSONObject packageResponse;
-            packageResponse = (JSONObject) jsonparser.parse(githubBody);
-            String latestversion = (String) packageResponse.get("version");
-            if (latestversion != null && version.matches(latestversion)) {
-                return mainBranch;
+        String mainBranch = registryMetadataCache.get(
+            GITHUB,
+            repository[0],
+            repository[1],
+            RegistryMetadataCache.Attribute.DEFAULT_BRANCH,
+            () -> getDefaultBranch(url, jsonparser)
+        );
+        if (mainBranch == null) {
+            return null;
+        }
+
+        String latestversion = registryMetadataCache.get(
+            GITHUB,
+            repository[0],
+            repository[1],
+            RegistryMetadataCache.Attribute.DEFAULT_BRANCH_VERSION,
+            () -> {
+                String jsonURL = url.replace("github.com", "raw.githubusercontent.com") + "/" + mainBranch + "/package.json";
+                if (!checkURL(jsonURL)) {
+                    return null;
+                }
+                //Package.json file is stored in a string (if available)
+                var githubBody = downloadFileToString(jsonURL);
+
+                //Version field is read from the package.json string
+                JSONObject packageResponse = (JSONObject) jsonparser.parse(githubBody);
+                return (String) packageResponse.get("version");
             }
+        );
+
+        //If the versions match, the main branch is returned
+        if (latestversion != null && version.matches(latestversion)) {
+            return mainBranch;
         }
         return null;
     }
 
+    /**
+     * Method splitting a GitHub repository URL into owner and name, used as key of the {@link RegistryMetadataCache}
+     *
+     * @param url URL of the repository, starting with "https://github.com/"
+     * @return owner and name of the repository, empty if they are missing
+     */
+    protected static String[] githubRepository(String url) {
+        String[] path = url.replaceAll(".*github\\.com/?", "").split("/");
+        return new String[] { path[0], path.length > 1 ? path[1] : "" };
+    }
+
+    /**
+     * Method ordering candidates so that the one which matched for a previous version of the package is tried first
+     *
+     * @param candidates the candidates in their default order
+     * @param preferred the candidate to try first, ignored if null or not a candidate
+     * @return the ordered candidates
+     */
+    protected static List<String> preferred(List<String> candidates, String preferred) {
+        if (preferred == null || !candidates.contains(preferred)) {
+            return candidates;
+        }
+        List<String> ordered = new ArrayList<>(candidates.size());
+        ordered.add(preferred);
+        for (String candidate : candidates) {
+            if (!candidate.equals(preferred)) {
+                ordered.add(candidate);
+            }
+        }
+        return ordered;
+    }
+
     /**
      * Method retrieving the default branch for a GitHub repository via the API
-     * Limit of 60 requests per hour
+     * The requests are scheduled by the {@link GithubRateLimiter}, limit of 60 requests per hour without token
      *
      * @param url
      * @param jsonparser
      * @return
      * @throws IOException
      * @throws ParseException
+     * @throws GithubRateLimitException if the rate limit of the GitHub API is reached
      */
     protected String getDefaultBranch(String url, JSONParser jsonparser) throws IOException, ParseException, InterruptedException {
         String apiURL = url.replace("github.com", "api.github.com/repos");
-        var githubBody = "";
-        try {
-            //GitHub API response is stored in a string (if available)
-            githubBody = downloadFileToString(apiURL);
-        } catch (IOException | InterruptedException e) {
-            String error = e.getMessage(); // Server returned HTTP response code: 403 for URL:
-            if (error.contains("response code: 403")) {
-                throw new GithubRateLimitException();
-            } else {
-                throw e;
-            }
+
+        //GitHub API response is stored in a string (if available)
+        HttpRequest request = githubRateLimiter.newRequest(URI.create(apiURL)).GET().build();
+        HttpResponse<String> response = githubRateLimiter.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            return null;
+        } else if (response.statusCode() >= 400) {
+            throw new IOException("GitHub API returned status " + response.statusCode() + " for " + apiURL);
         }
 
         JSONObject githubResponse;
-        githubResponse = (JSONObject) jsonparser.parse(githubBody);
+        githubResponse = (JSONObject) jsonparser.parse(response.body());
 
         return (String) githubResponse.get("default_branch");
     }
@@ -0,0 +1,202 @@
+package io.github.fossure.service.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous variant of the {@link Pipeline}. Every {@link Step} is executed on an executor, either the default executor
+ * of the pipeline or its own one, with an optional timeout. A batch of inputs is processed concurrently, so the
+ * parallelism is bounded by the executors. Every input passes through the steps on its own: a failing step only aborts
+ * the pipeline for this input.
+ * <p>
+ * A step which takes longer than its timeout is interrupted. It has to give up like after a failed request and return
+ * its input, the input then passes through the remaining steps as usual. Timeouts are therefore only meant for steps
+ * which wait for external services and handle an interrupt, not for steps which access the database.
+ *
+ * @param <T> the type of the input and output of all steps
+ */
+public class AsyncPipeline<T> {
+
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private final Executor executor;
+
+    private final List<Stage<T>> stages;
+
+    public AsyncPipeline(Executor executor) {
+        this(executor, Collections.emptyList());
+    }
+
+    private AsyncPipeline(Executor executor, List<Stage<T>> stages) {
+        this.executor = executor;
+        this.stages = stages;
+    }
+
+    public AsyncPipeline<T> pipe(Step<T, T> next) {
+        return pipe(next, executor, null);
+    }
+
+    public AsyncPipeline<T> pipe(Step<T, T> next, Duration timeout) {
+        return pipe(next, executor, timeout);
+    }
+
+    /**
+     * Append a step which is executed on its own executor.
+     *
+     * @param next     the step
+     * @param executor the executor of the step
+     * @param timeout  the maximum duration of the step per input, or null for no timeout
+     * @return a new pipeline with the step appended
+     */
+    public AsyncPipeline<T> pipe(Step<T, T> next, Executor executor, Duration timeout) {
+        List<Stage<T>> newStages = new ArrayList<>(stages);
+        newStages.add(new Stage<>(next, executor, timeout));
+        return new AsyncPipeline<>(this.executor, newStages);
+    }
+
+    /**
+     * Start the steps for one input.
+     *
+     * @param input the input
+     * @return a future of the output, completed exceptionally if a step failed
+     */
+    public CompletableFuture<T> executeAsync(T input) {
+        return executeAsync(input, timeout -> {});
+    }
+
+    private CompletableFuture<T> executeAsync(T input, Consumer<TimeoutException> onTimeout) {
+        CompletableFuture<T> future = CompletableFuture.completedFuture(input);
+        for (Stage<T> stage : stages) {
+            future = future.thenCompose(value -> stage.execute(value, onTimeout));
+        }
+        return future;
+    }
+
+    /**
+     * Execute the steps for one input and wait for the output.
+     *
+     * @param input the input
+     * @return the output
+     * @throws Step.StepException if a step failed
+     */
+    public T execute(T input) throws Step.StepException {
+        try {
+            return executeAsync(input).join();
+        } catch (CompletionException e) {
+            throw asStepException(e.getCause());
+        }
+    }
+
+    /**
+     * Execute the steps for a batch of inputs concurrently and wait until all are finished. An input whose pipeline
+     * failed is not part of the outputs. An input with a timed out step passed all steps and is part of the outputs.
+     *
+     * @param inputs    the inputs
+     * @param onFailure called on the calling thread for every input whose pipeline failed, with the cause, and for every
+     *                  input with a timed out step, with a {@link TimeoutException}
+     * @return the outputs of the inputs which passed all steps, in the order of the inputs
+     */
+    public List<T> execute(Collection<T> inputs, BiConsumer<T, Throwable> onFailure) {
+        List<T> pending = new ArrayList<>(inputs);
+        List<AtomicReference<TimeoutException>> timeouts = new ArrayList<>(pending.size());
+        List<CompletableFuture<T>> futures = new ArrayList<>(pending.size());
+        for (T input : pending) {
+            AtomicReference<TimeoutException> timeout = new AtomicReference<>();
+            timeouts.add(timeout);
+            futures.add(executeAsync(input, e -> timeout.compareAndSet(null, e)));
+        }
+
+        List<T> outputs = new ArrayList<>(pending.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                outputs.add(futures.get(i).join());
+                if (timeouts.get(i).get() != null) {
+                    onFailure.accept(pending.get(i), timeouts.get(i).get());
+                }
+            } catch (CompletionException e) {
+                onFailure.accept(pending.get(i), asStepException(e.getCause()).getCause());
+            }
+        }
+        return outputs;
+    }
+
+    private static Step.StepException asStepException(Throwable cause) {
+        return cause instanceof Step.StepException ? (Step.StepException) cause : new Step.StepException(cause);
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+                Thread thread = new Thread(runnable, "async-pipeline-timer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        // Steps usually return long before their timeout, their cancelled timers mustn't pile up in the queue
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private static final class Stage<T> {
+
+        private final Step<T, T> step;
+        private final Executor executor;
+        private final Duration timeout;
+
+        private Stage(Step<T, T> step, Executor executor, Duration timeout) {
+            this.step = step;
+            this.executor = executor;
+            this.timeout = timeout;
+        }
+
+        private CompletableFuture<T> execute(T input, Consumer<TimeoutException> onTimeout) {
+            if (timeout == null) {
+                return CompletableFuture.supplyAsync(() -> step.process(input), executor);
+            }
+
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    AtomicReference<Thread> runner = new AtomicReference<>(Thread.currentThread());
+                    ScheduledFuture<?> timer = TIMER.schedule(
+                        () -> {
+                            synchronized (runner) {
+                                Thread thread = runner.get();
+                                if (thread != null) {
+                                    thread.interrupt();
+                                    onTimeout.accept(new TimeoutException("Step took longer than " + timeout));
+                                }
+                            }
+                        },
+                        timeout.toMillis(),
+                        TimeUnit.MILLISECONDS
+                    );
+                    try {
+                        return step.process(input);
+                    } finally {
+                        timer.cancel(false);
+                        synchronized (runner) {
+                            runner.set(null);
+                            // Clear an interrupt which arrived after the step returned, the thread is pooled
+                            Thread.interrupted();
+                        }
+                    }
+                },
+                executor
+            );
+        }
+    }
+}
@@ -2,15 +2,11 @@ package io.github.fossure.service.pipeline;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.util.regex.Pattern;
 
-import io.github.fossure.service.helper.net.HttpHelper;
+import io.github.fossure.service.helper.net.LicenseTextCache;
 import io.github.fossure.config.Constants;
 import io.github.fossure.domain.Library;
-import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,11 +14,18 @@ public class DownloadLizenztextStep implements Step<Library, Library> {
 
     private final Logger log = LoggerFactory.getLogger(DownloadLizenztextStep.class);
 
+    private final LicenseTextCache licenseTextCache;
+
+    public DownloadLizenztextStep(LicenseTextCache licenseTextCache) {
+        this.licenseTextCache = licenseTextCache;
+    }
+
     @Override
     public Library process(Library input) throws StepException {
         if (
             !StringUtils.isBlank(input.getLicenseUrl()) &&
             !input.getLicenseUrl().equals(Constants.NO_URL) &&
+            !input.getLicenseUrl().equals(Constants.GITHUB_LIMIT) &&
             StringUtils.isBlank(input.getLicenseText())
         ) {
             StringBuilder licenseTextBuilder = new StringBuilder();
@@ -62,7 +65,7 @@ public class DownloadLizenztextStep implements Step<Library, Library> {
     }
 
     /**
-     * Downloads the HTML page from an URL.
+     * Downloads the HTML page from an URL. The page is read from the license text cache if possible.
      *
      * @param url URL to the HTML page
      * @return Body of the HTML page
@@ -73,29 +76,6 @@ public class DownloadLizenztextStep implements Step<Library, Library> {
     private String downloadLicenseText(String url) throws URISyntaxException, IOException, InterruptedException {
         log.debug("Downloading URL : {}", url);
 
-        if (url.contains("github.com") && url.contains("/blob/")) {
-            url = url.replace("github.com", "raw.githubusercontent.com").replace("raw.raw.", "raw.").replace("/blob/", "/");
-        }
-
-        String licenseText = HttpHelper.httpGetRequest(url).body();
-
-        if (!isHTML(licenseText)) {
-            licenseText = "<pre>\n" + StringEscapeUtils.escapeHtml4(licenseText.stripTrailing()) + "\n</pre>";
-        }
-
-        Document document = Jsoup.parse(licenseText);
-
-        return document.body().html();
-    }
-
-    /**
-     * Checks if a text is a HTML page. Searches for the &lt;!DOCTYPE&gt; or &lt;html&gt; tag.
-     * @param text text to check
-     * @return true if it is a HTML page, otherwise false
-     */
-    private static boolean isHTML(String text) {
-        final Pattern pattern = Pattern.compile("<!doctype html(>| [^>]*>)|<html(>| [^>]*>)", Pattern.CASE_INSENSITIVE);
-
-        return pattern.matcher(text).find();
+        return licenseTextCache.getLicenseText(url);
     }
 }
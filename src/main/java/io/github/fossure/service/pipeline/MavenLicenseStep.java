@@ -1,12 +1,15 @@
 package io.github.fossure.service.pipeline;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.http.HttpResponse;
 import java.text.MessageFormat;
+import java.util.List;
 import java.util.StringJoiner;
 
-import io.github.fossure.service.helper.net.HttpHelper;
+import io.github.fossure.service.helper.SingleFlight;
+import io.github.fossure.service.helper.maven.MavenLicenseResolver;
+import io.github.fossure.service.helper.net.NegativeResultCache;
+import io.github.fossure.service.helper.net.NegativeResultCache.Failure;
+import io.github.fossure.service.helper.net.NegativeResultCache.LookupType;
 import io.github.fossure.domain.Library;
 import io.github.fossure.domain.enumeration.LibraryType;
 import org.apache.commons.lang3.StringUtils;
@@ -21,16 +24,38 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Execute the MavenLicenseStep if the library has the type MAVEN and the original license is empty.
+ * The license is resolved from the POM of the library, see {@link MavenLicenseResolver}. Artifacts whose POM could not
+ * be fetched or declared no license recently are skipped until their backoff expired, see {@link NegativeResultCache}.
  */
 public class MavenLicenseStep implements Step<Library, Library> {
 
     private static final Logger log = LoggerFactory.getLogger(MavenLicenseStep.class);
 
-    private static final String MAVEN_CENTRAL_BASE = "https://central.sonatype.dev/artifact";
+    private final MavenLicenseResolver mavenLicenseResolver;
+
+    private final NegativeResultCache negativeResultCache;
+
+    private final SingleFlight<List<String>, IOException> lookups = new SingleFlight<>(IOException.class);
+
+    public MavenLicenseStep(MavenLicenseResolver mavenLicenseResolver, NegativeResultCache negativeResultCache) {
+        this.mavenLicenseResolver = mavenLicenseResolver;
+        this.negativeResultCache = negativeResultCache;
+    }
 
     @Override
     public Library process(Library input) throws StepException {
-        if (!input.getType().equals(LibraryType.MAVEN) || !StringUtils.isBlank(input.getOriginalLicense())) {
+        if (
+            !input.getType().equals(LibraryType.MAVEN) ||
+            !StringUtils.isBlank(input.getOriginalLicense()) ||
+            StringUtils.isAnyBlank(input.getNamespace(), input.getName(), input.getVersion())
+        ) {
+            return input;
+        }
+
+        final String gav = input.getNamespace() + ":" + input.getName() + ":" + input.getVersion();
+        Failure failure = negativeResultCache.getFailure(LookupType.MAVEN_LICENSE, gav);
+        if (failure != null) {
+            log.debug("Maven library [ {} ] is skipped after a recent failure ({})", gav, failure);
             return input;
         }
 
@@ -41,14 +66,24 @@ public class MavenLicenseStep implements Step<Library, Library> {
             input.getVersion()
         );
         try {
-            input.setOriginalLicense(scrapeCentralSonatype(input));
-        } catch (IOException | InterruptedException | URISyntaxException e) {
+            List<String> licenses = lookups.execute(gav, () -> resolveLicenses(input, gav));
+            if (!licenses.isEmpty()) {
+                input.setOriginalLicense(String.join(" / ", licenses));
+                log.debug(
+                    "License found for library [ {} - {} - {} ] : {}",
+                    input.getNamespace(),
+                    input.getName(),
+                    input.getVersion(),
+                    input.getOriginalLicense()
+                );
+            }
+        } catch (IOException | InterruptedException e) {
             log.info(
-                "The license for library [ {} - {} - {} ] could not be scraped from {} : {}",
+                "The license for library [ {} - {} - {} ] could not be resolved from {} : {}",
                 input.getNamespace(),
                 input.getName(),
                 input.getVersion(),
-                MAVEN_CENTRAL_BASE,
+                mavenLicenseResolver.getRepositoryUrl(),
                 e.getMessage()
             );
         }
@@ -57,38 +92,24 @@ public class MavenLicenseStep implements Step<Library, Library> {
     }
 
     /**
-     * Scrapes the license information from the central.sonatype.dev page.
-     *
-     * @param library Library entity
-     * @return The license information from the central.sonatype.dev page (can be empty).
-     * @throws IOException          if an I/O error occurs when sending or receiving to central.sonatype.dev
-     * @throws InterruptedException if the request to central.sonatype.dev is interrupted
-     * @throws URISyntaxException   If the URI for the request to central.sonatype.dev, which is constructed from namespace,
-     *                              name and version, violates RFC 2396
+     * Resolves the licenses of a Maven library and records the outcome in the {@link NegativeResultCache}. Concurrent
+     * requests for the same artifact share one resolution, see {@link SingleFlight}.
      */
-    private String scrapeCentralSonatype(Library library) throws IOException, InterruptedException, URISyntaxException {
-        final String pathToArtifact = MAVEN_CENTRAL_BASE + "/{0}/{1}/{2}";
-
-        HttpResponse<String> response = HttpHelper.httpGetRequest(
-            MessageFormat.format(pathToArtifact, library.getNamespace(), library.getName(), library.getVersion())
-        );
-
-        Document sonatypePageDocument = Jsoup.parse(response.body());
-
-        Elements licenseElements = sonatypePageDocument.select(".Overview_licensesContainer__gj_BZ > li");
-        StringJoiner license = new StringJoiner(" / ");
-        for (Element element : licenseElements) {
-            license.add(element.ownText());
+    private List<String> resolveLicenses(Library input, String gav) throws IOException, InterruptedException {
+        List<String> licenses;
+        try {
+            licenses = mavenLicenseResolver.resolveLicenses(input.getNamespace(), input.getName(), input.getVersion());
+        } catch (IOException e) {
+            negativeResultCache.recordFailure(LookupType.MAVEN_LICENSE, gav, Failure.of(e));
+            throw e;
         }
-        if (license.length() > 0) log.debug(
-            "License found for library [ {} - {} - {} ] : {}",
-            library.getNamespace(),
-            library.getName(),
-            library.getVersion(),
-            license
-        );
 
-        return license.toString();
+        if (licenses.isEmpty()) {
+            negativeResultCache.recordFailure(LookupType.MAVEN_LICENSE, gav, Failure.EMPTY);
+        } else {
+            negativeResultCache.recordSuccess(LookupType.MAVEN_LICENSE, gav);
+        }
+        return licenses;
     }
 
     /**
@@ -2,10 +2,15 @@ package io.github.fossure.service.pipeline;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.http.HttpResponse;
 
+import io.github.fossure.service.helper.SingleFlight;
 import io.github.fossure.service.helper.net.HttpHelper;
+import io.github.fossure.service.helper.net.NegativeResultCache;
+import io.github.fossure.service.helper.net.NegativeResultCache.Failure;
+import io.github.fossure.service.helper.net.NegativeResultCache.LookupType;
 import io.github.fossure.domain.Library;
 import io.github.fossure.domain.enumeration.LibraryType;
 import org.apache.commons.lang3.StringUtils;
@@ -17,6 +22,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Execute the NpmLicenseStep if the library has the type NPM and the original license is empty.
+ * Packages which were not found or had no license recently are not requested again until their backoff expired, see
+ * {@link NegativeResultCache}.
  */
 public class NpmLicenseStep implements Step<Library, Library> {
 
@@ -24,6 +31,17 @@ public class NpmLicenseStep implements Step<Library, Library> {
 
     private static final String NPM_REGISTRY_BASE = "https://registry.npmjs.org/";
 
+    private final HttpHelper httpHelper;
+
+    private final NegativeResultCache negativeResultCache;
+
+    private final SingleFlight<String, IOException> lookups = new SingleFlight<>(IOException.class);
+
+    public NpmLicenseStep(HttpHelper httpHelper, NegativeResultCache negativeResultCache) {
+        this.httpHelper = httpHelper;
+        this.negativeResultCache = negativeResultCache;
+    }
+
     @Override
     public Library process(Library input) throws StepException {
         if (!input.getType().equals(LibraryType.NPM) || !StringUtils.isBlank(input.getOriginalLicense())) {
@@ -35,71 +53,27 @@ public class NpmLicenseStep implements Step<Library, Library> {
         final String npmIdentifier = StringUtils.isBlank(input.getNamespace())
             ? input.getName() + "/" + input.getVersion()
             : input.getNamespace() + "/" + input.getName() + "/" + input.getVersion();
-        final String npmURL = NPM_REGISTRY_BASE + npmIdentifier;
+
+        Failure failure = negativeResultCache.getFailure(LookupType.NPM_LICENSE, npmIdentifier);
+        if (failure != null) {
+            log.debug("Library [ {} ] is skipped after a recent failure ({}) on {}", npmIdentifier, failure, NPM_REGISTRY_BASE);
+            return input;
+        }
 
         try {
-            HttpResponse<String> response = HttpHelper.httpGetRequest(npmURL);
+            String licenseValue = lookups.execute(npmIdentifier, () -> fetchLicense(input, npmIdentifier));
 
-            if (response.statusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+            if (!StringUtils.isBlank(licenseValue)) {
+                input.setOriginalLicense(licenseValue);
                 log.debug(
-                    "Library [ {} - {} - {} ] not found on {}",
+                    "License found for library [ {} - {} - {} ] : {}",
                     input.getNamespace(),
                     input.getName(),
                     input.getVersion(),
-                    NPM_REGISTRY_BASE
+                    licenseValue
                 );
-                return input;
             }
-
-            //JSONparser is initialized for the reading of the string generated with the NPM command
-            JSONParser npmJsonParser = new JSONParser();
-
-            try {
-                JSONObject npmResponse = (JSONObject) npmJsonParser.parse(response.body());
-
-                Object licenseObj = npmResponse.get("license");
-
-                String licenseValue;
-                if (licenseObj == null) {
-                    log.debug(
-                        "License for library [ {} - {} - {} ] could not be found on {}.",
-                        input.getNamespace(),
-                        input.getName(),
-                        input.getVersion(),
-                        NPM_REGISTRY_BASE
-                    );
-                    return input;
-                }
-
-                if (licenseObj instanceof JSONObject) {
-                    JSONObject license = (JSONObject) licenseObj;
-                    licenseValue = (String) license.get("type");
-                } else {
-                    licenseValue = licenseObj.toString();
-                }
-
-                if (!StringUtils.isBlank(licenseValue)) {
-                    licenseValue = StringUtils.strip(licenseValue, "()");
-                    input.setOriginalLicense(licenseValue);
-                    log.debug(
-                        "License found for library [ {} - {} - {} ] : {}",
-                        input.getNamespace(),
-                        input.getName(),
-                        input.getVersion(),
-                        licenseValue
-                    );
-                }
-            } catch (ParseException e) {
-                log.error(
-                    "License for library [ {} - {} - {} ] could not be scraped from {} : {}",
-                    input.getNamespace(),
-                    input.getName(),
-                    input.getVersion(),
-                    NPM_REGISTRY_BASE,
-                    e.getMessage()
-                );
-            }
-        } catch (IOException | InterruptedException | URISyntaxException e) {
+        } catch (IOException | InterruptedException e) {
             log.info(
                 "License for library [ {} - {} - {} ] could not be scraped from {} : {}",
                 input.getNamespace(),
@@ -112,4 +86,78 @@ public class NpmLicenseStep implements Step<Library, Library> {
 
         return input;
     }
+
+    /**
+     * Fetches the license of a npm package from the registry and records the outcome in the {@link NegativeResultCache}.
+     * Concurrent requests for the same package share one request, see {@link SingleFlight}.
+     *
+     * @return the license, or null if the package or its license was not found
+     * @throws IOException if the registry cannot be requested or its response cannot be parsed
+     */
+    private String fetchLicense(Library input, String npmIdentifier) throws IOException, InterruptedException {
+        HttpResponse<String> response;
+        try {
+            response = httpHelper.httpGetRequest(NPM_REGISTRY_BASE + npmIdentifier);
+        } catch (URISyntaxException e) {
+            negativeResultCache.recordFailure(LookupType.NPM_LICENSE, npmIdentifier, Failure.ERROR);
+            throw new MalformedURLException(e.getMessage());
+        } catch (IOException e) {
+            negativeResultCache.recordFailure(LookupType.NPM_LICENSE, npmIdentifier, Failure.of(e));
+            throw e;
+        }
+
+        if (response.statusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+            log.debug(
+                "Library [ {} - {} - {} ] not found on {}",
+                input.getNamespace(),
+                input.getName(),
+                input.getVersion(),
+                NPM_REGISTRY_BASE
+            );
+            negativeResultCache.recordFailure(LookupType.NPM_LICENSE, npmIdentifier, Failure.NOT_FOUND);
+            return null;
+        }
+
+        //JSONparser is initialized for the reading of the string generated with the NPM command
+        JSONParser npmJsonParser = new JSONParser();
+        JSONObject npmResponse;
+        try {
+            npmResponse = (JSONObject) npmJsonParser.parse(response.body());
+        } catch (ParseException e) {
+            log.error(
+                "License for library [ {} - {} - {} ] could not be scraped from {} : {}",
+                input.getNamespace(),
+                input.getName(),
+                input.getVersion(),
+                NPM_REGISTRY_BASE,
+                e.toString()
+            );
+            negativeResultCache.recordFailure(LookupType.NPM_LICENSE, npmIdentifier, Failure.ERROR);
+            throw new IOException("Response could not be parsed : " + e, e);
+        }
+
+        Object licenseObj = npmResponse.get("license");
+        if (licenseObj == null) {
+            log.debug(
+                "License for library [ {} - {} - {} ] could not be found on {}.",
+                input.getNamespace(),
+                input.getName(),
+                input.getVersion(),
+                NPM_REGISTRY_BASE
+            );
+            negativeResultCache.recordFailure(LookupType.NPM_LICENSE, npmIdentifier, Failure.EMPTY);
+            return null;
+        }
+
+        String licenseValue;
+        if (licenseObj instanceof JSONObject) {
+            JSONObject license = (JSONObject) licenseObj;
+            licenseValue = (String) license.get("type");
+        } else {
+            licenseValue = licenseObj.toString();
+        }
+
+        negativeResultCache.recordSuccess(LookupType.NPM_LICENSE, npmIdentifier);
+        return StringUtils.isBlank(licenseValue) ? licenseValue : StringUtils.strip(licenseValue, "()");
+    }
 }
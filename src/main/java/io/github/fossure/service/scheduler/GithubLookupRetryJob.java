@@ -0,0 +1,76 @@
+package io.github.fossure.service.scheduler;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.config.Constants;
+import io.github.fossure.domain.Library;
+import io.github.fossure.repository.LibraryRepository;
+import io.github.fossure.service.LibraryService;
+import io.github.fossure.service.helper.net.GithubRateLimiter;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the lookups which were parked because the GitHub rate limit was reached. Parked libraries are persisted with
+ * {@link Constants#GITHUB_LIMIT} as license or source code URL, so the queue survives restarts. Once the
+ * {@link GithubRateLimiter} has budget again, the lookups are retried in batches until the limit is reached again.
+ */
+@Component
+public class GithubLookupRetryJob {
+
+    private final Logger log = LoggerFactory.getLogger(GithubLookupRetryJob.class);
+
+    private final LibraryService libraryService;
+
+    private final LibraryRepository libraryRepository;
+
+    private final GithubRateLimiter githubRateLimiter;
+
+    private final int batchSize;
+
+    public GithubLookupRetryJob(
+        LibraryService libraryService,
+        LibraryRepository libraryRepository,
+        GithubRateLimiter githubRateLimiter,
+        ApplicationProperties applicationProperties
+    ) {
+        this.libraryService = libraryService;
+        this.libraryRepository = libraryRepository;
+        this.githubRateLimiter = githubRateLimiter;
+        this.batchSize = Math.max(1, applicationProperties.getGithub().getRetryBatchSize());
+    }
+
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000)
+    public void retryParkedLookups() {
+        if (!githubRateLimiter.isAvailable()) {
+            log.debug("GitHub rate limit reached, parked lookups are retried after {}", Instant.ofEpochMilli(githubRateLimiter.getReset()));
+            return;
+        }
+
+        List<Library> libraries = libraryRepository.findAllByLicenseUrlOrSourceCodeUrl(
+            Constants.GITHUB_LIMIT,
+            Constants.GITHUB_LIMIT,
+            PageRequest.of(0, batchSize, Sort.by("id"))
+        );
+        if (libraries.isEmpty()) {
+            return;
+        }
+
+        log.info("Retrying the GitHub lookups of {} parked libraries", libraries.size());
+        int retried = 0;
+        for (Library library : libraries) {
+            library = libraryService.retryGithubLookups(library);
+            if (Constants.GITHUB_LIMIT.equals(library.getLicenseUrl()) || Constants.GITHUB_LIMIT.equals(library.getSourceCodeUrl())) {
+                // Parked again, the remaining libraries would be parked as well
+                break;
+            }
+            retried++;
+        }
+        log.info("Finished {} of {} parked libraries", retried, libraries.size());
+    }
+}
@@ -9,8 +9,6 @@ import io.github.fossure.service.LicenseService;
 import io.github.fossure.service.criteria.LibraryCriteria;
 import io.github.fossure.service.criteria.query.LibraryQueryService;
 import io.github.fossure.service.exceptions.LibraryException;
-import io.github.fossure.service.helper.urlparsing.LicenseURLparser;
-import io.github.fossure.service.helper.urlparsing.SourceURLparser;
 import io.github.fossure.service.helper.urlparsing.URLparserHelper;
 import org.apache.commons.lang3.StringUtils;
 import org.json.simple.parser.ParseException;
@@ -63,6 +61,9 @@ public class StartupOperations {
     @Autowired
     private GenericLicenseUrlRepository genericLicenseUrlRepository;
 
+    @Autowired
+    private URLparserHelper urlParserHelper;
+
     // @Scheduled(fixedDelay = 10000000, initialDelay = 1000)
     @Async
     public void allUnidentifiedLicenses() {
@@ -137,14 +138,6 @@ public class StartupOperations {
         log.info("Start checking URLs...");
         List<Library> libraries = libraryRepository.findAll();
 
-        LicenseURLparser licenseURLparser = new LicenseURLparser();
-        licenseURLparser.initCommands();
-
-        SourceURLparser sourceURLparser = new SourceURLparser();
-        sourceURLparser.initCommands();
-
-        URLparserHelper urLparserHelper = new URLparserHelper();
-
         for (Library library : libraries) {
             String originalLicenseUrl = library.getLicenseUrl();
             String originalSourceCodeUrl = library.getSourceCodeUrl();
@@ -155,7 +148,7 @@ public class StartupOperations {
                 (!library.getLicenseUrl().contains("/blob/") || !library.getLicenseUrl().contains("/tree/"))
             ) {
                 try {
-                    String url = urLparserHelper.updateGitHubURL(
+                    String url = urlParserHelper.updateGitHubURL(
                         library.getLicenseUrl(),
                         library.getVersion(),
                         URLparserHelper.paserType.LICENSE
@@ -176,7 +169,7 @@ public class StartupOperations {
                 (!library.getSourceCodeUrl().contains("/blob/") || !library.getSourceCodeUrl().contains("/tree/"))
             ) {
                 try {
-                    String url = urLparserHelper.updateGitHubURL(
+                    String url = urlParserHelper.updateGitHubURL(
                         library.getSourceCodeUrl(),
                         library.getVersion(),
                         URLparserHelper.paserType.LICENSE
@@ -209,14 +202,6 @@ public class StartupOperations {
         log.info("Start checking Source Code URLs...");
         List<Library> libraries = libraryRepository.findAll();
 
-        LicenseURLparser licenseURLparser = new LicenseURLparser();
-        licenseURLparser.initCommands();
-
-        SourceURLparser sourceURLparser = new SourceURLparser();
-        sourceURLparser.initCommands();
-
-        URLparserHelper urLparserHelper = new URLparserHelper();
-
         int counter = 0;
         for (Library library : libraries) {
             String originalSourceCodeUrl = library.getSourceCodeUrl();
@@ -246,7 +231,7 @@ public class StartupOperations {
                 )
             ) {
                 try {
-                    String url = urLparserHelper.updateGitHubURL(
+                    String url = urlParserHelper.updateGitHubURL(
                         library.getSourceCodeUrl(),
                         library.getVersion(),
                         URLparserHelper.paserType.SOURCE
@@ -442,6 +427,8 @@ public class StartupOperations {
             genericLicenseUrl.setUrl(genericLicenseUrl.getUrl().replaceAll("\\\\\\\\", "\\\\"));
             genericLicenseUrlRepository.save(genericLicenseUrl);
         }
+        licenseService.invalidateLicenseNameMatcher();
+        licenseService.invalidateGenericLicenseUrlMatcher();
         log.info("Finished removing double backslashes from License Naming Mapping and Generic License Urls!");
     }
 
@@ -0,0 +1,66 @@
+package io.github.fossure.service.scheduler;
+
+import io.github.fossure.domain.UploadJob;
+import io.github.fossure.domain.helper.BasicAuthentication;
+import io.github.fossure.service.ProjectService;
+import io.github.fossure.service.UploadJobService;
+import io.github.fossure.service.exceptions.UploadException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resumes the {@link UploadJob upload jobs} which were interrupted by a shutdown of the application. Jobs with a
+ * spooled file continue after the last committed batch, jobs with a URL download the file again. All other jobs are
+ * marked as failed, so the project isn't stuck in the processing state.
+ * <p>
+ * Each job is claimed with a conditional update before it is resumed, so it is resumed only once when several instances
+ * start at the same time.
+ */
+@Component
+public class UploadJobResumer {
+
+    private final Logger log = LoggerFactory.getLogger(UploadJobResumer.class);
+
+    private final UploadJobService uploadJobService;
+
+    private final ProjectService projectService;
+
+    public UploadJobResumer(UploadJobService uploadJobService, ProjectService projectService) {
+        this.uploadJobService = uploadJobService;
+        this.projectService = projectService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedUploadJobs() {
+        for (UploadJob uploadJob : uploadJobService.findUnfinished()) {
+            if (!uploadJobService.claim(uploadJob)) {
+                log.info("Upload job {} was already claimed by another instance", uploadJob.getId());
+                continue;
+            }
+
+            log.info(
+                "Resuming upload job {} for Project {} after {} committed batches",
+                uploadJob.getId(),
+                uploadJob.getProject().getId(),
+                uploadJob.getCommittedBatches()
+            );
+
+            try {
+                if (uploadJob.getSourceFile() != null && Files.exists(Path.of(uploadJob.getSourceFile()))) {
+                    projectService.processUploadJob(uploadJob.getProject(), uploadJob);
+                } else if (uploadJob.getSourceUrl() != null) {
+                    projectService.processUploadByUrl(uploadJob.getProject(), uploadJob, uploadJob.getSourceUrl(), new BasicAuthentication());
+                } else {
+                    projectService.failUploadJob(uploadJob.getProject(), uploadJob, "Upload can't be resumed");
+                }
+            } catch (UploadException e) {
+                log.error("Error while resuming upload job {} : {}", uploadJob.getId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package io.github.fossure.service.upload;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
@@ -33,7 +32,7 @@ public class AdditionalLibrariesLoader implements AssetLoader<Library> {
                 Encoding is UTF-8-BOM not UTF-8 only.
                 First column of the CSV can't be read properly with normal InputStream.
                  */
-                .parse(new InputStreamReader(new BOMInputStream(new ByteArrayInputStream(file.getFile())), StandardCharsets.UTF_8));
+                .parse(new InputStreamReader(new BOMInputStream(file.getInputStream()), StandardCharsets.UTF_8));
 
             for (CSVRecord record : records) {
                 try {
@@ -26,10 +26,12 @@ public class ArchiveLoader implements AssetLoader<Library> {
 
     private final Logger log = LoggerFactory.getLogger(ArchiveLoader.class);
     private final LibraryService libraryService;
+    private final HttpHelper httpHelper;
     private final Set<Library> globalList = new HashSet<>(256);
 
-    public ArchiveLoader(LibraryService libraryService) {
+    public ArchiveLoader(LibraryService libraryService, HttpHelper httpHelper) {
         this.libraryService = libraryService;
+        this.httpHelper = httpHelper;
     }
 
     @Override
@@ -139,7 +141,7 @@ public class ArchiveLoader implements AssetLoader<Library> {
             for (PackageInfo pi : packageInfos) {
                 String searchURL = String.format("https://search.maven.org/solrsearch/select?q=1:%s&wt=json", pi.getSha1Hash());
                 //JSON data is requested from the Maven search API
-                var httpResponse = HttpHelper.httpGetRequest(searchURL);
+                var httpResponse = httpHelper.httpGetRequest(searchURL);
                 if (httpResponse.statusCode() != 200) {
                     log.error("Bad HTTP response while accessing Maven search: {}", httpResponse.statusCode());
                     break;
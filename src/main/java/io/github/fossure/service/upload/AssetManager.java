@@ -1,7 +1,9 @@
 package io.github.fossure.service.upload;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import io.github.fossure.service.exceptions.UploadException;
 import io.github.fossure.domain.File;
@@ -14,10 +16,55 @@ public class AssetManager<T> {
         loaders.put(contentType, loader);
     }
 
+    /**
+     * @param contentType content type of a file.
+     * @return true if the loader for the content type reads the file as a stream in a stable order.
+     */
+    public boolean isStreaming(String contentType) {
+        return loaders.get(contentType) instanceof StreamingAssetLoader;
+    }
+
     public Set<T> load(File file, String contentType) throws UploadException {
+        return getLoader(contentType).load(file);
+    }
+
+    /**
+     * Loads the assets of a file and hands them over in batches. Loaders implementing {@link StreamingAssetLoader}
+     * read the file as a stream, all other loaders load the complete file first and the result is split afterwards.
+     *
+     * @param file          the file to load.
+     * @param contentType   content type of the file.
+     * @param batchSize     maximum number of assets per batch.
+     * @param batchConsumer consumer which is called for every batch.
+     * @throws UploadException if no loader is registered for the content type or the file can't be loaded.
+     */
+    public void load(File file, String contentType, int batchSize, Consumer<Set<T>> batchConsumer) throws UploadException {
+        AssetLoader<T> loader = getLoader(contentType);
+
+        if (loader instanceof StreamingAssetLoader) {
+            ((StreamingAssetLoader<T>) loader).load(file, batchSize, batchConsumer);
+            return;
+        }
+
+        Set<T> assets = loader.load(file);
+        if (assets == null) return;
+
+        Set<T> batch = new HashSet<>(batchSize);
+        for (T asset : assets) {
+            batch.add(asset);
+
+            if (batch.size() >= batchSize) {
+                batchConsumer.accept(batch);
+                batch = new HashSet<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) batchConsumer.accept(batch);
+    }
+
+    private AssetLoader<T> getLoader(String contentType) throws UploadException {
         AssetLoader<T> loader = loaders.get(contentType);
         if (loader == null) throw new UploadException("No loader registered for \"" + contentType + "\" files");
 
-        return loader.load(file);
+        return loader;
     }
 }
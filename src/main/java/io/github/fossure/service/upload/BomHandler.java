@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
@@ -13,15 +14,23 @@ import org.xml.sax.helpers.DefaultHandler;
 
 import io.github.fossure.domain.Library;
 
+/**
+ * SAX handler for CycloneDX XML files. By default all components are collected and can be fetched with
+ * {@link #getLibraries()}. If a batch consumer is given, the components are handed over as soon as a batch is full and
+ * only the current batch is kept in memory.
+ */
 public class BomHandler extends DefaultHandler {
 
     private final String[] referenceTypes = { "vcs", "website", "issue-tracker", "distribution" }; // Sorting by priority
 
-    private final Set<Library> libraries = new HashSet<>(128);
     private final List<String> licenses = new ArrayList<>(2);
     private final Map<String, String> sourceCodeUrl = new HashMap<>(4);
     private final Map<String, String> hashAlg = new HashMap<>(2);
 
+    private final int batchSize;
+    private final Consumer<Set<Library>> batchConsumer;
+    private Set<Library> libraries = new HashSet<>(128);
+
     private Library lastLibrary;
     private String lastHashAlg = "";
     private String lastReferenceType = "";
@@ -42,6 +51,15 @@ public class BomHandler extends DefaultHandler {
     private boolean bExternalReferencesReference;
     private boolean bExternalReferencesUrl;
 
+    public BomHandler() {
+        this(0, null);
+    }
+
+    public BomHandler(int batchSize, Consumer<Set<Library>> batchConsumer) {
+        this.batchSize = batchSize;
+        this.batchConsumer = batchConsumer;
+    }
+
     @Override
     public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
         super.startElement(uri, localName, qName, attributes);
@@ -109,6 +127,8 @@ public class BomHandler extends DefaultHandler {
             licenses.clear();
             hashAlg.clear();
             sourceCodeUrl.clear();
+
+            if (batchConsumer != null && libraries.size() >= batchSize) flush();
         } else if (bComponent && qName.equalsIgnoreCase("group")) {
             bGroup = false;
         } else if (bComponent && !bLicenses && qName.equalsIgnoreCase("name")) {
@@ -174,6 +194,18 @@ public class BomHandler extends DefaultHandler {
         }
     }
 
+    @Override
+    public void endDocument() throws SAXException {
+        super.endDocument();
+
+        if (batchConsumer != null && !libraries.isEmpty()) flush();
+    }
+
+    private void flush() {
+        batchConsumer.accept(libraries);
+        libraries = new HashSet<>(batchSize);
+    }
+
     public Set<Library> getLibraries() {
         return libraries;
     }
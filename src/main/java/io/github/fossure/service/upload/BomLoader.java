@@ -1,8 +1,9 @@
 package io.github.fossure.service.upload;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
@@ -14,25 +15,38 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
 
-public class BomLoader implements AssetLoader<Library> {
+public class BomLoader implements StreamingAssetLoader<Library> {
 
     private final Logger log = LoggerFactory.getLogger(BomLoader.class);
 
     @Override
     public Set<Library> load(File file) throws UploadException {
+        BomHandler handler = new BomHandler();
+        parse(file, handler);
+
+        return handler.getLibraries();
+    }
+
+    /**
+     * Parses the SBOM directly from the file stream (if present) and hands over the components in batches of
+     * {@code batchSize}. The SBOM is never kept in memory completely.
+     */
+    @Override
+    public void load(File file, int batchSize, Consumer<Set<Library>> batchConsumer) throws UploadException {
+        parse(file, new BomHandler(batchSize, batchConsumer));
+    }
+
+    private void parse(File file, BomHandler handler) throws UploadException {
         SAXParserFactory factory = SAXParserFactory.newInstance();
 
-        try {
+        try (InputStream inputStream = file.getInputStream()) {
             /* Secure against XXE */
             factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
             factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
             factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
 
             SAXParser parser = factory.newSAXParser();
-            BomHandler handler = new BomHandler();
-            parser.parse(new ByteArrayInputStream(file.getFile()), handler);
-
-            return handler.getLibraries();
+            parser.parse(inputStream, handler);
         } catch (ParserConfigurationException | IOException | SAXException e) {
             log.error("Error while parsing XML file : {}", e.getMessage());
             throw new UploadException("XML file can't be parsed");
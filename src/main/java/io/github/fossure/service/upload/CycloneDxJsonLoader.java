@@ -0,0 +1,261 @@
+package io.github.fossure.service.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fossure.domain.File;
+import io.github.fossure.domain.Library;
+import io.github.fossure.service.exceptions.UploadException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loader for CycloneDX JSON files. The file is read in a single forward pass with the Jackson streaming
+ * {@link JsonParser}, only the current batch of components is kept in memory. The components (including nested
+ * components) are read with their purl, hashes and licenses (id, name or expression), the metadata of the BOM is
+ * skipped.
+ * <p>
+ * A JSON array is read as a list of libraries, like it's exported by Fossure.
+ */
+public class CycloneDxJsonLoader implements StreamingAssetLoader<Library> {
+
+    private final Logger log = LoggerFactory.getLogger(CycloneDxJsonLoader.class);
+
+    private final ObjectMapper objectMapper;
+
+    public CycloneDxJsonLoader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Set<Library> load(File file) throws UploadException {
+        Set<Library> libraries = new HashSet<>(128);
+        load(file, Integer.MAX_VALUE, libraries::addAll);
+
+        return libraries;
+    }
+
+    @Override
+    public void load(File file, int batchSize, Consumer<Set<Library>> batchConsumer) throws UploadException {
+        Batch batch = new Batch(batchSize, batchConsumer);
+
+        try (InputStream inputStream = file.getInputStream(); JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+
+            if (token == JsonToken.START_OBJECT) {
+                readBom(parser, batch);
+            } else if (token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    batch.accept(parser.readValueAs(Library.class));
+                }
+            } else {
+                throw new UploadException("JSON file can't be read");
+            }
+        } catch (IOException e) {
+            log.error("Error while parsing JSON file : {}", e.getMessage());
+            throw new UploadException("JSON file can't be read");
+        }
+
+        batch.flush();
+    }
+
+    private void readBom(JsonParser parser, Consumer<Library> componentConsumer) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            if ("components".equals(field)) {
+                readComponents(parser, componentConsumer);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readComponents(JsonParser parser, Consumer<Library> componentConsumer) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            readComponent(parser, componentConsumer);
+        }
+    }
+
+    private void readComponent(JsonParser parser, Consumer<Library> componentConsumer) throws IOException {
+        Library library = new Library();
+        List<String> licenses = new ArrayList<>(2);
+        Map<String, String> hashes = new HashMap<>(4);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "group":
+                    String group = readText(parser);
+                    if (group != null) library.setNamespace(group);
+                    break;
+                case "name":
+                    library.setName(readText(parser));
+                    break;
+                case "version":
+                    String version = readText(parser);
+                    if (version != null) library.setVersion(version);
+                    break;
+                case "purl":
+                    String purl = readText(parser);
+                    if (purl != null) {
+                        library.setpUrl(purl);
+                        library.setType(library.extractTypeFromPUrl(purl));
+                    }
+                    break;
+                case "hashes":
+                    readHashes(parser, hashes);
+                    break;
+                case "licenses":
+                    readLicenses(parser, licenses);
+                    break;
+                case "components":
+                    readComponents(parser, componentConsumer);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        library.setMd5(hashes.get("MD5"));
+        library.setSha1(hashes.get("SHA-1"));
+        library.setOriginalLicense(String.join(" / ", licenses));
+
+        componentConsumer.accept(library);
+    }
+
+    private void readHashes(JsonParser parser, Map<String, String> hashes) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String alg = null;
+            String content = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+
+                if ("alg".equals(field)) {
+                    alg = readText(parser);
+                } else if ("content".equals(field)) {
+                    content = readText(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (alg != null) hashes.put(alg, content);
+        }
+    }
+
+    /**
+     * Reads the license choices of a component. A license is identified by its SPDX id or its name, an expression is
+     * taken as it is.
+     */
+    private void readLicenses(JsonParser parser, List<String> licenses) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+
+                if ("license".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    readLicense(parser, licenses);
+                } else if ("expression".equals(field) && parser.getValueAsString() != null) {
+                    licenses.add(parser.getValueAsString());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readLicense(JsonParser parser, List<String> licenses) throws IOException {
+        String id = null;
+        String name = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            if ("id".equals(field)) {
+                id = readText(parser);
+            } else if ("name".equals(field)) {
+                name = readText(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (id != null) {
+            licenses.add(id);
+        } else if (name != null) {
+            licenses.add(name);
+        }
+    }
+
+    /**
+     * Reads the value of the current field as text. A JSON null, object or array is read like a missing field.
+     */
+    private static String readText(JsonParser parser) throws IOException {
+        if (parser.currentToken().isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Collects the components and hands them over as soon as the batch is full.
+     */
+    private static class Batch implements Consumer<Library> {
+
+        private final int batchSize;
+        private final Consumer<Set<Library>> batchConsumer;
+        private Set<Library> libraries;
+
+        Batch(int batchSize, Consumer<Set<Library>> batchConsumer) {
+            this.batchSize = batchSize;
+            this.batchConsumer = batchConsumer;
+            this.libraries = new HashSet<>(Math.min(batchSize, 128));
+        }
+
+        @Override
+        public void accept(Library library) {
+            libraries.add(library);
+            if (libraries.size() >= batchSize) flush();
+        }
+
+        void flush() {
+            if (libraries.isEmpty()) return;
+
+            batchConsumer.accept(libraries);
+            libraries = new HashSet<>(Math.min(batchSize, 128));
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package io.github.fossure.service.upload;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
@@ -10,6 +9,7 @@ import java.time.format.DateTimeParseException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import io.github.fossure.service.exceptions.UploadException;
 import io.github.fossure.domain.File;
@@ -24,13 +24,25 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class LibraryCsvLoader implements AssetLoader<Library> {
+public class LibraryCsvLoader implements StreamingAssetLoader<Library> {
 
     private final Logger log = LoggerFactory.getLogger(LibraryCsvLoader.class);
 
     @Override
     public Set<Library> load(File file) throws UploadException {
         Set<Library> libraries = new HashSet<>(256);
+        load(file, Integer.MAX_VALUE, libraries::addAll);
+
+        return libraries;
+    }
+
+    /**
+     * Iterates the CSV records directly from the file stream and hands over the libraries in batches of
+     * {@code batchSize}. The CSV is never kept in memory completely.
+     */
+    @Override
+    public void load(File file, int batchSize, Consumer<Set<Library>> batchConsumer) throws UploadException {
+        Set<Library> batch = new HashSet<>(Math.min(batchSize, 256));
 
         try {
             Iterable<CSVRecord> records = CSVFormat.DEFAULT
@@ -40,7 +52,7 @@ public class LibraryCsvLoader implements AssetLoader<Library> {
                 Encoding is UTF-8-BOM not UTF-8 only.
                 First column of the CSV can't be read properly with normal InputStream.
                  */
-                .parse(new InputStreamReader(new BOMInputStream(new ByteArrayInputStream(file.getFile())), StandardCharsets.UTF_8));
+                .parse(new InputStreamReader(new BOMInputStream(file.getInputStream()), StandardCharsets.UTF_8));
 
             for (CSVRecord record : records) {
                 try {
@@ -113,17 +125,22 @@ public class LibraryCsvLoader implements AssetLoader<Library> {
                         library.setLicenseOfFiles(Collections.singleton(license));
                     }
 
-                    libraries.add(library);
+                    batch.add(library);
                 } catch (IllegalArgumentException e) {
                     log.error("File does not match any known CSV format : {}", e.getMessage());
                     throw new UploadException("File does not match any known CSV format");
                 }
+
+                if (batch.size() >= batchSize) {
+                    batchConsumer.accept(batch);
+                    batch = new HashSet<>(Math.min(batchSize, 256));
+                }
             }
         } catch (IOException e) {
             log.error("Error parsing CSV file : {}", e.getMessage());
             throw new UploadException("CSV can't be read");
         }
 
-        return libraries;
+        if (!batch.isEmpty()) batchConsumer.accept(batch);
     }
 }
@@ -0,0 +1,15 @@
+package io.github.fossure.service.upload;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+import io.github.fossure.domain.File;
+import io.github.fossure.service.exceptions.UploadException;
+
+/**
+ * An {@link AssetLoader} which is able to read a file as a stream and hand over the parsed assets in batches of a
+ * fixed size. Only the current batch is kept in memory, independent of the size of the file.
+ */
+public interface StreamingAssetLoader<T> extends AssetLoader<T> {
+    void load(File file, int batchSize, Consumer<Set<T>> batchConsumer) throws UploadException;
+}
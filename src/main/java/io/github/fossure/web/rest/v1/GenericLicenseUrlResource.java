@@ -2,6 +2,7 @@ package io.github.fossure.web.rest.v1;
 
 import io.github.fossure.domain.GenericLicenseUrl;
 import io.github.fossure.repository.GenericLicenseUrlRepository;
+import io.github.fossure.service.LicenseService;
 import io.github.fossure.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,11 +31,13 @@ public class GenericLicenseUrlResource {
     private static final String ENTITY_NAME = "genericLicenseUrl";
     private final Logger log = LoggerFactory.getLogger(GenericLicenseUrlResource.class);
     private final GenericLicenseUrlRepository genericLicenseUrlRepository;
+    private final LicenseService licenseService;
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
-    public GenericLicenseUrlResource(GenericLicenseUrlRepository genericLicenseUrlRepository) {
+    public GenericLicenseUrlResource(GenericLicenseUrlRepository genericLicenseUrlRepository, LicenseService licenseService) {
         this.genericLicenseUrlRepository = genericLicenseUrlRepository;
+        this.licenseService = licenseService;
     }
 
     /**
@@ -53,6 +56,7 @@ public class GenericLicenseUrlResource {
             throw new BadRequestAlertException("A new genericLicenseUrl cannot already have an ID", ENTITY_NAME, "idexists");
         }
         GenericLicenseUrl result = genericLicenseUrlRepository.save(genericLicenseUrl);
+        licenseService.invalidateGenericLicenseUrlMatcher();
         return ResponseEntity
             .created(new URI("/api/generic-license-urls/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
@@ -87,6 +91,7 @@ public class GenericLicenseUrlResource {
         }
 
         GenericLicenseUrl result = genericLicenseUrlRepository.save(genericLicenseUrl);
+        licenseService.invalidateGenericLicenseUrlMatcher();
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, genericLicenseUrl.getId().toString()))
@@ -131,6 +136,7 @@ public class GenericLicenseUrlResource {
                 return existingGenericLicenseUrl;
             })
             .map(genericLicenseUrlRepository::save);
+        licenseService.invalidateGenericLicenseUrlMatcher();
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -173,6 +179,7 @@ public class GenericLicenseUrlResource {
     public ResponseEntity<Void> deleteGenericLicenseUrl(@PathVariable Long id) {
         log.debug("REST request to delete GenericLicenseUrl : {}", id);
         genericLicenseUrlRepository.deleteById(id);
+        licenseService.invalidateGenericLicenseUrlMatcher();
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
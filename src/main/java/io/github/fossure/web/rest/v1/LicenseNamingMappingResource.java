@@ -2,6 +2,7 @@ package io.github.fossure.web.rest.v1;
 
 import io.github.fossure.domain.LicenseNamingMapping;
 import io.github.fossure.repository.LicenseNamingMappingRepository;
+import io.github.fossure.service.LicenseService;
 import io.github.fossure.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,11 +37,13 @@ public class LicenseNamingMappingResource {
     private static final String ENTITY_NAME = "licenseNamingMapping";
     private final Logger log = LoggerFactory.getLogger(LicenseNamingMappingResource.class);
     private final LicenseNamingMappingRepository licenseNamingMappingRepository;
+    private final LicenseService licenseService;
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
-    public LicenseNamingMappingResource(LicenseNamingMappingRepository licenseNamingMappingRepository) {
+    public LicenseNamingMappingResource(LicenseNamingMappingRepository licenseNamingMappingRepository, LicenseService licenseService) {
         this.licenseNamingMappingRepository = licenseNamingMappingRepository;
+        this.licenseService = licenseService;
     }
 
     /**
@@ -59,6 +62,7 @@ public class LicenseNamingMappingResource {
             throw new BadRequestAlertException("A new licenseNamingMapping cannot already have an ID", ENTITY_NAME, "idexists");
         }
         LicenseNamingMapping result = licenseNamingMappingRepository.save(licenseNamingMapping);
+        licenseService.invalidateLicenseNameMatcher();
         return ResponseEntity
             .created(new URI("/api/v1/license-naming-mappings/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
@@ -93,6 +97,7 @@ public class LicenseNamingMappingResource {
         }
 
         LicenseNamingMapping result = licenseNamingMappingRepository.save(licenseNamingMapping);
+        licenseService.invalidateLicenseNameMatcher();
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, licenseNamingMapping.getId().toString()))
@@ -140,6 +145,7 @@ public class LicenseNamingMappingResource {
                 return existingLicenseNamingMapping;
             })
             .map(licenseNamingMappingRepository::save);
+        licenseService.invalidateLicenseNameMatcher();
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -187,6 +193,7 @@ public class LicenseNamingMappingResource {
     public ResponseEntity<Void> deleteLicenseNamingMapping(@PathVariable Long id) {
         log.debug("REST request to delete LicenseNamingMapping : {}", id);
         licenseNamingMappingRepository.deleteById(id);
+        licenseService.invalidateLicenseNameMatcher();
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
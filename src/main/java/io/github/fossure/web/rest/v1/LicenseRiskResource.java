@@ -2,6 +2,9 @@ package io.github.fossure.web.rest.v1;
 
 import io.github.fossure.domain.LicenseRisk;
 import io.github.fossure.repository.LicenseRiskRepository;
+import io.github.fossure.service.LibraryRiskRecomputationService;
+import io.github.fossure.service.LicenseService;
+import io.github.fossure.service.dto.LibraryRiskRecomputationDTO;
 import io.github.fossure.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,11 +40,19 @@ public class LicenseRiskResource {
     private static final String ENTITY_NAME = "licenseRisk";
     private final Logger log = LoggerFactory.getLogger(LicenseRiskResource.class);
     private final LicenseRiskRepository licenseRiskRepository;
+    private final LicenseService licenseService;
+    private final LibraryRiskRecomputationService libraryRiskRecomputationService;
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
-    public LicenseRiskResource(LicenseRiskRepository licenseRiskRepository) {
+    public LicenseRiskResource(
+        LicenseRiskRepository licenseRiskRepository,
+        LicenseService licenseService,
+        LibraryRiskRecomputationService libraryRiskRecomputationService
+    ) {
         this.licenseRiskRepository = licenseRiskRepository;
+        this.licenseService = licenseService;
+        this.libraryRiskRecomputationService = libraryRiskRecomputationService;
     }
 
     /**
@@ -60,6 +71,7 @@ public class LicenseRiskResource {
             throw new BadRequestAlertException("A new licenseRisk cannot already have an ID", ENTITY_NAME, "idexists");
         }
         LicenseRisk result = licenseRiskRepository.save(licenseRisk);
+        licenseService.invalidateLicenseCatalog();
         return ResponseEntity
             .created(new URI("/api/v1/license-risks/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
@@ -94,7 +106,7 @@ public class LicenseRiskResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        LicenseRisk result = licenseRiskRepository.save(licenseRisk);
+        LicenseRisk result = licenseService.updateLicenseRisk(licenseRisk);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, licenseRisk.getId().toString()))
@@ -148,7 +160,7 @@ public class LicenseRiskResource {
 
                 return existingLicenseRisk;
             })
-            .map(licenseRiskRepository::save);
+            .map(licenseService::updateLicenseRisk);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -156,6 +168,18 @@ public class LicenseRiskResource {
         );
     }
 
+    /**
+     * {@code GET  /license-risks/recomputation} : get the progress of the recomputation of the libraries after a risk
+     * level changed.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the progress in body.
+     */
+    @GetMapping("/license-risks/recomputation")
+    public ResponseEntity<LibraryRiskRecomputationDTO> getLibraryRiskRecomputation() {
+        log.debug("REST request to get the progress of the library risk recomputation");
+        return ResponseEntity.ok().body(libraryRiskRecomputationService.getProgress());
+    }
+
     /**
      * {@code GET  /license-risks} : get all the licenseRisks.
      *
@@ -195,6 +219,7 @@ public class LicenseRiskResource {
     public ResponseEntity<Void> deleteLicenseRisk(@PathVariable Long id) {
         log.debug("REST request to delete LicenseRisk : {}", id);
         licenseRiskRepository.deleteById(id);
+        licenseService.invalidateLicenseCatalog();
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
@@ -5,6 +5,7 @@ import io.github.fossure.config.Constants;
 import io.github.fossure.domain.File;
 import io.github.fossure.domain.Library;
 import io.github.fossure.domain.Project;
+import io.github.fossure.domain.UploadJob;
 import io.github.fossure.domain.enumeration.*;
 import io.github.fossure.domain.helper.BasicAuthentication;
 import io.github.fossure.domain.helper.DifferenceView;
@@ -14,19 +15,24 @@ import io.github.fossure.domain.statistics.ProjectOverview;
 import io.github.fossure.domain.statistics.ProjectStatistic;
 import io.github.fossure.repository.ProjectRepository;
 import io.github.fossure.service.ProjectService;
+import io.github.fossure.service.UploadJobService;
 import io.github.fossure.service.criteria.ProjectCriteria;
 import io.github.fossure.service.criteria.query.ProjectQueryService;
+import io.github.fossure.service.helper.UploadFileHelper;
 import io.github.fossure.service.exceptions.*;
 import io.github.fossure.web.rest.errors.BadRequestAlertException;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,8 +41,10 @@ import tech.jhipster.web.util.ResponseUtil;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -63,17 +71,21 @@ public class ProjectResource {
 
     private final ProjectQueryService projectQueryService;
 
+    private final UploadJobService uploadJobService;
+
     private final ApplicationProperties applicationProperties;
 
     public ProjectResource(
         ProjectService projectService,
         ProjectRepository projectRepository,
         ProjectQueryService projectQueryService,
+        UploadJobService uploadJobService,
         ApplicationProperties applicationProperties
     ) {
         this.projectService = projectService;
         this.projectRepository = projectRepository;
         this.projectQueryService = projectQueryService;
+        this.uploadJobService = uploadJobService;
         this.applicationProperties = applicationProperties;
     }
 
@@ -538,6 +550,7 @@ public class ProjectResource {
 
     /**
      * {@code POST  /projects/:id/upload} : Upload of a BOM or archive to a project.
+     * The upload is spooled to a file and processed as an {@link UploadJob} in the background.
      *
      * @param id     ID of the project
      * @param delete true if the libraries from a previous upload should be deleted, or
@@ -554,29 +567,143 @@ public class ProjectResource {
         @RequestBody Upload upload
     ) {
         log.debug("REST request with upload to project : {}", id);
-        if (!projectService.existsById(id)) {
+        Optional<Project> optionalProject = projectService.findOne(id);
+        if (optionalProject.isEmpty()) {
             throw new BadRequestAlertException("Project not found", ENTITY_NAME, "idnotfound");
         }
+        if (upload.getFile() == null || upload.getFile().getFile() == null) {
+            throw new BadRequestAlertException("File is missing", ENTITY_NAME, "uploaderror");
+        }
+
+        int uploadLimit = applicationProperties.getUpload().getLimit();
+        File additionalLibraries = upload.getAdditionalLibraries();
+        UploadJob uploadJob = spoolUploadJob(
+            upload.getFile().getFileName(),
+            upload.getFile().getFileContentType(),
+            directory -> UploadFileHelper.spoolToTempFile(upload.getFile().getInputStream(), uploadLimit, directory),
+            additionalLibraries != null && additionalLibraries.getFile() != null
+                ? directory -> UploadFileHelper.spoolToTempFile(additionalLibraries.getInputStream(), uploadLimit, directory)
+                : null,
+            delete
+        );
+
+        startUploadJob(optionalProject.get(), uploadJob);
 
-        Project project;
+        return ResponseEntity.noContent().headers(HeaderUtil.createAlert(applicationName, "Upload was successful", ENTITY_NAME)).build();
+    }
+
+    /**
+     * {@code POST  /projects/:id/upload-file} : Upload of a BOM or archive to a project as {@code multipart/form-data}.
+     * The parts are already written to disk by the servlet container, they are moved to the spool directory and
+     * processed as a stream in an {@link UploadJob}, so the file is never kept in memory completely. The size of the
+     * parts is limited by {@code spring.servlet.multipart.max-file-size}.
+     *
+     * @param id                  ID of the project
+     * @param delete              true if the libraries from a previous upload should be deleted, or
+     *                            false if the libraries from the new upload should be added to the previous results
+     * @param file                The BOM or archive
+     * @param additionalLibraries Optional CSV file with additional libraries
+     * @return The {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, if the processing is successfully started,
+     * or with status {@code 400 (Bad Request)} if the file exceeds the upload limit or the project does not exist.
+     */
+    @PostMapping(value = "/projects/{id}/upload-file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Secured({ "ROLE_ADMIN", "ROLE_USER" })
+    public ResponseEntity<Void> uploadFile(
+        @PathVariable Long id,
+        @RequestParam(value = "delete", defaultValue = "true") boolean delete,
+        @RequestPart("file") MultipartFile file,
+        @RequestPart(value = "additionalLibraries", required = false) MultipartFile additionalLibraries
+    ) {
+        log.debug("REST request with file upload to project : {}", id);
         Optional<Project> optionalProject = projectService.findOne(id);
+        if (optionalProject.isEmpty()) {
+            throw new BadRequestAlertException("Project not found", ENTITY_NAME, "idnotfound");
+        }
 
-        if (optionalProject.isPresent()) {
-            project = optionalProject.get();
+        String contentType = file.getContentType() != null ? file.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        UploadJob uploadJob = spoolUploadJob(
+            file.getOriginalFilename(),
+            contentType,
+            directory -> transferToTempFile(file, directory),
+            additionalLibraries != null && !additionalLibraries.isEmpty()
+                ? directory -> transferToTempFile(additionalLibraries, directory)
+                : null,
+            delete
+        );
 
-            project.setUploadState(UploadState.PROCESSING);
-            projectService.saveAndFlush(project);
-        } else {
-            throw new BadRequestAlertException("Cannot find Project ID", ENTITY_NAME, "idnotfound");
+        startUploadJob(optionalProject.get(), uploadJob);
+
+        return ResponseEntity.noContent().headers(HeaderUtil.createAlert(applicationName, "Upload was successful", ENTITY_NAME)).build();
+    }
+
+    /**
+     * {@code GET  /projects/:id/upload-job} : Get the latest upload job of a project to poll the progress of an upload.
+     *
+     * @param id ID of the project
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the upload job,
+     * or with status {@code 404 (Not Found)} if the project has no upload job.
+     */
+    @GetMapping("/projects/{id}/upload-job")
+    public ResponseEntity<UploadJob> getUploadJob(@PathVariable Long id) {
+        log.debug("REST request to get latest UploadJob of Project : {}", id);
+        return ResponseUtil.wrapOrNotFound(uploadJobService.findLatestByProject(id));
+    }
+
+    /**
+     * Writes a part of an upload to a file in the spool directory.
+     */
+    @FunctionalInterface
+    private interface Spooler {
+        Path spool(String spoolDirectory) throws UploadException, IOException;
+    }
+
+    /**
+     * Moves a multipart file to the spool directory. The servlet container already stored the file on disk, so it's
+     * only copied if the spool directory is on another file system.
+     */
+    private static Path transferToTempFile(MultipartFile file, String spoolDirectory) throws IOException {
+        Path tempFile = UploadFileHelper.createTempFile(spoolDirectory);
+        try {
+            file.transferTo(tempFile.toFile());
+        } catch (IOException | RuntimeException e) {
+            UploadFileHelper.deleteTempFile(tempFile);
+            throw e;
         }
+        return tempFile;
+    }
 
+    private UploadJob spoolUploadJob(String fileName, String contentType, Spooler file, Spooler additionalLibraries, boolean delete) {
+        String spoolDirectory = applicationProperties.getUpload().getSpoolDirectory();
+
+        Path spooledFile = null;
         try {
-            projectService.processUpload(project, upload, delete);
+            spooledFile = file.spool(spoolDirectory);
+            Path spooledAdditionalLibraries = additionalLibraries != null ? additionalLibraries.spool(spoolDirectory) : null;
+
+            return new UploadJob()
+                .fileName(fileName)
+                .fileContentType(contentType)
+                .sourceFile(spooledFile.toString())
+                .additionalLibrariesFile(spooledAdditionalLibraries != null ? spooledAdditionalLibraries.toString() : null)
+                .deleteExisting(delete);
         } catch (UploadException e) {
-            log.error("Error while processing the upload : {}", e.getMessage());
+            if (spooledFile != null) UploadFileHelper.deleteTempFile(spooledFile);
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "uploaderror");
+        } catch (IOException e) {
+            if (spooledFile != null) UploadFileHelper.deleteTempFile(spooledFile);
+            log.error("Error while spooling the upload : {}", e.getMessage());
+            throw new BadRequestAlertException("File can't be received", ENTITY_NAME, "uploaderror");
         }
+    }
 
-        return ResponseEntity.noContent().headers(HeaderUtil.createAlert(applicationName, "Upload was successful", ENTITY_NAME)).build();
+    private void startUploadJob(Project project, UploadJob uploadJob) {
+        uploadJob = projectService.createUploadJob(project, uploadJob);
+
+        try {
+            projectService.processUploadJob(project, uploadJob);
+        } catch (UploadException e) {
+            log.error("Error while processing the upload : {}", e.getMessage());
+        }
     }
 
     /**
@@ -632,7 +759,8 @@ public class ProjectResource {
 
     /**
      * {@code GET  /projects/:id/upload-by-url} : Upload a BOM or archive from a URL.
-     * It's possible to specify credentials for a basic authentication.
+     * It's possible to specify credentials for a basic authentication. The file is downloaded and processed in the
+     * background as an {@link UploadJob}, errors are reported with the upload job and the upload state of the project.
      *
      * @param id          ID of the project for the upload
      * @param url         URL of the file
@@ -656,26 +784,21 @@ public class ProjectResource {
             throw new BadRequestAlertException("Project not found", ENTITY_NAME, "idnotfound");
         }
 
-        Project project;
-        Optional<Project> optionalProject = projectService.findOne(id);
-
-        if (optionalProject.isPresent()) {
-            project = optionalProject.get();
+        Project project = projectService.findOne(id).orElseThrow(() ->
+            new BadRequestAlertException("Cannot find Project ID", ENTITY_NAME, "idnotfound")
+        );
 
-            project.setUploadState(UploadState.PROCESSING);
-            projectService.saveAndFlush(project);
-        } else {
-            throw new BadRequestAlertException("Cannot find Project ID", ENTITY_NAME, "idnotfound");
-        }
+        // Credentials aren't persisted, so only a download without authentication can be resumed after a restart
+        boolean withCredentials = !StringUtils.isBlank(credentials.getUsername()) || !StringUtils.isBlank(credentials.getPassword());
+        UploadJob uploadJob = projectService.createUploadJob(
+            project,
+            new UploadJob().sourceUrl(withCredentials ? null : url).deleteExisting(delete)
+        );
 
         try {
-            String contentType = projectService.preCheckForUploadByUrl(project, url, credentials);
-            projectService.processUploadByUrl(project, url, credentials, delete, contentType);
+            projectService.processUploadByUrl(project, uploadJob, url, credentials);
         } catch (UploadException e) {
             log.error("Error while downloading file : {}", e.getMessage());
-            project.setUploadState(UploadState.FAILURE);
-            projectService.saveAndFlush(project);
-            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "uploaderror");
         }
 
         return ResponseEntity
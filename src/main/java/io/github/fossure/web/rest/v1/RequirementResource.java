@@ -2,6 +2,7 @@ package io.github.fossure.web.rest.v1;
 
 import io.github.fossure.domain.Requirement;
 import io.github.fossure.repository.RequirementRepository;
+import io.github.fossure.service.LicenseService;
 import io.github.fossure.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,11 +38,13 @@ public class RequirementResource {
     private static final String ENTITY_NAME = "requirement";
     private final Logger log = LoggerFactory.getLogger(RequirementResource.class);
     private final RequirementRepository requirementRepository;
+    private final LicenseService licenseService;
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
-    public RequirementResource(RequirementRepository requirementRepository) {
+    public RequirementResource(RequirementRepository requirementRepository, LicenseService licenseService) {
         this.requirementRepository = requirementRepository;
+        this.licenseService = licenseService;
     }
 
     /**
@@ -60,6 +63,7 @@ public class RequirementResource {
             throw new BadRequestAlertException("A new requirement cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Requirement result = requirementRepository.save(requirement);
+        licenseService.invalidateLicenseCatalog();
         return ResponseEntity
             .created(new URI("/api/v1/requirements/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
@@ -95,6 +99,7 @@ public class RequirementResource {
         }
 
         Requirement result = requirementRepository.save(requirement);
+        licenseService.invalidateLicenseCatalog();
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, requirement.getId().toString()))
@@ -143,6 +148,7 @@ public class RequirementResource {
                 return existingRequirement;
             })
             .map(requirementRepository::save);
+        licenseService.invalidateLicenseCatalog();
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -189,6 +195,7 @@ public class RequirementResource {
     public ResponseEntity<Void> deleteRequirement(@PathVariable Long id) {
         log.debug("REST request to delete Requirement : {}", id);
         requirementRepository.deleteById(id);
+        licenseService.invalidateLicenseCatalog();
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
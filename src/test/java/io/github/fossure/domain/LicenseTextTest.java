@@ -0,0 +1,26 @@
+package io.github.fossure.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.fossure.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class LicenseTextTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(LicenseText.class);
+        LicenseText licenseText1 = new LicenseText("AAAAAAAAAA");
+        LicenseText licenseText2 = new LicenseText("AAAAAAAAAA");
+        assertThat(licenseText1).isEqualTo(licenseText2);
+        licenseText2 = new LicenseText("BBBBBBBBBB");
+        assertThat(licenseText1).isNotEqualTo(licenseText2);
+        assertThat(new LicenseText()).isNotEqualTo(licenseText2);
+    }
+
+    @Test
+    void hashIsTheSha256OfTheText() {
+        assertThat(LicenseText.hash("")).isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        assertThat(LicenseText.hash(null)).isNull();
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.fossure.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.fossure.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class UploadJobTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(UploadJob.class);
+        UploadJob uploadJob1 = new UploadJob();
+        uploadJob1.setId(1L);
+        UploadJob uploadJob2 = new UploadJob();
+        uploadJob2.setId(uploadJob1.getId());
+        assertThat(uploadJob1).isEqualTo(uploadJob2);
+        uploadJob2.setId(2L);
+        assertThat(uploadJob1).isNotEqualTo(uploadJob2);
+        uploadJob1.setId(null);
+        assertThat(uploadJob1).isNotEqualTo(uploadJob2);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.fossure.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.fossure.config.Constants;
+import io.github.fossure.domain.Library;
+import io.github.fossure.domain.enumeration.LibraryType;
+import io.github.fossure.service.pipeline.Step;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EnrichmentMetersServiceTests {
+
+    private static final String STEP_METER_EXPECTED_NAME = "enrichment.step";
+
+    private MeterRegistry meterRegistry;
+
+    private EnrichmentMetersService enrichmentMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        enrichmentMetersService = new EnrichmentMetersService(meterRegistry);
+    }
+
+    private long count(String step, String ecosystem, String outcome) {
+        var timer = meterRegistry
+            .find(STEP_METER_EXPECTED_NAME)
+            .tag("step", step)
+            .tag("ecosystem", ecosystem)
+            .tag("outcome", outcome)
+            .timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    @Test
+    void testStepOutcomesAreRecordedByEcosystem() {
+        Step<Library, Library> step = enrichmentMetersService.instrument(
+            "npm-license",
+            library -> library.getType() == LibraryType.NPM,
+            Library::getOriginalLicense,
+            library -> library.getName().equals("found") ? library.originalLicense("MIT") : library
+        );
+
+        step.process(new Library().type(LibraryType.NPM).name("found"));
+        step.process(new Library().type(LibraryType.NPM).name("missing"));
+        step.process(new Library().type(LibraryType.NPM).name("found").originalLicense("MIT"));
+        step.process(new Library().type(LibraryType.MAVEN).name("other"));
+
+        assertThat(count("npm-license", "npm", "hit")).isEqualTo(1);
+        assertThat(count("npm-license", "npm", "miss")).isEqualTo(1);
+        assertThat(count("npm-license", "npm", "skip")).isEqualTo(1);
+        assertThat(count("npm-license", "maven", "skip")).isEqualTo(1);
+    }
+
+    @Test
+    void testFailuresAreRecordedAsErrors() {
+        Library library = new Library().type(LibraryType.GITHUB);
+
+        enrichmentMetersService.measure(
+            "license-url",
+            library,
+            Library::getLicenseUrl,
+            () -> library.setLicenseUrl(Constants.GITHUB_LIMIT)
+        );
+        assertThatThrownBy(() ->
+                enrichmentMetersService.measure(
+                    "copyright",
+                    library,
+                    Library::getCopyright,
+                    () -> {
+                        throw new IllegalStateException("failed");
+                    }
+                )
+            )
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(count("license-url", "github", "error")).isEqualTo(1);
+        assertThat(count("copyright", "github", "error")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.fossure.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.domain.Library;
+import io.github.fossure.domain.License;
+import io.github.fossure.domain.LicensePerLibrary;
+import io.github.fossure.domain.LicenseRisk;
+import io.github.fossure.domain.enumeration.LinkType;
+import io.github.fossure.repository.LibraryRepository;
+import io.github.fossure.service.dto.LibraryRiskRecomputationDTO;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class LibraryRiskRecomputationServiceTest {
+
+    private final LicenseRisk permissive = new LicenseRisk().id(1L).name("Permissive").level(2);
+    private final LicenseRisk copyleft = new LicenseRisk().id(2L).name("Strong copyleft").level(5);
+
+    private final License mit = new License().id(1L).shortIdentifier("MIT").licenseRisk(permissive);
+    private final License gpl = new License().id(2L).shortIdentifier("GPL-2.0-only").licenseRisk(copyleft);
+
+    private LibraryService libraryService;
+    private LicenseService licenseService;
+    private LibraryRepository libraryRepository;
+
+    private LibraryRiskRecomputationService libraryRiskRecomputationService;
+
+    @BeforeEach
+    public void setup() {
+        libraryService = mock(LibraryService.class);
+        licenseService = mock(LicenseService.class);
+        libraryRepository = mock(LibraryRepository.class);
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getRiskRecomputation().setBatchSize(1);
+
+        libraryRiskRecomputationService =
+            new LibraryRiskRecomputationService(
+                libraryService,
+                licenseService,
+                libraryRepository,
+                applicationProperties,
+                mock(PlatformTransactionManager.class)
+            );
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenLibraries(Library... libraries) {
+        Map<Long, Library> librariesById = Arrays.stream(libraries).collect(Collectors.toMap(Library::getId, library -> library));
+        when(libraryService.findAllWithEagerRelationships(anyCollection()))
+            .thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream().map(librariesById::get).collect(Collectors.toList())
+            );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onlyChangedLibrariesAreSaved() {
+        Library outdated = new Library().id(1L).originalLicense("MIT").addLicenseToPublish(mit).libraryRisk(copyleft);
+        outdated.addLicenses(new LicensePerLibrary().orderId(0).license(mit));
+        Library upToDate = new Library().id(2L).originalLicense("MIT").addLicenseToPublish(mit).libraryRisk(permissive);
+        upToDate.addLicenses(new LicensePerLibrary().orderId(0).license(mit));
+        givenLibraries(outdated, upToDate);
+        when(libraryRepository.findIdsByLicenseRiskId(1L)).thenReturn(List.of(1L, 2L));
+
+        libraryRiskRecomputationService.recomputeForLicenseRisk(1L);
+
+        assertThat(outdated.getLibraryRisk()).isEqualTo(permissive);
+        ArgumentCaptor<List<Library>> saved = ArgumentCaptor.forClass(List.class);
+        verify(libraryRepository, times(2)).saveAll(saved.capture());
+        assertThat(saved.getAllValues()).containsExactly(List.of(outdated), List.of());
+
+        LibraryRiskRecomputationDTO progress = libraryRiskRecomputationService.getProgress();
+        assertThat(progress.isRunning()).isFalse();
+        assertThat(progress.getTotalLibraries()).isEqualTo(2);
+        assertThat(progress.getProcessedLibraries()).isEqualTo(2);
+        assertThat(progress.getChangedLibraries()).isEqualTo(1);
+        assertThat(progress.getFailedLibraries()).isZero();
+    }
+
+    @Test
+    void licensesToPublishAreRecomputedForAlternativeLicenses() {
+        Library library = new Library().id(1L).originalLicense("MIT OR GPL-2.0-only").addLicenseToPublish(gpl).libraryRisk(copyleft);
+        library.addLicenses(new LicensePerLibrary().orderId(0).license(mit).linkType(LinkType.OR));
+        library.addLicenses(new LicensePerLibrary().orderId(1).license(gpl));
+        givenLibraries(library);
+        when(libraryRepository.findIdsByLicenseIds(List.of(2L))).thenReturn(List.of(1L));
+        when(licenseService.findLicenseToPublish(anyString(), any())).thenReturn(Set.of(mit));
+
+        libraryRiskRecomputationService.recomputeForLicense(2L);
+
+        assertThat(library.getLicenseToPublishes()).containsExactly(mit);
+        assertThat(library.getLibraryRisk()).isEqualTo(permissive);
+        assertThat(libraryRiskRecomputationService.getProgress().getChangedLibraries()).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchesAreCountedAndSkipped() {
+        Library outdated = new Library().id(2L).originalLicense("MIT").addLicenseToPublish(mit).libraryRisk(copyleft);
+        outdated.addLicenses(new LicensePerLibrary().orderId(0).license(mit));
+        when(libraryRepository.findIdsByLicenseRiskId(1L)).thenReturn(List.of(1L, 2L));
+        when(libraryService.findAllWithEagerRelationships(List.of(1L))).thenThrow(new IllegalStateException("Connection lost"));
+        when(libraryService.findAllWithEagerRelationships(List.of(2L))).thenReturn(List.of(outdated));
+
+        libraryRiskRecomputationService.recomputeForLicenseRisk(1L);
+
+        assertThat(outdated.getLibraryRisk()).isEqualTo(permissive);
+        LibraryRiskRecomputationDTO progress = libraryRiskRecomputationService.getProgress();
+        assertThat(progress.getProcessedLibraries()).isEqualTo(2);
+        assertThat(progress.getChangedLibraries()).isEqualTo(1);
+        assertThat(progress.getFailedLibraries()).isEqualTo(1);
+    }
+}
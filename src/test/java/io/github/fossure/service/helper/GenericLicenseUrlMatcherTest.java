@@ -0,0 +1,39 @@
+package io.github.fossure.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class GenericLicenseUrlMatcherTest {
+
+    @Test
+    void urlsContainingAnyPatternAreGeneric() {
+        GenericLicenseUrlMatcher matcher = new GenericLicenseUrlMatcher(
+            List.of("https?://opensource\\.org/licenses/", "(?i)apache\\.org/licenses/LICENSE-2\\.0", "spdx\\.org/licenses/(\\w+)/\\1")
+        );
+
+        assertThat(matcher.size()).isEqualTo(3);
+        assertThat(matcher.matches("https://opensource.org/licenses/MIT")).isTrue();
+        assertThat(matcher.matches("http://www.APACHE.org/licenses/LICENSE-2.0.txt")).isTrue();
+        assertThat(matcher.matches("https://spdx.org/licenses/MIT/MIT")).isTrue();
+        assertThat(matcher.matches("https://spdx.org/licenses/MIT/BSD")).isFalse();
+        assertThat(matcher.matches("https://github.com/owner/repo/blob/main/LICENSE")).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    void invalidPatternsAreSkipped() {
+        GenericLicenseUrlMatcher matcher = new GenericLicenseUrlMatcher(List.of("(unclosed", "(?x)gnu\\.org # comment"));
+
+        assertThat(matcher.size()).isEqualTo(1);
+        assertThat(matcher.matches("https://www.gnu.org/licenses/gpl-3.0.html")).isTrue();
+        assertThat(matcher.matches("https://example.org/(unclosed")).isFalse();
+    }
+
+    @Test
+    void noPatternsMatchNothing() {
+        assertThat(new GenericLicenseUrlMatcher(List.of()).matches("https://opensource.org/licenses/MIT")).isFalse();
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.fossure.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.fossure.domain.Library;
+import io.github.fossure.domain.LibraryErrorLog;
+import io.github.fossure.domain.License;
+import io.github.fossure.domain.LicensePerLibrary;
+import io.github.fossure.domain.LicenseRisk;
+import io.github.fossure.domain.enumeration.LogSeverity;
+import org.junit.jupiter.api.Test;
+
+class LibraryCompletionTest {
+
+    private final LicenseRisk permissive = new LicenseRisk().id(1L).name("Permissive").level(2);
+    private final License mit = new License().id(1L).shortIdentifier("MIT").licenseRisk(permissive);
+
+    private static Library library() {
+        return new Library().id(1L).namespace("org.example").name("example").version("1.0.0").originalLicense("MIT");
+    }
+
+    @Test
+    void completedFieldsAreAppliedToTheCurrentLibrary() {
+        Library completed = library();
+        LibraryCompletion completion = LibraryCompletion.of(completed);
+        completed.setSourceCodeUrl("https://github.com/example/example");
+        completed.addLicenses(new LicensePerLibrary().orderId(0).license(mit));
+        completed.addLicenseToPublish(mit);
+        completed.setLibraryRisk(permissive);
+        completed.addErrorLog("Copyright", "No copyright found", LogSeverity.LOW);
+
+        Library current = library();
+        assertThat(completion.applyTo(completed, current)).isTrue();
+
+        assertThat(current.getSourceCodeUrl()).isEqualTo("https://github.com/example/example");
+        assertThat(current.getLicenses()).extracting(LicensePerLibrary::getLicense).containsExactly(mit);
+        assertThat(current.getLicenses()).allSatisfy(linkedLicense -> assertThat(linkedLicense.getLibrary()).isSameAs(current));
+        assertThat(current.getLicenseToPublishes()).containsExactly(mit);
+        assertThat(current.getLibraryRisk()).isEqualTo(permissive);
+        assertThat(current.getErrorLogs()).extracting(LibraryErrorLog::getMessage).containsExactly("Copyright - No copyright found");
+    }
+
+    @Test
+    void fieldsChangedInTheMeantimeAreKept() {
+        Library completed = library().copyright("");
+        LibraryCompletion completion = LibraryCompletion.of(completed);
+        completed.setCopyright("Copyright (c) Example");
+        completed.setOriginalLicense("Apache-2.0");
+        completed.setLicenseUrl("https://example.org/LICENSE");
+
+        Library current = library().copyright("Copyright (c) Reviewed").originalLicense("MIT OR ISC");
+        assertThat(completion.applyTo(completed, current)).isTrue();
+
+        assertThat(current.getCopyright()).isEqualTo("Copyright (c) Reviewed");
+        assertThat(current.getOriginalLicense()).isEqualTo("MIT OR ISC");
+        assertThat(current.getLicenseUrl()).isEqualTo("https://example.org/LICENSE");
+    }
+
+    @Test
+    void unchangedLibraryIsNotChanged() {
+        Library completed = library();
+        LibraryCompletion completion = LibraryCompletion.of(completed);
+
+        assertThat(completion.applyTo(completed, library().copyright("Copyright (c) Reviewed"))).isFalse();
+    }
+}
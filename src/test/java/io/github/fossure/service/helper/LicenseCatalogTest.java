@@ -0,0 +1,53 @@
+package io.github.fossure.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.fossure.domain.License;
+import io.github.fossure.domain.LicenseRisk;
+import io.github.fossure.domain.Requirement;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LicenseCatalogTest {
+
+    private final LicenseRisk permissive = new LicenseRisk().id(2L).name("Permissive").level(2);
+    private final LicenseRisk copyleft = new LicenseRisk().id(1L).name("Strong copyleft").level(5);
+    private final Requirement attribution = new Requirement().id(1L).shortText("Attribution");
+
+    private final License mit = new License().id(1L).shortIdentifier("MIT").fullName("MIT License").licenseRisk(permissive);
+    private final License isc = new License().id(2L).shortIdentifier("ISC").fullName("ISC License").licenseRisk(permissive);
+
+    @Test
+    void licensesAreFoundByIdAndShortIdentifier() {
+        mit.addRequirement(attribution);
+        LicenseCatalog catalog = new LicenseCatalog(List.of(mit, isc), List.of(permissive, copyleft));
+
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(catalog.findOne(1L)).hasValueSatisfying(license -> assertThat(license.getShortIdentifier()).isEqualTo("MIT"));
+        assertThat(catalog.findOneByShortIdentifier("ISC")).hasValueSatisfying(license -> assertThat(license.getId()).isEqualTo(2L));
+        assertThat(catalog.findOne(3L)).isEmpty();
+        assertThat(catalog.findOne(null)).isEmpty();
+        assertThat(catalog.findOneByShortIdentifier("mit")).isEmpty();
+        assertThat(catalog.getRisks()).extracting(LicenseRisk::getName).containsExactly("Strong copyleft", "Permissive");
+    }
+
+    @Test
+    void snapshotIsDetachedFromTheEntities() {
+        mit.addRequirement(attribution);
+        LicenseCatalog catalog = new LicenseCatalog(List.of(mit, isc), List.of(permissive));
+
+        mit.setShortIdentifier("Expat");
+        permissive.setLevel(3);
+        attribution.setShortText("Notice");
+
+        License catalogMit = catalog.findOne(1L).orElseThrow();
+        License catalogIsc = catalog.findOne(2L).orElseThrow();
+        assertThat(catalogMit).isNotSameAs(mit);
+        assertThat(catalogMit.getShortIdentifier()).isEqualTo("MIT");
+        assertThat(catalogMit.getLicenseRisk().getLevel()).isEqualTo(2);
+        assertThat(catalogMit.getLicenseRisk()).isSameAs(catalogIsc.getLicenseRisk());
+        assertThat(catalogMit.getRequirements()).extracting(Requirement::getShortText).containsExactly("Attribution");
+        assertThatThrownBy(() -> catalogMit.getRequirements().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
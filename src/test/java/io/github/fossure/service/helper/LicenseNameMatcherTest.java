@@ -0,0 +1,56 @@
+package io.github.fossure.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.fossure.domain.LicenseNamingMapping;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LicenseNameMatcherTest {
+
+    private static LicenseNamingMapping mapping(long id, String regex, String uniformShortIdentifier) {
+        return new LicenseNamingMapping().id(id).regex(regex).uniformShortIdentifier(uniformShortIdentifier);
+    }
+
+    @Test
+    void firstMappingReplacingTheWholeNameIsUsed() {
+        LicenseNameMatcher matcher = new LicenseNameMatcher(
+            List.of(
+                mapping(1L, "(?i)^apache.*2.*$", "Apache-2.0"),
+                mapping(2L, "(?i)mit", "MIT"),
+                mapping(3L, "(?i)^mit license$", "MIT-0")
+            ),
+            10
+        );
+
+        assertThat(matcher.match("Apache License, Version 2.0")).isEqualTo("Apache-2.0");
+        assertThat(matcher.match("MIT")).isEqualTo("MIT");
+        assertThat(matcher.match("MIT License")).isEqualTo("MIT-0");
+        assertThat(matcher.match("GPL-3.0")).isEqualTo("GPL-3.0");
+    }
+
+    @Test
+    void invalidMappingsAreSkipped() {
+        LicenseNameMatcher matcher = new LicenseNameMatcher(
+            List.of(mapping(1L, "(unclosed", "BSD-3-Clause"), mapping(2L, "^bsd$", null), mapping(3L, "^BSD 3$", "BSD-3-Clause")),
+            10
+        );
+
+        assertThat(matcher.size()).isEqualTo(2);
+        assertThat(matcher.match("bsd")).isEqualTo("bsd");
+        assertThat(matcher.match("BSD 3")).isEqualTo("BSD-3-Clause");
+    }
+
+    @Test
+    void resolvedLicensesAreMemoizedUpToTheLimit() {
+        LicenseNameMatcher matcher = new LicenseNameMatcher(List.of(), 2);
+
+        matcher.putLicenseId("MIT", 1L);
+        matcher.putLicenseId("Apache-2.0", 2L);
+        matcher.putLicenseId("GPL-3.0", 3L);
+
+        assertThat(matcher.getLicenseId("MIT")).isNull();
+        assertThat(matcher.getLicenseId("Apache-2.0")).isEqualTo(2L);
+        assertThat(matcher.getLicenseId("GPL-3.0")).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.fossure.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLookup() throws Exception {
+        SingleFlight<String, IOException> singleFlight = new SingleFlight<>(IOException.class);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() ->
+            singleFlight.execute(
+                "npm:left-pad:1.0.0",
+                () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    release.await();
+                    return "MIT";
+                }
+            )
+        );
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(
+                executor.submit(() ->
+                    singleFlight.execute(
+                        "npm:left-pad:1.0.0",
+                        () -> {
+                            calls.incrementAndGet();
+                            return "other";
+                        }
+                    )
+                )
+            );
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("MIT");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("MIT");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    void exceptionIsSharedAndNotCached() throws Exception {
+        SingleFlight<String, IOException> singleFlight = new SingleFlight<>(IOException.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() ->
+            singleFlight.execute(
+                "https://licenses.invalid/LICENSE",
+                () -> {
+                    started.countDown();
+                    release.await();
+                    throw new IOException("timeout");
+                }
+            )
+        );
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("https://licenses.invalid/LICENSE", () -> "text"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThat(singleFlight.execute("https://licenses.invalid/LICENSE", () -> "text")).isEqualTo("text");
+    }
+}
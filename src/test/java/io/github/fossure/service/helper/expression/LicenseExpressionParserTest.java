@@ -0,0 +1,72 @@
+package io.github.fossure.service.helper.expression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.fossure.domain.enumeration.LinkType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class LicenseExpressionParserTest {
+
+    private final LicenseExpressionParser parser = new LicenseExpressionParser(10);
+
+    private static List<String> references(LicenseExpression expression) {
+        return expression.getReferences().stream().map(LicenseExpression.Reference::getText).collect(Collectors.toList());
+    }
+
+    @Test
+    void andBindsTighterThanOr() {
+        LicenseExpression expression = parser.parse("MIT or Apache-2.0 AND BSD-3-Clause");
+
+        assertThat(expression).hasToString("MIT OR (Apache-2.0 AND BSD-3-Clause)");
+        assertThat(references(expression)).containsExactly("MIT", "Apache-2.0", "BSD-3-Clause");
+        assertThat(expression.getLinkTypes()).containsExactly(LinkType.OR, LinkType.AND);
+    }
+
+    @Test
+    void parenthesesGroupSubExpressions() {
+        LicenseExpression expression = parser.parse("(MIT OR Apache-2.0) AND (GPL-2.0-only WITH Classpath-exception-2.0)");
+
+        assertThat(expression).hasToString("(MIT OR Apache-2.0) AND GPL-2.0-only WITH Classpath-exception-2.0");
+        assertThat(references(expression)).containsExactly("MIT", "Apache-2.0", "GPL-2.0-only WITH Classpath-exception-2.0");
+        assertThat(expression.getLinkTypes()).containsExactly(LinkType.OR, LinkType.AND);
+    }
+
+    @Test
+    void licenseNamesKeepSpacesAndParentheses() {
+        LicenseExpression expression = parser.parse("Apache License (Version 2.0) / The MIT License + GPL-2.0+");
+
+        assertThat(references(expression)).containsExactly("Apache License (Version 2.0)", "The MIT License", "GPL-2.0+");
+        assertThat(expression.getLinkTypes()).containsExactly(LinkType.OR, LinkType.OR);
+    }
+
+    @Test
+    void malformedExpressionsAreParsedLeniently() {
+        assertThat(parser.parse("MIT AND")).hasToString("MIT");
+        assertThat(parser.parse("OR (MIT OR ISC")).hasToString("MIT OR ISC");
+        assertThat(parser.parse("WITH MIT")).hasToString("MIT");
+        assertThat(references(parser.parse("  "))).containsExactly("");
+        assertThat(references(parser.parse(null))).containsExactly("");
+    }
+
+    @Test
+    void parsedExpressionsAreMemoized() {
+        LicenseExpression expression = parser.parse("(MIT OR Apache-2.0)");
+
+        assertThat(parser.parse(" (MIT OR Apache-2.0) ")).isSameAs(expression);
+        assertThat(parser.size()).isEqualTo(1);
+    }
+
+    @Test
+    void legacyLinkedLicensesAreGroupedByOrFirst() {
+        LicenseExpression expression = LicenseExpression.ofLegacyLinkedLicenses(
+            List.of("MIT", "Apache-2.0", "BSD-3-Clause", "ISC"),
+            Arrays.asList(LinkType.OR, LinkType.AND, LinkType.OR, null)
+        );
+
+        assertThat(expression).hasToString("(MIT OR Apache-2.0) AND (BSD-3-Clause OR ISC)");
+        assertThat(LicenseExpression.ofLegacyLinkedLicenses(List.of(), List.of())).isNull();
+    }
+}
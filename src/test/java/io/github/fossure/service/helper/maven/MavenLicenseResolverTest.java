@@ -0,0 +1,85 @@
+package io.github.fossure.service.helper.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.service.helper.net.OutboundHttpClient;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MavenLicenseResolverTest {
+
+    private static final String PARENT_POM =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+        "  <groupId>org.example</groupId>\n" +
+        "  <artifactId>parent</artifactId>\n" +
+        "  <version>1</version>\n" +
+        "  <licenses>\n" +
+        "    <license><name>Apache License, Version 2.0</name></license>\n" +
+        "    <license><url>https://opensource.org/licenses/MIT</url></license>\n" +
+        "  </licenses>\n" +
+        "</project>\n";
+
+    private static final String CHILD_POM =
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+        "  <parent>\n" +
+        "    <groupId>org.example</groupId>\n" +
+        "    <artifactId>parent</artifactId>\n" +
+        "    <version>1</version>\n" +
+        "  </parent>\n" +
+        "  <artifactId>child</artifactId>\n" +
+        "  <dependencies><dependency><licenses><license><name>Wrong</name></license></licenses></dependency></dependencies>\n" +
+        "</project>\n";
+
+    @TempDir
+    Path repository;
+
+    private MavenLicenseResolver createResolver() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMaven().setRepositoryUrl(repository.toUri().toString());
+        return new MavenLicenseResolver(applicationProperties, new OutboundHttpClient(new ApplicationProperties.Http()));
+    }
+
+    private Path writePom(String groupPath, String artifactId, String version, String content) throws Exception {
+        Path directory = repository.resolve(groupPath).resolve(artifactId).resolve(version);
+        Files.createDirectories(directory);
+        return Files.writeString(directory.resolve(artifactId + "-" + version + ".pom"), content, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void licensesAreInheritedFromTheParentPom() throws Exception {
+        Path parent = writePom("org/example", "parent", "1", PARENT_POM);
+        writePom("org/example", "child", "2.0", CHILD_POM);
+        MavenLicenseResolver resolver = createResolver();
+
+        assertThat(resolver.resolveLicenses("org.example", "child", "2.0"))
+            .containsExactly("Apache License, Version 2.0", "https://opensource.org/licenses/MIT");
+
+        // The parsed POMs are cached by their coordinates
+        Files.delete(parent);
+        assertThat(resolver.resolveLicenses("org.example", "parent", "1")).hasSize(2);
+    }
+
+    @Test
+    void missingPomResolvesNoLicenses() throws Exception {
+        assertThat(createResolver().resolveLicenses("org.example", "missing", "1")).isEmpty();
+    }
+
+    @Test
+    void externalEntitiesAreNotResolved() throws Exception {
+        String pom =
+            "<?xml version=\"1.0\"?>\n" +
+            "<!DOCTYPE project [<!ENTITY secret SYSTEM \"file:///etc/hostname\">]>\n" +
+            "<project><licenses><license><name>&secret;</name></license></licenses></project>";
+
+        MavenLicenseResolver.Pom parsed = MavenLicenseResolver.parse(new ByteArrayInputStream(pom.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(parsed.licenses).isEmpty();
+        assertThat(parsed.parent).isNull();
+    }
+}
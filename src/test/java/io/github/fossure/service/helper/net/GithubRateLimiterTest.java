@@ -0,0 +1,62 @@
+package io.github.fossure.service.helper.net;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.service.exceptions.GithubRateLimitException;
+import java.net.http.HttpHeaders;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class GithubRateLimiterTest {
+
+    private static HttpHeaders headers(long remaining, long resetEpochSeconds) {
+        return HttpHeaders.of(
+            Map.of(
+                "X-RateLimit-Remaining",
+                List.of(String.valueOf(remaining)),
+                "X-RateLimit-Reset",
+                List.of(String.valueOf(resetEpochSeconds))
+            ),
+            (name, value) -> true
+        );
+    }
+
+    private static GithubRateLimiter createRateLimiter() {
+        return new GithubRateLimiter(new ApplicationProperties.Github(), new OutboundHttpClient(new ApplicationProperties.Http()));
+    }
+
+    @Test
+    void exhaustedBudgetParksRequestsUntilTheReset() throws Exception {
+        GithubRateLimiter rateLimiter = createRateLimiter();
+        long reset = System.currentTimeMillis() / 1000 + 3600;
+
+        assertThat(rateLimiter.update(403, headers(0, reset))).isTrue();
+        assertThat(rateLimiter.isAvailable()).isFalse();
+        assertThat(rateLimiter.getReset()).isEqualTo(reset * 1000);
+        assertThatThrownBy(rateLimiter::acquire).isInstanceOf(GithubRateLimitException.class);
+    }
+
+    @Test
+    void requestsArePacedOverTheRestOfTheWindow() throws Exception {
+        GithubRateLimiter rateLimiter = createRateLimiter();
+        long reset = System.currentTimeMillis() / 1000 + 3600;
+
+        assertThat(rateLimiter.update(200, headers(10, reset))).isFalse();
+        assertThat(rateLimiter.acquire()).isZero();
+        // The next slot is about six minutes away, longer than the default maximum wait
+        assertThatThrownBy(rateLimiter::acquire).isInstanceOf(GithubRateLimitException.class);
+        assertThat(rateLimiter.isAvailable()).isTrue();
+    }
+
+    @Test
+    void forbiddenWithoutRateLimitIsNoRateLimit() {
+        GithubRateLimiter rateLimiter = createRateLimiter();
+        long reset = System.currentTimeMillis() / 1000 + 3600;
+
+        assertThat(rateLimiter.update(403, headers(4000, reset))).isFalse();
+        assertThat(rateLimiter.isAvailable()).isTrue();
+    }
+}
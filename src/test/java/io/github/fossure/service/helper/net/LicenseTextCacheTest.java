@@ -0,0 +1,71 @@
+package io.github.fossure.service.helper.net;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.fossure.config.ApplicationProperties;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Properties;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LicenseTextCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void normalizeUnifiesSpellingsOfTheSameUrl() throws Exception {
+        assertThat(LicenseTextCache.normalize(" HTTPS://WWW.Apache.org:443/licenses/./LICENSE-2.0#section "))
+            .hasToString("https://www.apache.org/licenses/LICENSE-2.0");
+        assertThat(LicenseTextCache.normalize("https://opensource.org")).hasToString("https://opensource.org/");
+        assertThat(LicenseTextCache.normalize("https://github.com/owner/repo/blob/main/LICENSE"))
+            .hasToString("https://raw.githubusercontent.com/owner/repo/main/LICENSE");
+    }
+
+    @Test
+    void sanitizeWrapsPlainTextAndKeepsTheBodyOfHtmlPages() {
+        assertThat(LicenseTextCache.sanitize("MIT License <c>\n\n"))
+            .startsWith("<pre>")
+            .contains("MIT License &lt;c&gt;")
+            .endsWith("</pre>");
+        assertThat(LicenseTextCache.sanitize("<!DOCTYPE html><html><head><title>t</title></head><body><p>text</p></body></html>"))
+            .isEqualTo("<p>text</p>");
+    }
+
+    @Test
+    void validEntryIsReadFromDisk() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLicenseTextCache().setDirectory(directory.toString());
+        LicenseTextCache cache = new LicenseTextCache(
+            applicationProperties,
+            new OutboundHttpClient(new ApplicationProperties.Http()),
+            new NegativeResultCache(new ApplicationProperties.NegativeResultCache())
+        );
+
+        String url = "https://licenses.invalid/LICENSE";
+        String text = "<pre>\ncached\n</pre>";
+        String contentHash = DigestUtils.sha256Hex(text);
+        Files.createDirectories(directory.resolve("texts"));
+        Files.writeString(directory.resolve("texts").resolve(contentHash + ".html"), text, StandardCharsets.UTF_8);
+
+        Properties entry = new Properties();
+        entry.setProperty("url", url);
+        entry.setProperty("contentHash", contentHash);
+        entry.setProperty("validated", String.valueOf(Instant.now().toEpochMilli()));
+        Files.createDirectories(directory.resolve("entries"));
+        try (
+            OutputStream outputStream = Files.newOutputStream(
+                directory.resolve("entries").resolve(DigestUtils.sha256Hex(url) + ".properties")
+            )
+        ) {
+            entry.store(outputStream, null);
+        }
+
+        assertThat(cache.getLicenseText("https://LICENSES.invalid/LICENSE")).isEqualTo(text);
+    }
+}
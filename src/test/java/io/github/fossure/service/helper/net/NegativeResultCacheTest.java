@@ -0,0 +1,63 @@
+package io.github.fossure.service.helper.net;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.service.helper.net.NegativeResultCache.Failure;
+import io.github.fossure.service.helper.net.NegativeResultCache.LookupType;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class NegativeResultCacheTest {
+
+    private static NegativeResultCache createCache(long initialBackoff, long maxBackoff) {
+        ApplicationProperties.NegativeResultCache properties = new ApplicationProperties.NegativeResultCache();
+        properties.setInitialBackoff(initialBackoff);
+        properties.setMaxBackoff(maxBackoff);
+        return new NegativeResultCache(properties);
+    }
+
+    @Test
+    void failedLookupIsBackedOffUntilSuccess() {
+        NegativeResultCache cache = createCache(15, 60);
+        String url = "https://registry.invalid/package";
+
+        cache.recordFailure(LookupType.LICENSE_TEXT, url, Failure.TIMEOUT);
+
+        assertThat(cache.getFailure(LookupType.LICENSE_TEXT, url)).isEqualTo(Failure.TIMEOUT);
+        assertThat(cache.isBackedOff(LookupType.URL_CHECK, url)).isFalse();
+
+        cache.recordSuccess(LookupType.LICENSE_TEXT, url);
+
+        assertThat(cache.isBackedOff(LookupType.LICENSE_TEXT, url)).isFalse();
+    }
+
+    @Test
+    void backoffIsDoubledUpToTheMaximum() {
+        NegativeResultCache cache = createCache(15, 60);
+
+        assertThat(cache.backoff(1)).isEqualTo(Duration.ofMinutes(15).toMillis());
+        assertThat(cache.backoff(2)).isEqualTo(Duration.ofMinutes(30).toMillis());
+        assertThat(cache.backoff(3)).isEqualTo(Duration.ofMinutes(60).toMillis());
+        assertThat(cache.backoff(100)).isEqualTo(Duration.ofMinutes(60).toMillis());
+    }
+
+    @Test
+    void disabledCacheRemembersNothing() {
+        NegativeResultCache cache = createCache(0, 0);
+
+        cache.recordFailure(LookupType.NPM_LICENSE, "left-pad/1.0.0", Failure.NOT_FOUND);
+
+        assertThat(cache.isBackedOff(LookupType.NPM_LICENSE, "left-pad/1.0.0")).isFalse();
+    }
+
+    @Test
+    void exceptionsAreClassified() {
+        assertThat(Failure.of(new HttpTimeoutException("timeout"))).isEqualTo(Failure.TIMEOUT);
+        assertThat(Failure.of(new FileNotFoundException("missing"))).isEqualTo(Failure.NOT_FOUND);
+        assertThat(Failure.of(new IOException("refused"))).isEqualTo(Failure.ERROR);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.fossure.service.helper.net;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.fossure.config.ApplicationProperties;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OutboundHttpClientTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext(
+            "/",
+            exchange -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            }
+        );
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void asynchronousRequestsWaitForAFreeSlotOfTheirHost() throws Exception {
+        ApplicationProperties.Http properties = new ApplicationProperties.Http();
+        properties.setMaxConcurrentRequestsPerHost(1);
+        OutboundHttpClient client = new OutboundHttpClient(properties);
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(client.sendAsync(client.newRequest(uri).GET().build(), HttpResponse.BodyHandlers.discarding()));
+        }
+        Thread.sleep(200);
+        assertThat(inFlight).hasValue(1);
+
+        release.countDown();
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            assertThat(response.get(5, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        }
+        assertThat(maxInFlight).hasValue(1);
+        assertThat(client.send(client.newRequest(uri).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode())
+            .isEqualTo(200);
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.fossure.service.helper.urlparsing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.fossure.config.ApplicationProperties;
+import io.github.fossure.service.helper.urlparsing.RegistryMetadataCache.Attribute;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RegistryMetadataCacheTest {
+
+    @Test
+    void lookupIsSharedByAllVersionsOfAPackage() throws Exception {
+        RegistryMetadataCache cache = new RegistryMetadataCache(new ApplicationProperties.RegistryMetadataCache());
+        AtomicInteger lookups = new AtomicInteger();
+        RegistryMetadataCache.Loader loader = () -> {
+            lookups.incrementAndGet();
+            return "https://github.com/angular/angular";
+        };
+
+        for (int i = 0; i < 400; i++) {
+            assertThat(cache.get("npm", "@angular", "core", Attribute.REPOSITORY_URL, loader)).endsWith("angular/angular");
+        }
+        assertThat(cache.get("npm", "@Angular", "Core", Attribute.REPOSITORY_URL, loader)).endsWith("angular/angular");
+        assertThat(lookups).hasValue(1);
+
+        cache.get("npm", "@angular", "common", Attribute.REPOSITORY_URL, loader);
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void missingValuesAreCachedButFailuresAreNot() throws Exception {
+        RegistryMetadataCache cache = new RegistryMetadataCache(new ApplicationProperties.RegistryMetadataCache());
+        AtomicInteger lookups = new AtomicInteger();
+
+        cache.get("nuget", "", "Newtonsoft.Json", Attribute.REPOSITORY_URL, () -> null);
+        assertThat(cache.get("nuget", "", "Newtonsoft.Json", Attribute.REPOSITORY_URL, () -> "unexpected")).isNull();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get(
+                    "github",
+                    "owner",
+                    "repo",
+                    Attribute.DEFAULT_BRANCH,
+                    () -> {
+                        lookups.incrementAndGet();
+                        throw new IOException("unavailable");
+                    }
+                );
+            } catch (IOException e) {
+                // expected
+            }
+        }
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void disabledCacheLoadsEveryTime() throws Exception {
+        ApplicationProperties.RegistryMetadataCache properties = new ApplicationProperties.RegistryMetadataCache();
+        properties.setTimeToLive(0);
+        RegistryMetadataCache cache = new RegistryMetadataCache(properties);
+
+        cache.put("github", "owner", "repo", Attribute.LICENSE_FILE, "LICENSE");
+        assertThat(cache.getIfPresent("github", "owner", "repo", Attribute.LICENSE_FILE)).isNull();
+    }
+
+    @Test
+    void previouslyMatchedCandidateIsTriedFirst() {
+        List<String> candidates = List.of("LICENSE", "LICENSE.md", "COPYING");
+        assertThat(URLparserHelper.preferred(candidates, "COPYING")).containsExactly("COPYING", "LICENSE", "LICENSE.md");
+        assertThat(URLparserHelper.preferred(candidates, "UNKNOWN")).isEqualTo(candidates);
+        assertThat(URLparserHelper.preferred(candidates, null)).isEqualTo(candidates);
+        assertThat(URLparserHelper.githubRepository("https://github.com/owner/repo/tree/main")).containsExactly("owner", "repo");
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.fossure.service.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncPipelineTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void stepsAreExecutedInOrder() {
+        AsyncPipeline<String> pipeline = new AsyncPipeline<String>(executor).pipe(input -> input + "b").pipe(input -> input + "c");
+
+        assertThat(pipeline.execute("a")).isEqualTo("abc");
+    }
+
+    @Test
+    void failuresAreIsolatedPerInput() {
+        AsyncPipeline<String> pipeline = new AsyncPipeline<String>(executor)
+            .pipe(input -> {
+                if (input.equals("fail")) {
+                    throw new IllegalStateException("failed");
+                }
+                return input.toUpperCase();
+            })
+            .pipe(
+                input -> {
+                    if (input.equals("SLOW")) {
+                        try {
+                            Thread.sleep(2000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return input;
+                },
+                Duration.ofMillis(100)
+            );
+        Map<String, Throwable> failures = new HashMap<>();
+
+        List<String> outputs = pipeline.execute(List.of("a", "fail", "slow", "b"), failures::put);
+
+        assertThat(outputs).containsExactly("A", "SLOW", "B");
+        assertThat(failures.get("fail")).isInstanceOf(IllegalStateException.class);
+        assertThat(failures.get("slow")).isInstanceOf(TimeoutException.class);
+        assertThat(failures).hasSize(2);
+    }
+
+    @Test
+    void timedOutStepIsInterruptedAndRemainingStepsAreExecuted() {
+        AtomicBoolean stepReturned = new AtomicBoolean();
+        AsyncPipeline<String> pipeline = new AsyncPipeline<String>(executor)
+            .pipe(input -> input + "b")
+            .pipe(
+                input -> {
+                    try {
+                        Thread.sleep(10000);
+                    } catch (InterruptedException e) {
+                        stepReturned.set(true);
+                        return input + "c";
+                    }
+                    return input;
+                },
+                Duration.ofMillis(100)
+            )
+            .pipe(input -> input + "d");
+        Map<String, Throwable> failures = new HashMap<>();
+
+        List<String> outputs = pipeline.execute(List.of("a"), failures::put);
+
+        assertThat(stepReturned).isTrue();
+        assertThat(outputs).containsExactly("abcd");
+        assertThat(failures.get("a")).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void stepWithinTimeoutIsNotInterruptedLater() {
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncPipeline<String> pipeline = new AsyncPipeline<String>(singleThreadExecutor)
+                .pipe(input -> input + "b", Duration.ofMillis(100))
+                .pipe(input -> {
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return "interrupted";
+                    }
+                    return input + "c";
+                });
+            Map<String, Throwable> failures = new HashMap<>();
+
+            List<String> outputs = pipeline.execute(List.of("a"), failures::put);
+
+            assertThat(outputs).containsExactly("abc");
+            assertThat(failures).isEmpty();
+        } finally {
+            singleThreadExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureOfSingleInputIsThrown() {
+        AsyncPipeline<String> pipeline = new AsyncPipeline<String>(executor).pipe(input -> {
+            throw new IllegalStateException("failed");
+        });
+
+        assertThatThrownBy(() -> pipeline.execute("a"))
+            .isInstanceOf(Step.StepException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.fossure.service.upload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fossure.domain.File;
+import io.github.fossure.domain.Library;
+import io.github.fossure.domain.enumeration.LibraryType;
+import io.github.fossure.service.exceptions.UploadException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CycloneDxJsonLoaderTest {
+
+    private static final String BOM =
+        "{" +
+        "\"bomFormat\": \"CycloneDX\", \"specVersion\": \"1.4\", \"version\": 1," +
+        "\"metadata\": {\"component\": {\"name\": \"application\", \"version\": \"1.0.0\"}}," +
+        "\"components\": [" +
+        "{\"type\": \"library\", \"group\": \"org.apache.commons\", \"name\": \"commons-lang3\", \"version\": \"3.12.0\"," +
+        "\"purl\": \"pkg:maven/org.apache.commons/commons-lang3@3.12.0\"," +
+        "\"hashes\": [{\"alg\": \"MD5\", \"content\": \"md5\"}, {\"alg\": \"SHA-1\", \"content\": \"sha1\"}]," +
+        "\"licenses\": [{\"license\": {\"id\": \"Apache-2.0\", \"url\": \"https://www.apache.org/licenses/LICENSE-2.0\"}}]," +
+        "\"components\": [{\"name\": \"nested\", \"version\": \"1.0.0\", \"licenses\": [{\"license\": {\"name\": \"Custom\"}}]}]}," +
+        "{\"name\": \"lodash\", \"version\": \"4.17.21\", \"purl\": \"pkg:npm/lodash@4.17.21\"," +
+        "\"licenses\": [{\"expression\": \"MIT OR Apache-2.0\"}], \"properties\": [{\"name\": \"a\", \"value\": \"b\"}]}" +
+        "]," +
+        "\"dependencies\": [{\"ref\": \"a\", \"dependsOn\": [\"b\"]}]" +
+        "}";
+
+    private CycloneDxJsonLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new CycloneDxJsonLoader(new ObjectMapper());
+    }
+
+    @Test
+    void loadReadsComponents() throws UploadException {
+        Set<Library> libraries = loader.load(new File("bom.json", BOM.getBytes(StandardCharsets.UTF_8), "application/json"));
+
+        assertThat(libraries).hasSize(3);
+        assertThat(libraries).extracting(Library::getName).containsExactlyInAnyOrder("commons-lang3", "nested", "lodash");
+
+        Library commonsLang = find(libraries, "commons-lang3");
+        assertThat(commonsLang.getNamespace()).isEqualTo("org.apache.commons");
+        assertThat(commonsLang.getVersion()).isEqualTo("3.12.0");
+        assertThat(commonsLang.getpUrl()).isEqualTo("pkg:maven/org.apache.commons/commons-lang3@3.12.0");
+        assertThat(commonsLang.getType()).isEqualTo(LibraryType.MAVEN);
+        assertThat(commonsLang.getMd5()).isEqualTo("md5");
+        assertThat(commonsLang.getSha1()).isEqualTo("sha1");
+        assertThat(commonsLang.getOriginalLicense()).isEqualTo("Apache-2.0");
+
+        assertThat(find(libraries, "nested").getOriginalLicense()).isEqualTo("Custom");
+        assertThat(find(libraries, "lodash").getOriginalLicense()).isEqualTo("MIT OR Apache-2.0");
+    }
+
+    @Test
+    void loadHandsOverBatches() throws UploadException {
+        List<Integer> batchSizes = new ArrayList<>();
+
+        File file = new File("bom.json", BOM.getBytes(StandardCharsets.UTF_8), "application/json");
+
+        loader.load(file, 2, batch -> batchSizes.add(batch.size()));
+
+        assertThat(batchSizes).containsExactly(2, 1);
+    }
+
+    @Test
+    void loadReadsNullFieldsLikeMissingFields() throws UploadException {
+        String bom =
+            "{\"components\": [" +
+            "{\"group\": null, \"name\": \"lodash\", \"version\": null, \"purl\": null," +
+            "\"hashes\": [{\"alg\": null, \"content\": {}}], \"licenses\": [{\"license\": {\"id\": null, \"name\": \"MIT\"}}]}" +
+            "]}";
+
+        Set<Library> libraries = loader.load(new File("bom.json", bom.getBytes(StandardCharsets.UTF_8), "application/json"));
+
+        assertThat(libraries).hasSize(1);
+        Library lodash = libraries.iterator().next();
+        assertThat(lodash.getName()).isEqualTo("lodash");
+        assertThat(lodash.getNamespace()).isEmpty();
+        assertThat(lodash.getVersion()).isNull();
+        assertThat(lodash.getpUrl()).isNull();
+        assertThat(lodash.getOriginalLicense()).isEqualTo("MIT");
+    }
+
+    @Test
+    void loadThrowsExceptionForInvalidJson() {
+        File file = new File("bom.json", "{\"components\": [".getBytes(StandardCharsets.UTF_8), "application/json");
+
+        assertThrows(UploadException.class, () -> loader.load(file));
+    }
+
+    private Library find(Set<Library> libraries, String name) {
+        return libraries.stream().filter(library -> name.equals(library.getName())).findFirst().orElseThrow();
+    }
+}
@@ -18,6 +18,7 @@ import io.github.fossure.domain.Library;
 import io.github.fossure.domain.LibraryErrorLog;
 import io.github.fossure.domain.License;
 import io.github.fossure.domain.LicensePerLibrary;
+import io.github.fossure.domain.LicenseText;
 import io.github.fossure.domain.User;
 import io.github.fossure.domain.enumeration.LibraryType;
 import io.github.fossure.repository.LibraryRepository;
@@ -2017,6 +2018,35 @@ class LibraryResourceIT {
         assertThat(testLibrary.getSha1()).isEqualTo(UPDATED_SHA_1);
     }
 
+    @Test
+    @Transactional
+    void putLibraryWithChangedLicenseText() throws Exception {
+        // Initialize the database
+        libraryRepository.saveAndFlush(library);
+
+        // Update the license text of a detached library
+        Library updatedLibrary = libraryRepository.findById(library.getId()).get();
+        em.detach(updatedLibrary);
+        updatedLibrary.licenseText(UPDATED_LICENSE_TEXT);
+
+        restLibraryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedLibrary.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedLibrary))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.licenseText").value(UPDATED_LICENSE_TEXT));
+
+        // Validate the license text after it was read from the database again
+        em.flush();
+        em.clear();
+        Library testLibrary = libraryRepository.findById(library.getId()).get();
+        assertThat(testLibrary.getLicenseText()).isEqualTo(UPDATED_LICENSE_TEXT);
+        assertThat(testLibrary.getLicenseTextHash()).isEqualTo(LicenseText.hash(UPDATED_LICENSE_TEXT));
+        assertThat(em.find(LicenseText.class, LicenseText.hash(UPDATED_LICENSE_TEXT)).getText()).isEqualTo(UPDATED_LICENSE_TEXT);
+    }
+
     @Test
     @Transactional
     void putNonExistingLibrary() throws Exception {